@@ -59,9 +59,8 @@ public class ImplicitSpringFacesELResolver extends CompositeELResolver {
 	private static class ModelELResolver extends AbstractELResolver {
 		@Override
 		protected Object get(String property) {
-			if ("model".equals(property) && FacesContext.getCurrentInstance() != null) {
-				FacesContext context = FacesContext.getCurrentInstance();
-				return SpringFacesModelHolder.getModel(context.getViewRoot());
+			if ("model".equals(property)) {
+				return SpringFacesModelHolder.getCurrentModel(FacesContext.getCurrentInstance());
 			}
 			return null;
 		}
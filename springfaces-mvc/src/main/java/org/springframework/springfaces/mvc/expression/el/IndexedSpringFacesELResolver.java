@@ -0,0 +1,239 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.mvc.expression.el;
+
+import java.beans.FeatureDescriptor;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+import javax.faces.context.FacesContext;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.mvc.context.SpringFacesContext;
+import org.springframework.springfaces.mvc.model.SpringFacesModel;
+import org.springframework.springfaces.mvc.model.SpringFacesModelHolder;
+
+/**
+ * Unified EL {@link ELResolver} that combines {@link SpringFacesBeanELResolver}, {@link SpringFacesModelELResolver}
+ * and {@link ImplicitSpringFacesELResolver}. Rather than consulting each resolver in turn, an index of well-known
+ * names (the implicit variables and a snapshot of bean names) is used to dispatch directly to the appropriate
+ * resolver. Only names that are not in the index are looked up from the {@link SpringFacesModel}.
+ * <p>
+ * Bean names are snapshotted the first time that a bean factory is used and discarded whenever the application context
+ * is {@link SpringFacesIntegration#getRefreshGeneration() refreshed}. Beans registered after the context has been
+ * refreshed will not be resolved.
+ * <p>
+ * Hit and miss counts are only recorded when {@link #setCollectStatistics(boolean) collectStatistics} is enabled.
+ * 
+ * @author Phillip Webb
+ * @see #getHitCount()
+ * @see #getMissCount()
+ */
+public class IndexedSpringFacesELResolver extends ELResolver {
+
+	private static final Set<String> IMPLICIT_NAMES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+			"handler", "controller", "model")));
+
+	private final ELResolver beanResolver = new SpringFacesBeanELResolver();
+
+	private final ELResolver modelResolver = new SpringFacesModelELResolver();
+
+	private final ELResolver implicitResolver = new ImplicitSpringFacesELResolver();
+
+	/**
+	 * Immutable snapshot of bean names, replaced as a whole when bean factories are added or the context is refreshed.
+	 */
+	private volatile BeanNameIndex beanNameIndex = new BeanNameIndex(SpringFacesIntegration.getRefreshGeneration());
+
+	private volatile boolean collectStatistics;
+
+	private final AtomicLong hitCount = new AtomicLong();
+
+	private final AtomicLong missCount = new AtomicLong();
+
+	@Override
+	public Object getValue(ELContext context, Object base, Object property) {
+		ELResolver resolver = getResolver(base, property);
+		return (resolver == null ? null : resolver.getValue(context, null, property));
+	}
+
+	@Override
+	public Class<?> getType(ELContext context, Object base, Object property) {
+		ELResolver resolver = getResolver(base, property);
+		return (resolver == null ? null : resolver.getType(context, null, property));
+	}
+
+	@Override
+	public void setValue(ELContext context, Object base, Object property, Object value) {
+		ELResolver resolver = getResolver(base, property);
+		if (resolver != null) {
+			resolver.setValue(context, null, property, value);
+		}
+	}
+
+	@Override
+	public boolean isReadOnly(ELContext context, Object base, Object property) {
+		ELResolver resolver = getResolver(base, property);
+		return (resolver == null ? false : resolver.isReadOnly(context, null, property));
+	}
+
+	@Override
+	public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+		return null;
+	}
+
+	@Override
+	public Class<?> getCommonPropertyType(ELContext context, Object base) {
+		return (base == null ? Object.class : null);
+	}
+
+	/**
+	 * Returns the resolver that should be used for the given base and property or <tt>null</tt> if the property cannot
+	 * be resolved. The ordering of the original resolvers is retained, beans are considered first followed by model
+	 * values and finally implicit variables.
+	 * @param base the base object
+	 * @param property the property
+	 * @return the resolver or <tt>null</tt>
+	 */
+	private ELResolver getResolver(Object base, Object property) {
+		if (base != null || property == null) {
+			return null;
+		}
+		String name = property.toString();
+		SpringFacesContext springFacesContext = SpringFacesContext.getCurrentInstance();
+		if (springFacesContext != null && isBeanName(springFacesContext.getWebApplicationContext(), name)) {
+			recordHit();
+			return this.beanResolver;
+		}
+		if (IMPLICIT_NAMES.contains(name)) {
+			recordHit();
+			return (isModelValue(name) ? this.modelResolver : this.implicitResolver);
+		}
+		if (this.collectStatistics) {
+			this.missCount.incrementAndGet();
+		}
+		return this.modelResolver;
+	}
+
+	private void recordHit() {
+		if (this.collectStatistics) {
+			this.hitCount.incrementAndGet();
+		}
+	}
+
+	private boolean isModelValue(String name) {
+		SpringFacesModel model = SpringFacesModelHolder.getCurrentModel(FacesContext.getCurrentInstance());
+		return (model != null && model.get(name) != null);
+	}
+
+	private boolean isBeanName(BeanFactory beanFactory, String name) {
+		if (!(beanFactory instanceof ListableBeanFactory)) {
+			return (beanFactory != null && beanFactory.containsBean(name));
+		}
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		BeanNameIndex index = this.beanNameIndex;
+		if (index.getGeneration() != generation) {
+			index = new BeanNameIndex(generation);
+		}
+		Set<String> names = index.get(beanFactory);
+		if (names == null) {
+			names = collectBeanNames((ListableBeanFactory) beanFactory);
+			index = index.with(beanFactory, names);
+		}
+		if (index != this.beanNameIndex) {
+			this.beanNameIndex = index;
+		}
+		return names.contains(name);
+	}
+
+	private Set<String> collectBeanNames(ListableBeanFactory beanFactory) {
+		Set<String> names = new HashSet<String>();
+		for (String beanName : BeanFactoryUtils.beanNamesIncludingAncestors(beanFactory)) {
+			names.add(beanName);
+			names.addAll(Arrays.asList(beanFactory.getAliases(beanName)));
+		}
+		return names;
+	}
+
+	/**
+	 * Set if hit and miss counts should be recorded. Recording statistics adds contention to every top-level EL
+	 * resolution and so is disabled by default.
+	 * @param collectStatistics if statistics should be recorded
+	 */
+	public void setCollectStatistics(boolean collectStatistics) {
+		this.collectStatistics = collectStatistics;
+	}
+
+	/**
+	 * Returns the number of times that a name was resolved directly using the index.
+	 * @return the hit count
+	 */
+	public long getHitCount() {
+		return this.hitCount.get();
+	}
+
+	/**
+	 * Returns the number of times that a name was not in the index and had to be looked up from the model.
+	 * @return the miss count
+	 */
+	public long getMissCount() {
+		return this.missCount.get();
+	}
+
+	/**
+	 * Immutable snapshot of bean names (including aliases) for each bean factory at a given refresh generation.
+	 */
+	private static class BeanNameIndex {
+
+		private final long generation;
+
+		private final Map<BeanFactory, Set<String>> beanNames;
+
+		public BeanNameIndex(long generation) {
+			this(generation, Collections.<BeanFactory, Set<String>> emptyMap());
+		}
+
+		private BeanNameIndex(long generation, Map<BeanFactory, Set<String>> beanNames) {
+			this.generation = generation;
+			this.beanNames = beanNames;
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public Set<String> get(BeanFactory beanFactory) {
+			return this.beanNames.get(beanFactory);
+		}
+
+		public BeanNameIndex with(BeanFactory beanFactory, Set<String> names) {
+			Map<BeanFactory, Set<String>> beanNames = new IdentityHashMap<BeanFactory, Set<String>>(this.beanNames);
+			beanNames.put(beanFactory, Collections.unmodifiableSet(names));
+			return new BeanNameIndex(this.generation, Collections.unmodifiableMap(beanNames));
+		}
+	}
+}
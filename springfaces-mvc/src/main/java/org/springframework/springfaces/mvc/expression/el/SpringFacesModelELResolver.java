@@ -32,8 +32,7 @@ public class SpringFacesModelELResolver extends AbstractELResolver {
 
 	@Override
 	protected Object get(String property) {
-		FacesContext context = FacesContext.getCurrentInstance();
-		SpringFacesModel model = (context == null ? null : SpringFacesModelHolder.getModel(context.getViewRoot()));
+		SpringFacesModel model = SpringFacesModelHolder.getCurrentModel(FacesContext.getCurrentInstance());
 		if (model != null) {
 			return model.get(property);
 		}
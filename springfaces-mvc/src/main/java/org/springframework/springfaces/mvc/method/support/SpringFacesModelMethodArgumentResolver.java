@@ -113,6 +113,6 @@ public class SpringFacesModelMethodArgumentResolver implements HandlerMethodArgu
 
 	private SpringFacesModel getSpringFacesModel() {
 		FacesContext context = FacesContext.getCurrentInstance();
-		return SpringFacesModelHolder.getModel(context == null ? null : context.getViewRoot());
+		return SpringFacesModelHolder.getCurrentModel(context);
 	}
 }
@@ -26,7 +26,8 @@ import javax.faces.render.Renderer;
 import org.springframework.util.Assert;
 
 /**
- * A JSF component that holds a reference to the {@link SpringFacesModel}.
+ * A JSF component that holds a reference to the {@link SpringFacesModel}. The holder is always
+ * {@link #attach(FacesContext, UIViewRoot, Map) attached} as a direct child of the {@link UIViewRoot}.
  * 
  * @author Phillip Webb
  */
@@ -39,6 +40,11 @@ public class SpringFacesModelHolder extends UIComponentBase {
 	 */
 	public static final String COMPONENT_ID = "SpringFacesModelHolder";
 
+	/**
+	 * {@link FacesContext} attribute used to cache the {@link HolderReference}.
+	 */
+	private static final String HOLDER_REFERENCE_ATTRIBUTE = SpringFacesModelHolder.class.getName() + ".REFERENCE";
+
 	private boolean transientValue;
 
 	private SpringFacesModel model;
@@ -121,6 +127,7 @@ public class SpringFacesModelHolder extends UIComponentBase {
 		Assert.notNull(viewRoot, "ViewRoot must not be null");
 		SpringFacesModelHolder holder = new SpringFacesModelHolder(model);
 		viewRoot.getChildren().add(holder);
+		context.getAttributes().put(HOLDER_REFERENCE_ATTRIBUTE, new HolderReference(viewRoot, holder));
 		return holder.getModel();
 	}
 
@@ -130,9 +137,76 @@ public class SpringFacesModelHolder extends UIComponentBase {
 	 * @param viewRoot the viewRoot (can be null)
 	 * @return The model or <tt>null</tt> if there is no {@link SpringFacesModelHolder} or the holder does not contain a
 	 * model.
+	 * @see #getCurrentModel(FacesContext)
 	 */
 	public static SpringFacesModel getModel(UIViewRoot viewRoot) {
-		UIComponent component = (viewRoot == null ? null : viewRoot.findComponent(COMPONENT_ID));
-		return (component == null ? null : ((SpringFacesModelHolder) component).getModel());
+		SpringFacesModelHolder holder = findHolder(viewRoot);
+		return (holder == null ? null : holder.getModel());
+	}
+
+	/**
+	 * Utility method that can be used to obtain the {@link SpringFacesModel} from the holder component contained in the
+	 * current view root of the specified context. The holder is cached against the view root for the duration of the
+	 * request so that repeated calls, such as those made when resolving EL expressions, do not need to search the
+	 * component tree.
+	 * @param context the faces context (can be null)
+	 * @return The model or <tt>null</tt> if there is no view root, {@link SpringFacesModelHolder} or the holder does
+	 * not contain a model.
+	 */
+	public static SpringFacesModel getCurrentModel(FacesContext context) {
+		UIViewRoot viewRoot = (context == null ? null : context.getViewRoot());
+		if (viewRoot == null) {
+			return null;
+		}
+		Map<Object, Object> attributes = context.getAttributes();
+		HolderReference reference = (HolderReference) attributes.get(HOLDER_REFERENCE_ATTRIBUTE);
+		if (reference == null || !reference.isFor(viewRoot)) {
+			reference = new HolderReference(viewRoot, findHolder(viewRoot));
+			attributes.put(HOLDER_REFERENCE_ATTRIBUTE, reference);
+		}
+		return reference.getModel();
+	}
+
+	private static SpringFacesModelHolder findHolder(UIViewRoot viewRoot) {
+		if (viewRoot != null) {
+			for (UIComponent child : viewRoot.getChildren()) {
+				if (child instanceof SpringFacesModelHolder) {
+					return (SpringFacesModelHolder) child;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Reference to the {@link SpringFacesModelHolder} (if any) found in a specific {@link UIViewRoot}.
+	 */
+	private static class HolderReference {
+
+		private final UIViewRoot viewRoot;
+
+		private final int childCount;
+
+		private final SpringFacesModelHolder holder;
+
+		public HolderReference(UIViewRoot viewRoot, SpringFacesModelHolder holder) {
+			this.viewRoot = viewRoot;
+			this.childCount = viewRoot.getChildCount();
+			this.holder = holder;
+		}
+
+		/**
+		 * Determine if the reference can be used for the given view root. References without a holder are only used
+		 * whilst the children of the view root remain unchanged as the holder may be added when the view is restored.
+		 * @param viewRoot the view root
+		 * @return if the reference can be used
+		 */
+		public boolean isFor(UIViewRoot viewRoot) {
+			return (this.viewRoot == viewRoot && (this.holder != null || this.childCount == viewRoot.getChildCount()));
+		}
+
+		public SpringFacesModel getModel() {
+			return (this.holder == null ? null : this.holder.getModel());
+		}
 	}
 }
@@ -25,9 +25,7 @@ import javax.faces.render.ResponseStateManager;
 import org.springframework.context.ApplicationListener;
 import org.springframework.springfaces.FacesWrapperFactory;
 import org.springframework.springfaces.event.PostConstructApplicationSpringFacesEvent;
-import org.springframework.springfaces.mvc.expression.el.ImplicitSpringFacesELResolver;
-import org.springframework.springfaces.mvc.expression.el.SpringFacesBeanELResolver;
-import org.springframework.springfaces.mvc.expression.el.SpringFacesModelELResolver;
+import org.springframework.springfaces.mvc.expression.el.IndexedSpringFacesELResolver;
 import org.springframework.springfaces.mvc.internal.MvcNavigationActionListener;
 import org.springframework.springfaces.mvc.internal.MvcNavigationHandler;
 import org.springframework.springfaces.mvc.internal.MvcNavigationSystemEventListener;
@@ -48,6 +46,7 @@ public class SpringFacesFactories implements FacesWrapperFactory<Object>,
 	private DestinationViewResolver destinationViewResolver;
 	private NavigationOutcomeResolver navigationOutcomeResolver;
 	private MvcNavigationSystemEventListener navigationSystemEventListener = new MvcNavigationSystemEventListener();
+	private volatile IndexedSpringFacesELResolver elResolver;
 
 	public SpringFacesFactories(FacesViewStateHandler facesViewStateHandler,
 			DestinationViewResolver destinationViewResolver) {
@@ -74,10 +73,9 @@ public class SpringFacesFactories implements FacesWrapperFactory<Object>,
 			return new MvcNavigationActionListener((ActionListener) delegate);
 		}
 		if (CompositeELResolver.class.equals(typeClass)) {
-			CompositeELResolver compositeELResolver = (CompositeELResolver) delegate;
-			compositeELResolver.add(new SpringFacesBeanELResolver());
-			compositeELResolver.add(new SpringFacesModelELResolver());
-			compositeELResolver.add(new ImplicitSpringFacesELResolver());
+			IndexedSpringFacesELResolver elResolver = new IndexedSpringFacesELResolver();
+			((CompositeELResolver) delegate).add(elResolver);
+			this.elResolver = elResolver;
 		}
 		return null;
 	}
@@ -94,6 +92,17 @@ public class SpringFacesFactories implements FacesWrapperFactory<Object>,
 		return this.facesViewStateHandler;
 	}
 
+	/**
+	 * Returns the most recently created EL resolver. The resolver can be used to obtain
+	 * {@link IndexedSpringFacesELResolver#getHitCount() hit} and {@link IndexedSpringFacesELResolver#getMissCount()
+	 * miss} counts once {@link IndexedSpringFacesELResolver#setCollectStatistics(boolean) statistics} have been
+	 * enabled.
+	 * @return the EL resolver or <tt>null</tt> if no EL resolver has been created
+	 */
+	public IndexedSpringFacesELResolver getELResolver() {
+		return this.elResolver;
+	}
+
 	public void setNavigationOutcomeResolver(NavigationOutcomeResolver navigationOutcomeResolver) {
 		this.navigationOutcomeResolver = navigationOutcomeResolver;
 	}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.mvc.expression.el;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.springfaces.mvc.SpringFacesMocks.mockUIViewRootWithModelSupport;
+
+import java.util.HashMap;
+
+import javax.el.ELContext;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.FacesContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.springfaces.mvc.FacesContextSetter;
+import org.springframework.springfaces.mvc.MockELContext;
+import org.springframework.springfaces.mvc.SpringFacesContextSetter;
+import org.springframework.springfaces.mvc.context.SpringFacesContext;
+import org.springframework.springfaces.mvc.model.SpringFacesModel;
+import org.springframework.springfaces.mvc.model.SpringFacesModelHolder;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+
+/**
+ * Tests for {@link IndexedSpringFacesELResolver}.
+ * 
+ * @author Phillip Webb
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IndexedSpringFacesELResolverTest {
+
+	private IndexedSpringFacesELResolver resolver = new IndexedSpringFacesELResolver();
+
+	@Mock
+	private SpringFacesContext springFacesContext;
+
+	@Mock
+	private FacesContext facesContext;
+
+	private StaticWebApplicationContext applicationContext;
+
+	private SpringFacesModel model = new SpringFacesModel();
+
+	private ELContext context = new MockELContext();
+
+	@Before
+	public void setup() {
+		this.applicationContext = new StaticWebApplicationContext();
+		this.applicationContext.registerSingleton("bean", Object.class);
+		this.applicationContext.refresh();
+		given(this.springFacesContext.getWebApplicationContext()).willReturn(this.applicationContext);
+		SpringFacesContextSetter.setCurrentInstance(this.springFacesContext);
+		FacesContextSetter.setCurrentInstance(this.facesContext);
+		UIViewRoot viewRoot = mockUIViewRootWithModelSupport();
+		given(this.facesContext.getViewRoot()).willReturn(viewRoot);
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		SpringFacesModelHolder.attach(this.facesContext, viewRoot, this.model);
+		this.model = SpringFacesModelHolder.getCurrentModel(this.facesContext);
+		this.resolver.setCollectStatistics(true);
+	}
+
+	@After
+	public void cleanup() {
+		SpringFacesContextSetter.setCurrentInstance(null);
+		FacesContextSetter.setCurrentInstance(null);
+	}
+
+	@Test
+	public void shouldResolveBean() throws Exception {
+		Object value = this.resolver.getValue(this.context, null, "bean");
+		assertThat(this.context.isPropertyResolved(), is(true));
+		assertThat(value, is(sameInstance(this.applicationContext.getBean("bean"))));
+		assertThat(this.resolver.getHitCount(), is(1L));
+		assertThat(this.resolver.getMissCount(), is(0L));
+	}
+
+	@Test
+	public void shouldResolveModel() throws Exception {
+		this.model.put("key", "value");
+		Object value = this.resolver.getValue(this.context, null, "key");
+		assertThat(this.context.isPropertyResolved(), is(true));
+		assertThat(value, is(equalTo((Object) "value")));
+		assertThat(this.resolver.getHitCount(), is(0L));
+		assertThat(this.resolver.getMissCount(), is(1L));
+	}
+
+	@Test
+	public void shouldResolveImplicit() throws Exception {
+		Object handler = new Object();
+		given(this.springFacesContext.getHandler()).willReturn(handler);
+		Object value = this.resolver.getValue(this.context, null, "handler");
+		assertThat(this.context.isPropertyResolved(), is(true));
+		assertThat(value, is(sameInstance(handler)));
+		assertThat(this.resolver.getHitCount(), is(1L));
+	}
+
+	@Test
+	public void shouldResolveImplicitModel() throws Exception {
+		Object value = this.resolver.getValue(this.context, null, "model");
+		assertThat(this.context.isPropertyResolved(), is(true));
+		assertThat(value, is(sameInstance((Object) this.model)));
+	}
+
+	@Test
+	public void shouldPreferBeanOverModel() throws Exception {
+		this.model.put("bean", "value");
+		Object value = this.resolver.getValue(this.context, null, "bean");
+		assertThat(value, is(sameInstance(this.applicationContext.getBean("bean"))));
+	}
+
+	@Test
+	public void shouldPreferModelOverImplicit() throws Exception {
+		this.model.put("handler", "value");
+		given(this.springFacesContext.getHandler()).willReturn(new Object());
+		Object value = this.resolver.getValue(this.context, null, "handler");
+		assertThat(value, is(equalTo((Object) "value")));
+	}
+
+	@Test
+	public void shouldNotResolveMissing() throws Exception {
+		Object value = this.resolver.getValue(this.context, null, "missing");
+		assertThat(this.context.isPropertyResolved(), is(false));
+		assertThat(value, is(nullValue()));
+		assertThat(this.resolver.getMissCount(), is(1L));
+	}
+
+	@Test
+	public void shouldNotResolveWithBase() throws Exception {
+		Object value = this.resolver.getValue(this.context, new Object(), "bean");
+		assertThat(this.context.isPropertyResolved(), is(false));
+		assertThat(value, is(nullValue()));
+		assertThat(this.resolver.getHitCount(), is(0L));
+		assertThat(this.resolver.getMissCount(), is(0L));
+	}
+
+	@Test
+	public void shouldNotResolveBeanWithoutSpringFacesContext() throws Exception {
+		SpringFacesContextSetter.setCurrentInstance(null);
+		Object value = this.resolver.getValue(this.context, null, "bean");
+		assertThat(this.context.isPropertyResolved(), is(false));
+		assertThat(value, is(nullValue()));
+	}
+
+	@Test
+	public void shouldGetBeanType() throws Exception {
+		Class<?> type = this.resolver.getType(this.context, null, "bean");
+		assertThat(this.context.isPropertyResolved(), is(true));
+		assertThat(type, is(equalTo((Object) Object.class)));
+	}
+
+	@Test
+	public void shouldBeReadOnly() throws Exception {
+		this.model.put("key", "value");
+		assertThat(this.resolver.isReadOnly(this.context, null, "key"), is(true));
+		assertThat(this.context.isPropertyResolved(), is(true));
+	}
+}
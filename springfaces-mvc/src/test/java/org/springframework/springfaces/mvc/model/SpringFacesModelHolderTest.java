@@ -21,10 +21,13 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.springfaces.mvc.SpringFacesMocks.mockUIViewRootWithModelSupport;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -129,4 +132,60 @@ public class SpringFacesModelHolderTest {
 		SpringFacesModelHolder.attach(this.context, viewRoot, m);
 		assertThat(SpringFacesModelHolder.getModel(viewRoot).get("k"), is(equalTo((Object) "v")));
 	}
+
+	@Test
+	public void shouldGetModelFromNullFacesContext() throws Exception {
+		assertThat(SpringFacesModelHolder.getCurrentModel(null), is(nullValue()));
+	}
+
+	@Test
+	public void shouldGetModelFromFacesContextWithoutViewRoot() throws Exception {
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context), is(nullValue()));
+	}
+
+	@Test
+	public void shouldGetModelFromFacesContext() throws Exception {
+		UIViewRoot viewRoot = mockUIViewRootWithModelSupport();
+		given(this.context.getViewRoot()).willReturn(viewRoot);
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
+		Map<String, String> m = Collections.singletonMap("k", "v");
+		SpringFacesModelHolder.attach(this.context, viewRoot, m);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context).get("k"), is(equalTo((Object) "v")));
+	}
+
+	@Test
+	public void shouldCacheHolderInFacesContext() throws Exception {
+		UIViewRoot viewRoot = mockUIViewRootWithModelSupport();
+		viewRoot.getChildren().add(new SpringFacesModelHolder(Collections.singletonMap("k", "v")));
+		given(this.context.getViewRoot()).willReturn(viewRoot);
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
+		SpringFacesModelHolder.getCurrentModel(this.context);
+		SpringFacesModelHolder.getCurrentModel(this.context);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context).get("k"), is(equalTo((Object) "v")));
+		// Once when adding the holder above and once for the first lookup
+		verify(viewRoot, times(2)).getChildren();
+	}
+
+	@Test
+	public void shouldRecheckHolderWhenViewRootChanges() throws Exception {
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
+		UIViewRoot viewRoot1 = mockUIViewRootWithModelSupport();
+		given(this.context.getViewRoot()).willReturn(viewRoot1);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context), is(nullValue()));
+		UIViewRoot viewRoot2 = mockUIViewRootWithModelSupport();
+		viewRoot2.getChildren().add(new SpringFacesModelHolder(Collections.singletonMap("k", "v")));
+		given(this.context.getViewRoot()).willReturn(viewRoot2);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context).get("k"), is(equalTo((Object) "v")));
+	}
+
+	@Test
+	public void shouldRecheckMissingHolderWhenViewRootChildrenChange() throws Exception {
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
+		UIViewRoot viewRoot = mockUIViewRootWithModelSupport();
+		given(this.context.getViewRoot()).willReturn(viewRoot);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context), is(nullValue()));
+		viewRoot.getChildren().add(new SpringFacesModelHolder(Collections.singletonMap("k", "v")));
+		given(viewRoot.getChildCount()).willReturn(1);
+		assertThat(SpringFacesModelHolder.getCurrentModel(this.context).get("k"), is(equalTo((Object) "v")));
+	}
 }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.el.CompositeELResolver;
+import javax.faces.application.Application;
+import javax.faces.application.ConfigurableNavigationHandler;
+import javax.faces.application.ViewHandler;
+import javax.faces.context.ExceptionHandler;
+import javax.faces.event.ActionListener;
+import javax.faces.render.RenderKit;
+import javax.faces.render.ResponseStateManager;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.util.Assert;
+
+/**
+ * Registry of all {@link FacesWrapperFactory} beans from a {@link ListableBeanFactory} (including ancestors), indexed
+ * by the JSF object type that they support. Factories are obtained, sorted and filtered once when the registry is
+ * created so that subsequent {@link #getFactories(Class) lookups} do not need to consult the bean factory.
+ * <p>
+ * Registries are usually created by {@link SpringFacesIntegration} each time the application context is refreshed.
+ * 
+ * @author Phillip Webb
+ * @see SpringFacesIntegration#getFacesWrapperFactoryRegistry()
+ */
+public class FacesWrapperFactoryRegistry {
+
+	private static final Log logger = LogFactory.getLog(FacesWrapperFactoryRegistry.class);
+
+	/**
+	 * The JSF types that are indexed when the registry is created.
+	 */
+	private static final Class<?>[] INDEXED_TYPES = { ActionListener.class, Application.class,
+			ConfigurableNavigationHandler.class, RenderKit.class, ResponseStateManager.class, ViewHandler.class,
+			ExceptionHandler.class, CompositeELResolver.class };
+
+	/**
+	 * All factories, in invocation order.
+	 */
+	private final FacesWrapperFactory<?>[] factories;
+
+	/**
+	 * The resolved generic type of each item in {@link #factories} or <tt>null</tt> if the factory supports any type.
+	 */
+	private final Class<?>[] factoryTypes;
+
+	private final Map<Class<?>, List<FacesWrapperFactory<?>>> factoriesByType = new ConcurrentHashMap<Class<?>, List<FacesWrapperFactory<?>>>();
+
+	/**
+	 * Create a new {@link FacesWrapperFactoryRegistry} containing all {@link FacesWrapperFactory} beans from the
+	 * specified bean factory (including ancestors).
+	 * @param beanFactory the bean factory
+	 */
+	@SuppressWarnings("rawtypes")
+	public FacesWrapperFactoryRegistry(ListableBeanFactory beanFactory) {
+		Assert.notNull(beanFactory, "BeanFactory must not be null");
+		long startTime = System.currentTimeMillis();
+		List<FacesWrapperFactory> factories = new ArrayList<FacesWrapperFactory>(BeanFactoryUtils
+				.beansOfTypeIncludingAncestors(beanFactory, FacesWrapperFactory.class).values());
+		Collections.sort(factories, new AnnotationAwareOrderComparator());
+		this.factories = factories.toArray(new FacesWrapperFactory<?>[factories.size()]);
+		this.factoryTypes = new Class<?>[this.factories.length];
+		for (int i = 0; i < this.factories.length; i++) {
+			this.factoryTypes[i] = resolveFactoryType(this.factories[i]);
+		}
+		for (Class<?> type : INDEXED_TYPES) {
+			getFactories(type);
+		}
+		if (logger.isInfoEnabled()) {
+			logger.info("Indexed " + this.factories.length + " FacesWrapperFactory beans in "
+					+ (System.currentTimeMillis() - startTime) + " ms");
+		}
+	}
+
+	/**
+	 * Determine the type supported by the given {@link FacesWrapperFactory} by resolving generic arguments.
+	 * @param factory the factory
+	 * @return the supported type or <tt>null</tt> if all types are supported
+	 */
+	private Class<?> resolveFactoryType(FacesWrapperFactory<?> factory) {
+		Class<?> typeArg = GenericTypeResolver.resolveTypeArgument(factory.getClass(), FacesWrapperFactory.class);
+		if (typeArg == null) {
+			Class<?> targetClass = AopUtils.getTargetClass(factory);
+			if (targetClass != factory.getClass()) {
+				typeArg = GenericTypeResolver.resolveTypeArgument(targetClass, FacesWrapperFactory.class);
+			}
+		}
+		return typeArg;
+	}
+
+	/**
+	 * Returns the ordered list of {@link FacesWrapperFactory factories} that support the given JSF object type.
+	 * @param typeClass the JSF object type being wrapped
+	 * @return an unmodifiable list of factories (never <tt>null</tt>)
+	 */
+	public List<FacesWrapperFactory<?>> getFactories(Class<?> typeClass) {
+		Assert.notNull(typeClass, "TypeClass must not be null");
+		List<FacesWrapperFactory<?>> factories = this.factoriesByType.get(typeClass);
+		if (factories == null) {
+			factories = new ArrayList<FacesWrapperFactory<?>>();
+			for (int i = 0; i < this.factories.length; i++) {
+				if (this.factoryTypes[i] == null || this.factoryTypes[i].isAssignableFrom(typeClass)) {
+					factories.add(this.factories[i]);
+				}
+			}
+			factories = Collections.unmodifiableList(factories);
+			this.factoriesByType.put(typeClass, factories);
+		}
+		return factories;
+	}
+}
@@ -16,6 +16,7 @@
 package org.springframework.springfaces;
 
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.faces.application.Application;
 import javax.faces.context.ExternalContext;
@@ -55,20 +56,46 @@ public class SpringFacesIntegration extends WebApplicationObjectSupport implemen
 	 */
 	private static final String APPLICATION_ATTRIBUTE = SpringFacesIntegration.class.getName() + ".APPLICATION";
 
+	/**
+	 * Generation number incremented each time any {@link SpringFacesIntegration} is installed or refreshed.
+	 * @see #getRefreshGeneration()
+	 */
+	private static final AtomicLong refreshGeneration = new AtomicLong();
+
+	private volatile FacesWrapperFactoryRegistry facesWrapperFactoryRegistry;
+
 	@Override
 	protected void initApplicationContext() throws BeansException {
 		getServletContext().setAttribute(ATTRIBUTE, this);
 		getServletContext().setAttribute(LAST_REFRESHED_DATE_ATTRIBUTE, new Date());
+		refreshGeneration.incrementAndGet();
 	}
 
 	public void onApplicationEvent(ContextRefreshedEvent event) {
+		this.facesWrapperFactoryRegistry = new FacesWrapperFactoryRegistry(getApplicationContext());
 		getServletContext().setAttribute(LAST_REFRESHED_DATE_ATTRIBUTE, new Date());
+		refreshGeneration.incrementAndGet();
 		Application application = (Application) getServletContext().getAttribute(APPLICATION_ATTRIBUTE);
 		if (application != null) {
 			publishPostConstructApplicationEvent(application);
 		}
 	}
 
+	/**
+	 * Returns the {@link FacesWrapperFactoryRegistry} containing all {@link FacesWrapperFactory} beans. The registry is
+	 * recreated each time the application context is refreshed.
+	 * @return the faces wrapper factory registry
+	 */
+	public FacesWrapperFactoryRegistry getFacesWrapperFactoryRegistry() {
+		FacesWrapperFactoryRegistry registry = this.facesWrapperFactoryRegistry;
+		if (registry == null) {
+			// The context has not yet been refreshed
+			registry = new FacesWrapperFactoryRegistry(getApplicationContext());
+			this.facesWrapperFactoryRegistry = registry;
+		}
+		return registry;
+	}
+
 	protected final void publishPostConstructApplicationEvent(Application application) {
 		getApplicationContext().publishEvent(new PostConstructApplicationSpringFacesEvent(application));
 	}
@@ -138,6 +165,19 @@ public class SpringFacesIntegration extends WebApplicationObjectSupport implemen
 		return (Date) lastRefreshDate;
 	}
 
+	/**
+	 * Returns a generation number that is incremented each time a {@link WebApplicationContext} containing a
+	 * {@link SpringFacesIntegration} bean is loaded or refreshed. This method can be used as a cheap alternative to
+	 * {@link #getLastRefreshedDate(ExternalContext)} when checking if cached items need to be recreated. The
+	 * generation is shared by all {@link SpringFacesIntegration} instances loaded from the same class loader, callers
+	 * should therefore only use it to detect change and not to identify a specific context. A value of <tt>0</tt>
+	 * indicates that no {@link SpringFacesIntegration} has been installed.
+	 * @return the refresh generation number
+	 */
+	public static long getRefreshGeneration() {
+		return refreshGeneration.get();
+	}
+
 	/**
 	 * Return the current {@link SpringFacesIntegration} instance registered for the give <tt>servletContext</tt>
 	 * @param servletContext the servlet context
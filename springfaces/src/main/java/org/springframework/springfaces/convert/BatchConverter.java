@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.convert;
+
+import java.util.Collection;
+import java.util.Map;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+import javax.faces.convert.ConverterException;
+
+/**
+ * Extension of {@link Converter} that can convert many submitted values in a single operation. Batch converters are
+ * useful when conversion involves a lookup, for example a repository can load all submitted IDs with a single
+ * <tt>findAll</tt> call rather than issuing a query for each value.
+ * <p>
+ * When a {@link BatchConverter} is used the {@link #getAsObjects(FacesContext, UIComponent, Collection) getAsObjects}
+ * method is called with all values submitted for the component the first time that a value needs converting. Results
+ * are cached for the remainder of the request and the {@link #getAsObject(FacesContext, UIComponent, String)
+ * getAsObject} method is not called.
+ * 
+ * @author Phillip Webb
+ * @param <T> The type the converter is for
+ * @see BatchConverterUtils
+ */
+public interface BatchConverter<T> extends Converter<T> {
+
+	/**
+	 * Convert all of the specified string values.
+	 * @param context the faces context
+	 * @param component the component
+	 * @param values the string values to convert
+	 * @return a map of string values to converted object values. Any string value that is not contained in the map is
+	 * converted to <tt>null</tt>
+	 * @throws ConverterException
+	 */
+	Map<String, T> getAsObjects(FacesContext context, UIComponent component, Collection<String> values)
+			throws ConverterException;
+}
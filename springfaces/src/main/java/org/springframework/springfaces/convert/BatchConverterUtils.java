@@ -0,0 +1,103 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.convert;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import javax.faces.component.EditableValueHolder;
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utilities for working with {@link BatchConverter}s.
+ * 
+ * @author Phillip Webb
+ */
+public abstract class BatchConverterUtils {
+
+	/**
+	 * Convert a single string value using the specified {@link BatchConverter}. The first time that a value is
+	 * converted for a component all values {@link EditableValueHolder#getSubmittedValue() submitted} for that component
+	 * are passed to the converter in a single call. Results are stored in the {@link FacesContext#getAttributes() faces
+	 * context attributes} and reused for the remainder of the request. Empty submitted values (usually indicating that
+	 * no selection has been made) are not included in the batch unless they are the value being converted.
+	 * @param context the faces context
+	 * @param component the component
+	 * @param value the value to convert
+	 * @param converter the batch converter
+	 * @return the converted value
+	 */
+	public static Object getAsObject(FacesContext context, UIComponent component, String value,
+			BatchConverter<?> converter) {
+		Assert.notNull(context, "Context must not be null");
+		Assert.notNull(converter, "Converter must not be null");
+		Map<Object, Object> attributes = context.getAttributes();
+		ComponentConversionKey key = null;
+		Map<String, Object> converted = null;
+		if (attributes != null && component != null) {
+			key = new ComponentConversionKey(BatchConverterUtils.class, converter, context, component);
+			converted = getConverted(attributes, key);
+		}
+		if (converted == null || !converted.containsKey(value)) {
+			converted = (converted == null ? new HashMap<String, Object>() : converted);
+			Collection<String> values = getSubmittedValues(component);
+			values.add(value);
+			values.removeAll(converted.keySet());
+			Map<String, ?> batch = converter.getAsObjects(context, component, values);
+			for (String submittedValue : values) {
+				converted.put(submittedValue, (batch == null ? null : batch.get(submittedValue)));
+			}
+			if (key != null) {
+				attributes.put(key, converted);
+			}
+		}
+		return converted.get(value);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> getConverted(Map<Object, Object> attributes, ComponentConversionKey key) {
+		return (Map<String, Object>) attributes.get(key);
+	}
+
+	private static Collection<String> getSubmittedValues(UIComponent component) {
+		Collection<String> values = new LinkedHashSet<String>();
+		Object submittedValue = null;
+		if (component instanceof EditableValueHolder) {
+			submittedValue = ((EditableValueHolder) component).getSubmittedValue();
+		}
+		if (submittedValue instanceof String[]) {
+			for (String value : (String[]) submittedValue) {
+				addSubmittedValue(values, value);
+			}
+		} else if (submittedValue instanceof String) {
+			addSubmittedValue(values, (String) submittedValue);
+		}
+		return values;
+	}
+
+	private static void addSubmittedValue(Collection<String> values, String value) {
+		// Empty values usually indicate no selection and are only converted when explicitly requested
+		if (StringUtils.hasLength(value)) {
+			values.add(value);
+		}
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.convert;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Key that can be used to store conversion state in the {@link FacesContext#getAttributes() faces context attributes}
+ * for the remainder of a request. Keys are made up from a <tt>type</tt> (used to distinguish different kinds of
+ * state), the converter and the component. The client ID of the component is also included so that components
+ * repeated in a data table have state for each row. Converters and components are compared by identity.
+ * 
+ * @author Phillip Webb
+ */
+public final class ComponentConversionKey {
+
+	private final Class<?> type;
+
+	private final Object converter;
+
+	private final UIComponent component;
+
+	private final String clientId;
+
+	/**
+	 * Create a new {@link ComponentConversionKey} instance.
+	 * @param type the type of state being stored
+	 * @param converter the converter
+	 * @param context the faces context
+	 * @param component the component
+	 */
+	public ComponentConversionKey(Class<?> type, Object converter, FacesContext context, UIComponent component) {
+		Assert.notNull(type, "Type must not be null");
+		Assert.notNull(component, "Component must not be null");
+		this.type = type;
+		this.converter = converter;
+		this.component = component;
+		this.clientId = component.getClientId(context);
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.type.hashCode();
+		hashCode = 31 * hashCode + System.identityHashCode(this.converter);
+		hashCode = 31 * hashCode + System.identityHashCode(this.component);
+		hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.clientId);
+		return hashCode;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		ComponentConversionKey other = (ComponentConversionKey) obj;
+		return this.type.equals(other.type) && this.converter == other.converter
+				&& this.component == other.component && ObjectUtils.nullSafeEquals(this.clientId, other.clientId);
+	}
+}
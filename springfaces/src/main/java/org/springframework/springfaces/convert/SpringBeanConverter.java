@@ -21,10 +21,15 @@ import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 
 import org.springframework.springfaces.component.SpringBeanPartialStateHolder;
+import org.springframework.util.StringUtils;
 
 /**
  * A JSF {@link javax.faces.convert.Converter} that delegates to a
- * {@link org.springframework.springfaces.convert.Converter} Spring Bean.
+ * {@link org.springframework.springfaces.convert.Converter} Spring Bean. If the bean is a {@link BatchConverter} all
+ * submitted values are converted in a single call and the results are cached for the remainder of the request. Empty
+ * values (usually indicating that no selection has been made) are always passed to the
+ * {@link org.springframework.springfaces.convert.Converter#getAsObject(FacesContext, UIComponent, String) single value}
+ * method.
  * 
  * @author Phillip Webb
  * @param <T> the converted type
@@ -52,7 +57,11 @@ public class SpringBeanConverter<T> extends
 	}
 
 	public Object getAsObject(FacesContext context, UIComponent component, String value) {
-		return getBean().getAsObject(context, component, value);
+		org.springframework.springfaces.convert.Converter<T> bean = getBean();
+		if (bean instanceof BatchConverter && StringUtils.hasLength(value)) {
+			return BatchConverterUtils.getAsObject(context, component, value, (BatchConverter<T>) bean);
+		}
+		return bean.getAsObject(context, component, value);
 	}
 
 	@SuppressWarnings("unchecked")
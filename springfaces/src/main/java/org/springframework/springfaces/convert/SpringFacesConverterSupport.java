@@ -40,7 +40,8 @@ import org.springframework.springfaces.util.ForClassFilter;
  * Beans that implement {@link javax.faces.convert.Converter} or
  * {@link org.springframework.springfaces.convert.Converter} are made available as JSF converters (the ID of the bean is
  * used as the converter name). The {@link ForClass @ForClass} annotation and {@link ConditionalForClass} interface are
- * also supported to return default converters for a class.
+ * also supported to return default converters for a class. Beans that implement {@link BatchConverter} will be called
+ * once with all submitted values of a component.
  * 
  * @author Phillip Webb
  */
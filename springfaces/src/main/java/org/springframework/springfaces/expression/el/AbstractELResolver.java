@@ -91,6 +91,26 @@ public abstract class AbstractELResolver extends ELResolver {
 		throw new PropertyNotWritableException("The property " + property + " is not writable.");
 	}
 
+	/**
+	 * Template method used to determine if the resolver handles the given base and property. If the property is handled
+	 * the {@link ELContext#setPropertyResolved(boolean) property resolved} flag will be set. No objects are allocated
+	 * when the <tt>base</tt> is not <tt>null</tt>, this being the most common case when resolving expressions.
+	 * @param elContext the EL context
+	 * @param base the base object
+	 * @param property the property
+	 * @return <tt>true</tt> if the property has been resolved
+	 */
+	protected final boolean resolve(ELContext elContext, Object base, Object property) {
+		if (base != null || !isAvailable()) {
+			return false;
+		}
+		if (handles(asString(property))) {
+			elContext.setPropertyResolved(true);
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Template method used to handle searching for the property and invoking some operation on the scope.
 	 * @param <T> the property type
@@ -99,19 +119,21 @@ public abstract class AbstractELResolver extends ELResolver {
 	 * @param property the property
 	 * @param operation Callback interface used to execute the operation
 	 * @return Result of the operation
+	 * @deprecated since the operation callback must be allocated on each call, use
+	 * {@link #resolve(ELContext, Object, Object)} instead
 	 */
+	@Deprecated
 	protected <T> T handle(ELContext elContext, Object base, Object property, ELOperation<T> operation) {
-		if (base != null || !isAvailable()) {
-			return null;
-		}
-		String propertyString = (property == null ? null : property.toString());
-		if (handles(propertyString)) {
-			elContext.setPropertyResolved(true);
-			return operation.execute(propertyString);
+		if (resolve(elContext, base, property)) {
+			return operation.execute(asString(property));
 		}
 		return null;
 	}
 
+	private String asString(Object property) {
+		return (property == null ? null : property.toString());
+	}
+
 	@Override
 	public Class<?> getCommonPropertyType(ELContext elContext, Object base) {
 		if (base == null) {
@@ -127,46 +149,41 @@ public abstract class AbstractELResolver extends ELResolver {
 
 	@Override
 	public Class<?> getType(ELContext elContext, Object base, Object property) {
-		return handle(elContext, base, property, new ELOperation<Class<?>>() {
-			public Class<?> execute(String property) {
-				return get(property).getClass();
-			}
-		});
+		if (resolve(elContext, base, property)) {
+			return get(asString(property)).getClass();
+		}
+		return null;
 	}
 
 	@Override
 	public Object getValue(ELContext elContext, Object base, Object property) {
-		return handle(elContext, base, property, new ELOperation<Object>() {
-			public Object execute(String property) {
-				return get(property);
-			}
-		});
+		if (resolve(elContext, base, property)) {
+			return get(asString(property));
+		}
+		return null;
 	}
 
 	@Override
 	public boolean isReadOnly(ELContext elContext, Object base, Object property) {
-		Boolean readOnly = handle(elContext, base, property, new ELOperation<Boolean>() {
-			public Boolean execute(String property) {
-				return new Boolean(isReadOnly(property));
-			}
-		});
-		return (readOnly != null ? readOnly.booleanValue() : false);
+		if (resolve(elContext, base, property)) {
+			return isReadOnly(asString(property));
+		}
+		return false;
 	}
 
 	@Override
-	public void setValue(ELContext elContext, Object base, Object property, final Object value) {
-		handle(elContext, base, property, new ELOperation<Object>() {
-			public Object execute(String property) {
-				set(property, value);
-				return null;
-			}
-		});
+	public void setValue(ELContext elContext, Object base, Object property, Object value) {
+		if (resolve(elContext, base, property)) {
+			set(asString(property), value);
+		}
 	}
 
 	/**
 	 * Internal callback interface used to perform a scope operation.
 	 * @param <T> The data type
+	 * @deprecated use {@link AbstractELResolver#resolve(ELContext, Object, Object)} instead
 	 */
+	@Deprecated
 	protected static interface ELOperation<T> {
 		public T execute(String property);
 	}
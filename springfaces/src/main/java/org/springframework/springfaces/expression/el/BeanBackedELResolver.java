@@ -15,19 +15,25 @@
  */
 package org.springframework.springfaces.expression.el;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.el.BeanELResolver;
-import javax.el.ELContext;
-import javax.el.ELResolver;
-import javax.el.FunctionMapper;
-import javax.el.VariableMapper;
+import javax.el.ELException;
+import javax.el.PropertyNotFoundException;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Base class for any read-only EL resolver that is backed against java bean properties. This EL resolver can be used to
  * map EL properties to java bean getters. Subclasses should call the {@link #map(String, String)} method on
  * construction to setup mappings between EL and bean properties.
+ * <p>
+ * Bean properties are read using accessor methods that are resolved once for each bean class and then cached.
  * 
  * @author Phillip Webb
  * @see #map(String, String)
@@ -35,13 +41,16 @@ import javax.el.VariableMapper;
  */
 public abstract class BeanBackedELResolver extends AbstractELResolver {
 
-	private static final BeanELResolver elPropertyResolver = new BeanELResolver(true);
-
 	/**
 	 * Mapping or EL properties to java bean properties.
 	 */
 	private Map<String, String> properties = new HashMap<String, String>();
 
+	/**
+	 * Cache of resolved accessor methods, keyed by bean class then EL property.
+	 */
+	private final Map<Class<?>, Map<String, Method>> accessors = new ConcurrentHashMap<Class<?>, Map<String, Method>>();
+
 	/**
 	 * Returns the underlying bean that will be used to resolve properties. If this method returns <tt>null</tt> the
 	 * resolver will not be used.
@@ -65,6 +74,7 @@ public abstract class BeanBackedELResolver extends AbstractELResolver {
 	 */
 	protected void map(String elProperty, String beanProperty) {
 		this.properties.put(elProperty, beanProperty);
+		this.accessors.clear();
 	}
 
 	/**
@@ -89,26 +99,43 @@ public abstract class BeanBackedELResolver extends AbstractELResolver {
 
 	@Override
 	protected Object get(String property) {
-		String beanProperty = this.properties.get(property);
-		if (beanProperty != null) {
-			ELContext elContext = new ELContext() {
-				@Override
-				public VariableMapper getVariableMapper() {
-					return null;
-				}
-
-				@Override
-				public FunctionMapper getFunctionMapper() {
-					return null;
-				}
+		if (!this.properties.containsKey(property)) {
+			return null;
+		}
+		Object bean = getBean();
+		Method accessor = getAccessors(bean.getClass()).get(property);
+		if (accessor == null) {
+			throw new PropertyNotFoundException("Unable to find readable property '" + this.properties.get(property)
+					+ "' on " + bean.getClass().getName());
+		}
+		try {
+			return accessor.invoke(bean);
+		} catch (InvocationTargetException e) {
+			throw new ELException(e.getCause());
+		} catch (Exception e) {
+			throw new ELException(e);
+		}
+	}
 
-				@Override
-				public ELResolver getELResolver() {
-					return elPropertyResolver;
+	/**
+	 * Returns the accessor methods for all mapped properties of the given bean class, keyed by EL property.
+	 * @param beanClass the bean class
+	 * @return a map of accessor methods
+	 */
+	private Map<String, Method> getAccessors(Class<?> beanClass) {
+		Map<String, Method> accessors = this.accessors.get(beanClass);
+		if (accessors == null) {
+			accessors = new HashMap<String, Method>();
+			for (Map.Entry<String, String> entry : this.properties.entrySet()) {
+				PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(beanClass, entry.getValue());
+				Method readMethod = (descriptor == null ? null : descriptor.getReadMethod());
+				if (readMethod != null) {
+					ReflectionUtils.makeAccessible(readMethod);
+					accessors.put(entry.getKey(), readMethod);
 				}
-			};
-			return elContext.getELResolver().getValue(elContext, getBean(), beanProperty);
+			}
+			this.accessors.put(beanClass, accessors);
 		}
-		return null;
+		return accessors;
 	}
 }
@@ -28,6 +28,12 @@ import org.springframework.expression.TypedValue;
 /**
  * Spring read-only EL property accessor that acts as an adapter to a Java {@link ELContext}. Subclasses must provide
  * {@link #getElContext access} to an actual {@link ELContext}.
+ * <p>
+ * Values are resolved from the {@link ELContext} only once for each {@link #canRead canRead}/{@link #read read} pair;
+ * the result of a successful {@link #canRead canRead} call is held for the current thread and reused by an immediately
+ * following {@link #read read} with the identical context, target and name. The type of the value is always obtained
+ * from the {@link ELResolver#getType ELResolver}, the runtime class of the value is only used when the resolver does
+ * not report a type.
  * 
  * @author Phillip Webb
  * @see #getElContext
@@ -36,12 +42,33 @@ import org.springframework.expression.TypedValue;
  */
 public abstract class ELPropertyAccessor implements PropertyAccessor {
 
+	/**
+	 * The last value resolved by {@link #canRead}, consumed by {@link #read}. The value is only ever held between a
+	 * {@link #canRead canRead} call and the {@link #read read} call that follows it and is always cleared by
+	 * {@link #read read}, even if the read fails.
+	 */
+	private final ThreadLocal<Resolution> lastResolution = new ThreadLocal<Resolution>();
+
 	public boolean canRead(EvaluationContext context, Object target, String name) throws AccessException {
-		return (resolveValue(context, target, name) != null);
+		this.lastResolution.remove();
+		TypedValue value = resolveValue(context, target, name);
+		if (value == null) {
+			return false;
+		}
+		this.lastResolution.set(new Resolution(context, target, name, value));
+		return true;
 	}
 
 	public TypedValue read(EvaluationContext context, Object target, String name) throws AccessException {
-		return resolveValue(context, target, name);
+		try {
+			Resolution resolution = this.lastResolution.get();
+			if (resolution != null && resolution.isFor(context, target, name)) {
+				return resolution.getValue();
+			}
+			return resolveValue(context, target, name);
+		} finally {
+			this.lastResolution.remove();
+		}
 	}
 
 	public boolean canWrite(EvaluationContext context, Object target, String name) throws AccessException {
@@ -69,9 +96,12 @@ public abstract class ELPropertyAccessor implements PropertyAccessor {
 			ELResolver resolver = elContext.getELResolver();
 			Object base = getResolveBase(context, target, name);
 			Object property = getResolveProperty(context, target, name);
-			Class<?> type = resolver.getType(elContext, base, property);
 			Object value = resolver.getValue(elContext, base, property);
 			if (elContext.isPropertyResolved()) {
+				Class<?> type = resolver.getType(elContext, base, property);
+				if (type == null) {
+					return new TypedValue(value);
+				}
 				return new TypedValue(value, TypeDescriptor.valueOf(type));
 			}
 		}
@@ -110,4 +140,34 @@ public abstract class ELPropertyAccessor implements PropertyAccessor {
 		return name;
 	}
 
+	/**
+	 * A resolved value along with the context, target and name used to resolve it. A resolution is only reused when all
+	 * three are the identical instances, a stale resolution left on a pooled thread can therefore never be returned for
+	 * a different evaluation.
+	 */
+	private static class Resolution {
+
+		private final EvaluationContext context;
+
+		private final Object target;
+
+		private final String name;
+
+		private final TypedValue value;
+
+		public Resolution(EvaluationContext context, Object target, String name, TypedValue value) {
+			this.context = context;
+			this.target = target;
+			this.name = name;
+			this.value = value;
+		}
+
+		public boolean isFor(EvaluationContext context, Object target, String name) {
+			return this.context == context && this.target == target && this.name == name;
+		}
+
+		public TypedValue getValue() {
+			return this.value;
+		}
+	}
 }
@@ -24,15 +24,32 @@ import javax.el.ValueExpression;
 import org.springframework.beans.BeanUtils;
 import org.springframework.core.convert.Property;
 import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.util.LruCache;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Miscellaneous <tt>Unified EL</tt> utility methods.
+ * <p>
+ * Resolved {@link TypeDescriptor}s and {@link Property properties} are cached against the expression string together
+ * with the base class, property and type that the expression resolves to. The expression type is resolved on every call
+ * so that a base that changes class is never served a stale result. The bounded caches are cleared when the Spring
+ * application context is {@link SpringFacesIntegration#getRefreshGeneration() refreshed}.
  * 
  * @author Phillip Webb
  */
 public abstract class ELUtils {
 
+	private static final int CACHE_SIZE = 1024;
+
+	private static final LruCache<CacheKey, TypeDescriptor> typeDescriptorCache = new LruCache<CacheKey, TypeDescriptor>(
+			CACHE_SIZE);
+
+	private static final LruCache<CacheKey, Property> propertyCache = new LruCache<CacheKey, Property>(CACHE_SIZE);
+
+	private static volatile long cacheGeneration = SpringFacesIntegration.getRefreshGeneration();
+
 	/**
 	 * Returns a {@link TypeDescriptor} for the given <tt>valueExpression</tt>. This method is similar to
 	 * {@link ValueExpression#getType(ELContext)} except that generic type information will be deduced when possible.
@@ -48,6 +65,16 @@ public abstract class ELUtils {
 		if (type == null) {
 			return null;
 		}
+		CacheKey key = new CacheKey(valueExpression, trackedContext, type);
+		TypeDescriptor typeDescriptor = getCache(typeDescriptorCache).get(key);
+		if (typeDescriptor == null) {
+			typeDescriptor = getTypeDescriptor(type, trackedContext);
+			typeDescriptorCache.put(key, typeDescriptor);
+		}
+		return typeDescriptor;
+	}
+
+	private static TypeDescriptor getTypeDescriptor(Class<?> type, TrackedELContext trackedContext) {
 		TypeDescriptor typeDescriptor = TypeDescriptor.valueOf(type);
 		if (typeDescriptor.isCollection() || typeDescriptor.isMap()) {
 			// We may be able to obtain the generic type info by resolving the property directly
@@ -78,7 +105,33 @@ public abstract class ELUtils {
 		}
 		TrackedELContext trackedContext = new TrackedELContext(elContext);
 		valueExpression.getType(trackedContext);
-		return getProperty(trackedContext);
+		if (!trackedContext.hasValues()) {
+			return null;
+		}
+		CacheKey key = new CacheKey(valueExpression, trackedContext, null);
+		Property property = getCache(propertyCache).get(key);
+		if (property == null) {
+			property = getProperty(trackedContext);
+			if (property != null) {
+				propertyCache.put(key, property);
+			}
+		}
+		return property;
+	}
+
+	/**
+	 * Returns the specified cache, clearing all caches first if the application context has been refreshed.
+	 * @param cache the cache to return
+	 * @return the cache
+	 */
+	private static <V> LruCache<CacheKey, V> getCache(LruCache<CacheKey, V> cache) {
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		if (cacheGeneration != generation) {
+			typeDescriptorCache.clear();
+			propertyCache.clear();
+			cacheGeneration = generation;
+		}
+		return cache;
 	}
 
 	private static Property getProperty(TrackedELContext trackedContext) {
@@ -93,6 +146,51 @@ public abstract class ELUtils {
 		return property;
 	}
 
+	/**
+	 * Key used to cache resolved types, made up from the expression string and the base class, property and type that
+	 * the expression resolved to for the current call.
+	 */
+	private static class CacheKey {
+
+		private final String expressionString;
+
+		private final Class<?> baseClass;
+
+		private final Object property;
+
+		private final Class<?> type;
+
+		public CacheKey(ValueExpression valueExpression, TrackedELContext trackedContext, Class<?> type) {
+			this.expressionString = valueExpression.getExpressionString();
+			this.baseClass = (trackedContext.getBase() == null ? null : trackedContext.getBase().getClass());
+			this.property = trackedContext.getProperty();
+			this.type = type;
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = ObjectUtils.nullSafeHashCode(this.expressionString);
+			hashCode = hashCode * 31 + ObjectUtils.nullSafeHashCode(this.baseClass);
+			hashCode = hashCode * 31 + ObjectUtils.nullSafeHashCode(this.property);
+			return hashCode * 31 + ObjectUtils.nullSafeHashCode(this.type);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return ObjectUtils.nullSafeEquals(this.expressionString, other.expressionString)
+					&& ObjectUtils.nullSafeEquals(this.baseClass, other.baseClass)
+					&& ObjectUtils.nullSafeEquals(this.property, other.property)
+					&& ObjectUtils.nullSafeEquals(this.type, other.type);
+		}
+	}
+
 	/**
 	 * Internal {@link ELContext} decorator that tracks {@link #getELResolver() resolver} calls to
 	 * {@link ELResolver#getType getType()} in order to allow direct access to bean properties.
@@ -19,13 +19,16 @@ import org.springframework.expression.spel.support.StandardEvaluationContext;
 import org.springframework.springfaces.expression.spel.support.StandardEvaluationContextPostProcessor;
 
 /**
- * {@link StandardEvaluationContextPostProcessor} used to add a {@link FacesPropertyAccessor}.
+ * {@link StandardEvaluationContextPostProcessor} used to add a {@link FacesPropertyAccessor}. A single accessor
+ * instance is shared between all post-processed contexts.
  * 
  * @author Phillip Webb
  */
 public class FacesStandardEvaluationContextPostProcessor implements StandardEvaluationContextPostProcessor {
 
+	private final FacesPropertyAccessor propertyAccessor = new FacesPropertyAccessor();
+
 	public void postProcessStandardEvaluationContext(StandardEvaluationContext evaluationContext) {
-		evaluationContext.addPropertyAccessor(new FacesPropertyAccessor());
+		evaluationContext.addPropertyAccessor(this.propertyAccessor);
 	}
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import org.springframework.util.Assert;
+
+/**
+ * A lightweight stack of EL variables that are local to a single {@link FacesContext}. Variables can be pushed and
+ * popped without touching the servlet request and are resolved by the {@link LocalVariablesELResolver}. Variables are
+ * usually used in the following way:
+ * 
+ * <pre>
+ * LocalVariables variables = LocalVariables.get(context);
+ * variables.push(&quot;item&quot;, value);
+ * try {
+ * 	// evaluate expressions referencing #{item}
+ * } finally {
+ * 	variables.pop();
+ * }
+ * </pre>
+ * 
+ * Local variables are only used when the application has started with SpringFaces installed. Variables will instead be
+ * stored as <tt>request-scope</tt> attributes if the {@link #REQUEST_SCOPE_VARIABLES_PARAMETER} context parameter is
+ * set to <tt>true</tt>. Use this setting if variables must be visible to code that reads request attributes directly.
+ * 
+ * @author Phillip Webb
+ * @see LocalVariablesELResolver
+ */
+public final class LocalVariables {
+
+	/**
+	 * Context parameter that can be set to <tt>true</tt> in order to store variables as <tt>request-scope</tt>
+	 * attributes.
+	 */
+	public static final String REQUEST_SCOPE_VARIABLES_PARAMETER = "org.springframework.springfaces.REQUEST_SCOPE_VARIABLES";
+
+	private static final String ATTRIBUTE = LocalVariables.class.getName();
+
+	private static final String ENABLED_ATTRIBUTE = ATTRIBUTE + ".ENABLED";
+
+	private static final int INITIAL_CAPACITY = 4;
+
+	private final Map<String, Object> requestMap;
+
+	private String[] names = new String[INITIAL_CAPACITY];
+
+	private Object[] values = new Object[INITIAL_CAPACITY];
+
+	private int size;
+
+	private LocalVariables(Map<String, Object> requestMap) {
+		this.requestMap = requestMap;
+	}
+
+	/**
+	 * Push a new variable onto the stack. The variable will hide any existing variable with the same name until it is
+	 * {@link #pop() popped}.
+	 * @param name the name of the variable (can be <tt>null</tt> in which case no variable is exposed, however,
+	 * {@link #pop()} must still be called)
+	 * @param value the value of the variable
+	 */
+	public void push(String name, Object value) {
+		if (this.size == this.names.length) {
+			String[] names = new String[this.size * 2];
+			Object[] values = new Object[this.size * 2];
+			System.arraycopy(this.names, 0, names, 0, this.size);
+			System.arraycopy(this.values, 0, values, 0, this.size);
+			this.names = names;
+			this.values = values;
+		}
+		if (this.requestMap != null && name != null) {
+			// Store the previous request attribute so that it can be restored
+			value = this.requestMap.put(name, value);
+		}
+		this.names[this.size] = name;
+		this.values[this.size] = value;
+		this.size++;
+	}
+
+	/**
+	 * Pop the most recently {@link #push(String, Object) pushed} variable from the stack.
+	 */
+	public void pop() {
+		Assert.state(this.size > 0, "No local variables to pop");
+		this.size--;
+		String name = this.names[this.size];
+		Object value = this.values[this.size];
+		this.names[this.size] = null;
+		this.values[this.size] = null;
+		if (this.requestMap != null && name != null) {
+			this.requestMap.remove(name);
+			if (value != null) {
+				this.requestMap.put(name, value);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the variable with the given name or <tt>-1</tt>.
+	 * @param name the variable name
+	 * @return the index of the variable or <tt>-1</tt>
+	 */
+	int indexOf(String name) {
+		if (this.requestMap == null) {
+			for (int i = this.size - 1; i >= 0; i--) {
+				if (name.equals(this.names[i])) {
+					return i;
+				}
+			}
+		}
+		return -1;
+	}
+
+	Object getValue(int index) {
+		return this.values[index];
+	}
+
+	void setValue(int index, Object value) {
+		this.values[index] = value;
+	}
+
+	/**
+	 * Returns <tt>true</tt> if variables are stored as <tt>request-scope</tt> attributes.
+	 * @return if variables are stored in the request
+	 */
+	public boolean isRequestScope() {
+		return this.requestMap != null;
+	}
+
+	/**
+	 * Returns the {@link LocalVariables} for the given faces context, creating them if necessary.
+	 * @param context the faces context
+	 * @return the local variables
+	 */
+	public static LocalVariables get(FacesContext context) {
+		Assert.notNull(context, "Context must not be null");
+		Map<Object, Object> attributes = context.getAttributes();
+		LocalVariables variables = (attributes == null ? null : (LocalVariables) attributes.get(ATTRIBUTE));
+		if (variables == null) {
+			ExternalContext externalContext = context.getExternalContext();
+			variables = new LocalVariables(isEnabled(externalContext) ? null : externalContext.getRequestMap());
+			if (attributes != null) {
+				attributes.put(ATTRIBUTE, variables);
+			}
+		}
+		return variables;
+	}
+
+	/**
+	 * Returns any existing {@link LocalVariables} for the given EL context.
+	 * @param context the EL context
+	 * @return the local variables or <tt>null</tt>
+	 */
+	static LocalVariables find(ELContext context) {
+		FacesContext facesContext = (FacesContext) context.getContext(FacesContext.class);
+		if (facesContext == null) {
+			return null;
+		}
+		Map<Object, Object> attributes = facesContext.getAttributes();
+		return (attributes == null ? null : (LocalVariables) attributes.get(ATTRIBUTE));
+	}
+
+	private static boolean isEnabled(ExternalContext externalContext) {
+		Map<String, Object> applicationMap = externalContext.getApplicationMap();
+		return (applicationMap != null && Boolean.TRUE.equals(applicationMap.get(ENABLED_ATTRIBUTE)));
+	}
+
+	/**
+	 * Enable local variables for the application, unless the {@link #REQUEST_SCOPE_VARIABLES_PARAMETER} context
+	 * parameter has been set. This method is called when SpringFaces is installed and the
+	 * {@link LocalVariablesELResolver} has been registered.
+	 * @param externalContext the external context
+	 */
+	public static void enable(ExternalContext externalContext) {
+		Assert.notNull(externalContext, "ExternalContext must not be null");
+		boolean requestScope = Boolean.valueOf(externalContext.getInitParameter(REQUEST_SCOPE_VARIABLES_PARAMETER));
+		externalContext.getApplicationMap().put(ENABLED_ATTRIBUTE, !requestScope);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import java.beans.FeatureDescriptor;
+import java.util.Iterator;
+
+import javax.el.ELContext;
+import javax.el.ELResolver;
+
+/**
+ * {@link ELResolver} that resolves variables that have been pushed onto the {@link LocalVariables} of the current
+ * {@link javax.faces.context.FacesContext FacesContext}.
+ * 
+ * @author Phillip Webb
+ * @see LocalVariables
+ */
+public class LocalVariablesELResolver extends ELResolver {
+
+	@Override
+	public Object getValue(ELContext context, Object base, Object property) {
+		LocalVariables variables = findVariables(context, base, property);
+		if (variables != null) {
+			int index = variables.indexOf((String) property);
+			if (index != -1) {
+				context.setPropertyResolved(true);
+				return variables.getValue(index);
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public Class<?> getType(ELContext context, Object base, Object property) {
+		LocalVariables variables = findVariables(context, base, property);
+		if (variables != null && variables.indexOf((String) property) != -1) {
+			context.setPropertyResolved(true);
+			return Object.class;
+		}
+		return null;
+	}
+
+	@Override
+	public void setValue(ELContext context, Object base, Object property, Object value) {
+		LocalVariables variables = findVariables(context, base, property);
+		if (variables != null) {
+			int index = variables.indexOf((String) property);
+			if (index != -1) {
+				context.setPropertyResolved(true);
+				variables.setValue(index, value);
+			}
+		}
+	}
+
+	@Override
+	public boolean isReadOnly(ELContext context, Object base, Object property) {
+		LocalVariables variables = findVariables(context, base, property);
+		if (variables != null && variables.indexOf((String) property) != -1) {
+			context.setPropertyResolved(true);
+		}
+		return false;
+	}
+
+	private LocalVariables findVariables(ELContext context, Object base, Object property) {
+		if (base != null || !(property instanceof String)) {
+			return null;
+		}
+		return LocalVariables.find(context);
+	}
+
+	@Override
+	public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+		return null;
+	}
+
+	@Override
+	public Class<?> getCommonPropertyType(ELContext context, Object base) {
+		return (base == null ? String.class : null);
+	}
+}
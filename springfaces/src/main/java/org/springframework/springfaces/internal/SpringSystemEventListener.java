@@ -17,6 +17,7 @@ package org.springframework.springfaces.internal;
 
 import javax.faces.FactoryFinder;
 import javax.faces.application.ApplicationFactory;
+import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.faces.event.AbortProcessingException;
 import javax.faces.event.PostConstructApplicationEvent;
@@ -26,6 +27,7 @@ import javax.faces.event.SystemEventListener;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.expression.el.LocalVariables;
 
 /**
  * A JSF {@link SystemEventListener} that provides integration with Spring.
@@ -53,7 +55,8 @@ public class SpringSystemEventListener implements SystemEventListener {
 		ApplicationFactory factory = (ApplicationFactory) FactoryFinder.getFactory(FactoryFinder.APPLICATION_FACTORY);
 		SpringApplication application = new SpringApplication(event.getApplication());
 		factory.setApplication(application);
-		SpringFacesIntegration.postConstructApplicationEvent(FacesContext.getCurrentInstance().getExternalContext(),
-				application);
+		ExternalContext externalContext = FacesContext.getCurrentInstance().getExternalContext();
+		SpringFacesIntegration.postConstructApplicationEvent(externalContext, application);
+		LocalVariables.enable(externalContext);
 	}
 }
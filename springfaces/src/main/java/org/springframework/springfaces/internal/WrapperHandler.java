@@ -15,25 +15,13 @@
  */
 package org.springframework.springfaces.internal;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Date;
-import java.util.List;
-import java.util.Map;
-
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.aop.support.AopUtils;
-import org.springframework.beans.factory.BeanFactoryUtils;
-import org.springframework.context.ApplicationContext;
-import org.springframework.core.GenericTypeResolver;
-import org.springframework.core.annotation.AnnotationAwareOrderComparator;
-import org.springframework.core.annotation.Order;
 import org.springframework.springfaces.FacesWrapperFactory;
+import org.springframework.springfaces.FacesWrapperFactoryRegistry;
 import org.springframework.springfaces.SpringFacesIntegration;
 import org.springframework.util.Assert;
 import org.springframework.web.context.WebApplicationContext;
@@ -45,6 +33,10 @@ import org.springframework.web.context.WebApplicationContext;
  * Wrapping will be re-applied if whenever the {@link WebApplicationContext} is reloaded. If no
  * {@link SpringFacesIntegration} is {@link SpringFacesIntegration#isInstalled(ExternalContext) installed} then the
  * original delegate is returned as the wrapped instance.
+ * <p>
+ * Once wrapped, calls to {@link #getWrapped()} only need to check the
+ * {@link SpringFacesIntegration#getRefreshGeneration() refresh generation}. The wrapped instance is held in an
+ * immutable holder that is replaced atomically, with only a single thread performing any rewrap.
  * 
  * @author Phillip Webb
  * @param <T> The JSF type being managed
@@ -65,15 +57,15 @@ class WrapperHandler<T> {
 	private WrappedAccessor<T> wrappedAccessor;
 
 	/**
-	 * The fully wrapped implementation. This is late binding.
+	 * The fully wrapped implementation along with the refresh generation used to create it. This is late binding.
 	 * @see #getWrapped()
 	 */
-	private T wrapped;
+	private volatile Wrapped<T> wrapped;
 
 	/**
-	 * The date that the application context used to create the wrapped object was last refreshed.
+	 * Monitor used to ensure that only a single thread wraps at any time.
 	 */
-	private Date lastRefreshedDate;
+	private final Object wrapMonitor = new Object();
 
 	private boolean warnOnMissingSpringFaces;
 
@@ -116,32 +108,36 @@ class WrapperHandler<T> {
 	 * @return a wrapped implementation
 	 */
 	public T getWrapped() {
+		Wrapped<T> wrapped = this.wrapped;
+		if (wrapped != null && wrapped.getGeneration() == SpringFacesIntegration.getRefreshGeneration()) {
+			return wrapped.get();
+		}
 		FacesContext facesContext = FacesContext.getCurrentInstance();
 		if (facesContext == null) {
 			// Calls to wrapped instances can occur when there is no faces context if JSF has not yet completely
 			// intialized. We allow these early calls to proceed to the delegate.
-			this.wrapped = null;
 			return this.wrappedAccessor.getWrapped(WrappedAccessType.WRAP);
 		}
-		ExternalContext externalContext = facesContext.getExternalContext();
-		if ((this.wrapped == null)
-				|| (SpringFacesIntegration.isInstalled(externalContext) && (!SpringFacesIntegration
-						.getLastRefreshedDate(externalContext).equals(this.lastRefreshedDate)))) {
-			WrappedAccessType accessType = (this.wrapped == null ? WrappedAccessType.WRAP : WrappedAccessType.REWRAP);
-			if (this.logger.isDebugEnabled()) {
-				this.logger.debug((accessType == WrappedAccessType.WRAP ? "Wrapping " : "Rewrapping ")
-						+ this.wrappedAccessor.getDescription());
-			}
-			this.wrapped = wrap(externalContext, this.wrappedAccessor.getWrapped(accessType));
-			if (SpringFacesIntegration.isInstalled(externalContext)) {
-				this.lastRefreshedDate = SpringFacesIntegration.getLastRefreshedDate(externalContext);
+		synchronized (this.wrapMonitor) {
+			long generation = SpringFacesIntegration.getRefreshGeneration();
+			wrapped = this.wrapped;
+			if (wrapped == null || wrapped.getGeneration() != generation) {
+				WrappedAccessType accessType = (wrapped == null ? WrappedAccessType.WRAP : WrappedAccessType.REWRAP);
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug((accessType == WrappedAccessType.WRAP ? "Wrapping " : "Rewrapping ")
+							+ this.wrappedAccessor.getDescription());
+				}
+				T delegate = this.wrappedAccessor.getWrapped(accessType);
+				wrapped = new Wrapped<T>(generation, wrap(facesContext.getExternalContext(), delegate));
+				this.wrapped = wrapped;
 			}
+			return wrapped.get();
 		}
-		return this.wrapped;
 	}
 
 	/**
-	 * Wrap the specified delegate by consulting all {@link FacesWrapperFactory factories} registered with Spring.
+	 * Wrap the specified delegate by consulting all {@link FacesWrapperFactory factories} registered with Spring. The
+	 * factories are obtained from the {@link FacesWrapperFactoryRegistry} which is rebuilt on each refresh.
 	 * @param externalContext the external context
 	 * @param delegate the root delegate
 	 * @return a wrapped implementation
@@ -159,50 +155,25 @@ class WrapperHandler<T> {
 			return delegate;
 		}
 
-		ApplicationContext applicationContext = SpringFacesIntegration.getCurrentInstance(externalContext)
-				.getApplicationContext();
-
-		List<Map.Entry<String, FacesWrapperFactory>> orderdBeans = new ArrayList<Map.Entry<String, FacesWrapperFactory>>();
-		orderdBeans.addAll(BeanFactoryUtils
-				.beansOfTypeIncludingAncestors(applicationContext, FacesWrapperFactory.class).entrySet());
-		Collections.sort(orderdBeans, new OrderedMapEntryComparator());
+		FacesWrapperFactoryRegistry registry = SpringFacesIntegration.getCurrentInstance(externalContext)
+				.getFacesWrapperFactoryRegistry();
 		T rtn = delegate;
-		for (Map.Entry<String, FacesWrapperFactory> entry : orderdBeans) {
-			FacesWrapperFactory factory = entry.getValue();
-			if (isFactorySupported(factory)) {
-				T wrapper = (T) factory.newWrapper(this.typeClass, rtn);
-				if (wrapper != null) {
-					Assert.isInstanceOf(this.typeClass, wrapper, "FacesWrapperFactory " + entry.getValue()
-							+ " returned incorrect type ");
-					if (this.logger.isDebugEnabled()) {
-						this.logger.debug("Wrapping " + this.typeClass.getSimpleName() + " with " + wrapper.getClass()
-								+ " obtained from FacesWrapperFactory " + entry.getValue());
-					}
-					postProcessWrapper(wrapper);
-					rtn = wrapper;
+		for (FacesWrapperFactory factory : registry.getFactories(this.typeClass)) {
+			T wrapper = (T) factory.newWrapper(this.typeClass, rtn);
+			if (wrapper != null) {
+				Assert.isInstanceOf(this.typeClass, wrapper, "FacesWrapperFactory " + factory
+						+ " returned incorrect type ");
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug("Wrapping " + this.typeClass.getSimpleName() + " with " + wrapper.getClass()
+							+ " obtained from FacesWrapperFactory " + factory);
 				}
+				postProcessWrapper(wrapper);
+				rtn = wrapper;
 			}
 		}
 		return rtn;
 	}
 
-	/**
-	 * Determine if a given {@link FacesWrapperFactory} is suitable by resolving generic arguments.
-	 * @param factory the factory to test
-	 * @return <tt>true</tt> if the <tt>factory</tt> is supported, otherwise <tt>false</tt>
-	 */
-	@SuppressWarnings({ "rawtypes", "unchecked" })
-	private boolean isFactorySupported(FacesWrapperFactory factory) {
-		Class typeArg = GenericTypeResolver.resolveTypeArgument(factory.getClass(), FacesWrapperFactory.class);
-		if (typeArg == null) {
-			Class targetClass = AopUtils.getTargetClass(factory);
-			if (targetClass != factory.getClass()) {
-				typeArg = GenericTypeResolver.resolveTypeArgument(targetClass, FacesWrapperFactory.class);
-			}
-		}
-		return (typeArg == null || typeArg.isAssignableFrom(this.typeClass));
-	}
-
 	/**
 	 * Strategy method called after a wrapped instance has been created. Subclasses can implement custom post-processing
 	 * as required.
@@ -224,13 +195,27 @@ class WrapperHandler<T> {
 	}
 
 	/**
-	 * {@link Comparator} implementation to sort {@link Map.Entry} values by {@link org.springframework.core.Ordered} as
-	 * well as the {@link Order} annotation.
+	 * Immutable holder for a wrapped instance and the {@link SpringFacesIntegration#getRefreshGeneration() refresh
+	 * generation} used when it was created.
+	 * @param <T> the wrapped type
 	 */
-	private static class OrderedMapEntryComparator extends AnnotationAwareOrderComparator {
-		@Override
-		public int compare(Object o1, Object o2) {
-			return super.compare(((Map.Entry<?, ?>) o1).getValue(), ((Map.Entry<?, ?>) o2).getValue());
+	private static final class Wrapped<T> {
+
+		private final long generation;
+
+		private final T wrapped;
+
+		public Wrapped(long generation, T wrapped) {
+			this.generation = generation;
+			this.wrapped = wrapped;
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public T get() {
+			return this.wrapped;
 		}
 	}
 
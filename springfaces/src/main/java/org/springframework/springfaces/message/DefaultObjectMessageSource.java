@@ -15,20 +15,26 @@
  */
 package org.springframework.springfaces.message;
 
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeanUtils;
 import org.springframework.context.MessageSource;
-import org.springframework.context.NoSuchMessageException;
 import org.springframework.context.support.DelegatingMessageSource;
+import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.util.LruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -37,12 +43,46 @@ import org.springframework.util.StringUtils;
  * <p>
  * Parameterized messages are supported by this resolver (see {@link #resolveMessage(Object, Object[], Locale)} for
  * details).
+ * <p>
+ * Codes that cannot be resolved are remembered (per locale) so that subsequent lookups for the same class or enum
+ * constant do not need to consult the parent. Remembered codes are discarded when the application context is
+ * refreshed, when the {@link #setCacheSeconds(int) cache period} expires or when {@link #clearCache()} is called. If
+ * the parent is a reloadable message source the cache period should be set to match that of the parent.
+ * <p>
+ * For performance, messages are parsed only once into {@link MessageTemplate templates}, object properties are read
+ * using accessors that are cached per class and the default {@link #resolveCode(Object, Locale) codes} are cached per
+ * class and enum constant.
  * 
  * @author Phillip Webb
  */
 public class DefaultObjectMessageSource extends DelegatingMessageSource implements ObjectMessageSource {
 
-	private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\{([\\w]+?)\\}");
+	private static final int TEMPLATE_CACHE_SIZE = 512;
+
+	/**
+	 * Parsed templates for each resolved message.
+	 */
+	private final LruCache<String, MessageTemplate> templates = new LruCache<String, MessageTemplate>(
+			TEMPLATE_CACHE_SIZE);
+
+	/**
+	 * Readable property methods for each class.
+	 */
+	private final Map<Class<?>, Map<String, Method>> readMethods = new ConcurrentHashMap<Class<?>, Map<String, Method>>();
+
+	/**
+	 * Default codes for each class, enum constant or boolean value.
+	 */
+	private final Map<Object, String> codes = new ConcurrentHashMap<Object, String>();
+
+	/**
+	 * Codes that could not be resolved, mapped to the time that they were added.
+	 */
+	private final Map<MissingCode, Long> missingCodes = new ConcurrentHashMap<MissingCode, Long>();
+
+	private volatile long cacheGeneration = SpringFacesIntegration.getRefreshGeneration();
+
+	private long cacheMillis = -1;
 
 	/**
 	 * Create a new {@link DefaultObjectMessageSource} instance.
@@ -59,14 +99,51 @@ public class DefaultObjectMessageSource extends DelegatingMessageSource implemen
 		setParentMessageSource(parent);
 	}
 
+	@Override
+	public void setParentMessageSource(MessageSource parent) {
+		super.setParentMessageSource(parent);
+		clearCache();
+	}
+
+	/**
+	 * Set the number of seconds that unresolvable codes are remembered. The default is -1, indicating that codes are
+	 * remembered until the application context is refreshed. A value of 0 disables caching.
+	 * @param cacheSeconds the cache period in seconds
+	 */
+	public void setCacheSeconds(int cacheSeconds) {
+		this.cacheMillis = cacheSeconds * 1000L;
+	}
+
+	/**
+	 * Clear any remembered unresolvable codes. This method should be called whenever the parent message source is
+	 * reloaded.
+	 */
+	public void clearCache() {
+		this.missingCodes.clear();
+	}
+
 	public String getMessage(Object object, Object[] args, Locale locale) throws NoSuchObjectMessageException {
-		String message = getFullyResolvedMessage(object, args, locale, false);
+		String message = findMessage(object, args, locale);
 		if (message == null && object != null) {
 			throw new NoSuchObjectMessageException(object, locale);
 		}
 		return message;
 	}
 
+	/**
+	 * Return a message for the given object or <tt>null</tt> if the object has no message. This method should be
+	 * preferred over {@link #getMessage(Object, Object[], Locale)} when a missing message is an expected outcome.
+	 * @param object the source object
+	 * @param args array of arguments that will be filled in for params within the message (params look like "{0}",
+	 * "{1,date}", "{2,time}" within a message), or <code>null</code> if none.
+	 * @param locale the locale of the message to return
+	 * @return a message for the object or <tt>null</tt>
+	 * @see ObjectMessageSourceUtils#findMessage(ObjectMessageSource, Object, Object[], Locale)
+	 */
+	public String findMessage(Object object, Object[] args, Locale locale) {
+		return getFullyResolvedMessage(object, args, locale, false);
+	}
+
 	/**
 	 * Returns a fully resolved message, includes resolving any message parameters.
 	 * @param object the object to resolve. Can be <tt>null</tt>
@@ -113,18 +190,41 @@ public class DefaultObjectMessageSource extends DelegatingMessageSource implemen
 	 */
 	protected String resolveMessage(Object object, Object[] args, Locale locale) {
 		String code = resolveCode(object, locale);
-		if (code != null) {
-			try {
-				String message = getMessage(code, args, locale);
-				if (!code.equals(message)) {
-					return message;
-				}
-			} catch (NoSuchMessageException e) {
-			}
+		if (code == null) {
+			return null;
+		}
+		MissingCode missingCode = new MissingCode(code, locale);
+		if (isMissing(missingCode)) {
+			return null;
+		}
+		String message = getMessage(code, args, null, locale);
+		if (message != null && !code.equals(message)) {
+			return message;
+		}
+		if (this.cacheMillis != 0) {
+			this.missingCodes.put(missingCode, System.currentTimeMillis());
 		}
 		return null;
 	}
 
+	private boolean isMissing(MissingCode missingCode) {
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		if (this.cacheGeneration != generation) {
+			clearCache();
+			this.cacheGeneration = generation;
+			return false;
+		}
+		Long time = this.missingCodes.get(missingCode);
+		if (time == null) {
+			return false;
+		}
+		if (this.cacheMillis > 0 && System.currentTimeMillis() - time.longValue() > this.cacheMillis) {
+			this.missingCodes.remove(missingCode);
+			return false;
+		}
+		return true;
+	}
+
 	/**
 	 * Resolve the message code for the given object. Objects that are {@link Enum} instances will use the fully
 	 * qualified class name along with the enum name as the code. {@link Boolean} objects will use
@@ -135,13 +235,20 @@ public class DefaultObjectMessageSource extends DelegatingMessageSource implemen
 	 * @return the message code for the object or <tt>null</tt> if the object cannot be resolved
 	 */
 	protected String resolveCode(Object object, Locale locale) {
-		if (Boolean.class.isInstance(object)) {
-			return object.getClass().getName() + "." + (((Boolean) object).booleanValue() ? "TRUE" : "FALSE");
-		}
-		if (Enum.class.isInstance(object)) {
-			return object.getClass().getName() + "." + ((Enum<?>) object).name();
+		boolean constant = Boolean.class.isInstance(object) || Enum.class.isInstance(object);
+		Object key = (constant ? object : object.getClass());
+		String code = this.codes.get(key);
+		if (code == null) {
+			code = object.getClass().getName();
+			if (Boolean.class.isInstance(object)) {
+				code = code + "." + (((Boolean) object).booleanValue() ? "TRUE" : "FALSE");
+			}
+			if (Enum.class.isInstance(object)) {
+				code = code + "." + ((Enum<?>) object).name();
+			}
+			this.codes.put(key, code);
 		}
-		return object.getClass().getName();
+		return code;
 	}
 
 	/**
@@ -153,23 +260,55 @@ public class DefaultObjectMessageSource extends DelegatingMessageSource implemen
 	 * @return a message with all supported parameters expanded
 	 */
 	private String expandParameters(String resolvedMessage, Object object, Object[] args, Locale locale) {
-		Matcher matcher = PARAMETER_PATTERN.matcher(resolvedMessage);
-		StringBuffer sb = new StringBuffer();
-		BeanWrapper bean = new BeanWrapperImpl(object);
-		while (matcher.find()) {
-			String propertyName = matcher.group(1);
-			if (bean.isReadableProperty(propertyName)) {
-				Object propertyValue = bean.getPropertyValue(propertyName);
-				String replacement = (propertyValue == null ? "" : getFullyResolvedMessage(propertyValue, args, locale,
-						true));
-				matcher.appendReplacement(sb, replacement);
+		if (resolvedMessage.indexOf('{') == -1) {
+			return resolvedMessage;
+		}
+		MessageTemplate template = this.templates.get(resolvedMessage);
+		if (template == null) {
+			template = new MessageTemplate(resolvedMessage);
+			this.templates.put(resolvedMessage, template);
+		}
+		if (!template.hasParameters()) {
+			return resolvedMessage;
+		}
+		Map<String, Method> readMethods = getReadMethods(object.getClass());
+		StringBuilder message = new StringBuilder(resolvedMessage.length());
+		for (int i = 0; i < template.size(); i++) {
+			String parameter = template.getParameter(i);
+			Method readMethod = (parameter == null ? null : readMethods.get(parameter));
+			if (readMethod == null) {
+				// Literal text or no property, leave the {variable} intact
+				message.append(template.getText(i));
 			} else {
-				// No property, leave the {variable} intact
-				matcher.appendReplacement(sb, matcher.group(0));
+				Object propertyValue = ReflectionUtils.invokeMethod(readMethod, object);
+				if (propertyValue != null) {
+					message.append(getFullyResolvedMessage(propertyValue, args, locale, true));
+				}
+			}
+		}
+		return message.toString();
+	}
+
+	/**
+	 * Returns the readable property methods for the given class.
+	 * @param type the class
+	 * @return a map of property name to read method
+	 */
+	private Map<String, Method> getReadMethods(Class<?> type) {
+		Map<String, Method> readMethods = this.readMethods.get(type);
+		if (readMethods == null) {
+			readMethods = new HashMap<String, Method>();
+			for (PropertyDescriptor propertyDescriptor : BeanUtils.getPropertyDescriptors(type)) {
+				Method readMethod = propertyDescriptor.getReadMethod();
+				if (readMethod != null) {
+					ReflectionUtils.makeAccessible(readMethod);
+					readMethods.put(propertyDescriptor.getName(), readMethod);
+				}
 			}
+			readMethods = Collections.unmodifiableMap(readMethods);
+			this.readMethods.put(type, readMethods);
 		}
-		matcher.appendTail(sb);
-		return sb.toString();
+		return readMethods;
 	}
 
 	/**
@@ -195,4 +334,106 @@ public class DefaultObjectMessageSource extends DelegatingMessageSource implemen
 		}
 		return object.toString();
 	}
+
+	/**
+	 * A message code and locale that could not be resolved.
+	 */
+	private static class MissingCode {
+
+		private final String code;
+
+		private final Locale locale;
+
+		public MissingCode(String code, Locale locale) {
+			this.code = code;
+			this.locale = locale;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.code.hashCode() * 31 + ObjectUtils.nullSafeHashCode(this.locale);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			MissingCode other = (MissingCode) obj;
+			return this.code.equals(other.code) && ObjectUtils.nullSafeEquals(this.locale, other.locale);
+		}
+	}
+
+	/**
+	 * A message parsed into literal text segments and <tt>{name}</tt> parameter references.
+	 */
+	private static class MessageTemplate {
+
+		private final List<String> text = new ArrayList<String>();
+
+		private final List<String> parameters = new ArrayList<String>();
+
+		private boolean hasParameters;
+
+		public MessageTemplate(String message) {
+			int start = 0;
+			int open = message.indexOf('{');
+			while (open != -1) {
+				int close = MessageParameterUtils.findParameterEnd(message, open);
+				if (close != -1) {
+					add(message.substring(start, open), null);
+					add(message.substring(open, close + 1), message.substring(open + 1, close));
+					this.hasParameters = true;
+					start = close + 1;
+				}
+				open = message.indexOf('{', open + 1);
+			}
+			add(message.substring(start), null);
+		}
+
+		private void add(String text, String parameter) {
+			if (text.length() > 0) {
+				this.text.add(text);
+				this.parameters.add(parameter);
+			}
+		}
+
+		/**
+		 * Returns <tt>true</tt> if the template contains any parameters.
+		 * @return if the template has parameters
+		 */
+		public boolean hasParameters() {
+			return this.hasParameters;
+		}
+
+		/**
+		 * Returns the number of segments in the template.
+		 * @return the number of segments
+		 */
+		public int size() {
+			return this.text.size();
+		}
+
+		/**
+		 * Returns the original text of the segment at the given index.
+		 * @param index the segment index
+		 * @return the segment text
+		 */
+		public String getText(int index) {
+			return this.text.get(index);
+		}
+
+		/**
+		 * Returns the parameter name of the segment at the given index or <tt>null</tt> if the segment is literal
+		 * text.
+		 * @param index the segment index
+		 * @return the parameter name or <tt>null</tt>
+		 */
+		public String getParameter(int index) {
+			return this.parameters.get(index);
+		}
+	}
 }
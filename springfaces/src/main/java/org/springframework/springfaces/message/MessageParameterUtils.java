@@ -0,0 +1,67 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.message;
+
+/**
+ * Miscellaneous utility methods for working with <tt>{name}</tt> style message parameters.
+ * 
+ * @author Phillip Webb
+ */
+public abstract class MessageParameterUtils {
+
+	/**
+	 * Returns the index of the closing <tt>'}'</tt> of the parameter that opens at the specified index or <tt>-1</tt>
+	 * if the <tt>'{'</tt> at that index does not start a valid parameter. Parameter names must be at least one
+	 * character long and can only contain letters, digits and underscores.
+	 * @param message the message
+	 * @param open the index of the opening <tt>'{'</tt>
+	 * @return the index of the closing <tt>'}'</tt> or <tt>-1</tt>
+	 */
+	public static int findParameterEnd(String message, int open) {
+		int close = open + 1;
+		while (close < message.length() && isParameterCharacter(message.charAt(close))) {
+			close++;
+		}
+		if (close > open + 1 && close < message.length() && message.charAt(close) == '}') {
+			return close;
+		}
+		return -1;
+	}
+
+	/**
+	 * Count the number of <tt>{name}</tt> parameters in the given message.
+	 * @param message the message (can be <tt>null</tt>)
+	 * @return the number of parameters
+	 */
+	public static int countParameters(String message) {
+		if (message == null) {
+			return 0;
+		}
+		int count = 0;
+		int open = message.indexOf('{');
+		while (open != -1) {
+			if (findParameterEnd(message, open) != -1) {
+				count++;
+			}
+			open = message.indexOf('{', open + 1);
+		}
+		return count;
+	}
+
+	private static boolean isParameterCharacter(char ch) {
+		return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+	}
+}
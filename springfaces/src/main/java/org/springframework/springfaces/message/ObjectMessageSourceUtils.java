@@ -15,6 +15,8 @@
  */
 package org.springframework.springfaces.message;
 
+import java.util.Locale;
+
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.context.support.AbstractApplicationContext;
@@ -60,6 +62,29 @@ public abstract class ObjectMessageSourceUtils {
 		return new DefaultObjectMessageSource(messageSource);
 	}
 
+	/**
+	 * Return a message for the given object or <tt>null</tt> if the object has no message. When the
+	 * <tt>messageSource</tt> is a {@link DefaultObjectMessageSource} the message is found without raising an exception,
+	 * otherwise any {@link NoSuchObjectMessageException} is caught.
+	 * @param messageSource the message source
+	 * @param object the source object
+	 * @param args array of arguments that will be filled in for params within the message, or <code>null</code> if
+	 * none.
+	 * @param locale the locale of the message to return
+	 * @return a message for the object or <tt>null</tt>
+	 */
+	public static String findMessage(ObjectMessageSource messageSource, Object object, Object[] args, Locale locale) {
+		Assert.notNull(messageSource, "MessageSource must not be null");
+		if (messageSource instanceof DefaultObjectMessageSource) {
+			return ((DefaultObjectMessageSource) messageSource).findMessage(object, args, locale);
+		}
+		try {
+			return messageSource.getMessage(object, args, locale);
+		} catch (NoSuchObjectMessageException e) {
+			return null;
+		}
+	}
+
 	/**
 	 * Get a {@link MessageSource} for the given {@link ApplicationContext}. This method will attempt to access the
 	 * message source bean directly so that it can be cast to an {@link ObjectMessageSource} instance. If the message
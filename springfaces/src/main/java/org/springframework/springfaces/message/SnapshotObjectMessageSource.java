@@ -0,0 +1,340 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.message;
+
+import java.io.IOException;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.Assert;
+
+/**
+ * Extension of {@link DefaultObjectMessageSource} that takes an immutable snapshot of all messages defined in a set of
+ * {@link #setBasenames(String[]) basenames} for a set of {@link #setLocales(Locale[]) locales}. Messages contained in
+ * the snapshot are served directly from an open-addressing hash table of pre-parsed {@link MessageFormat}s, any other
+ * messages fall back to the live parent {@link MessageSource}.
+ * <p>
+ * The basenames are used only to discover message codes and should usually be the same as those of the parent (for
+ * example a {@link org.springframework.context.support.ReloadableResourceBundleMessageSource
+ * ReloadableResourceBundleMessageSource}). Messages themselves are always obtained from the parent so locale fallback
+ * rules are retained. The snapshot is taken each time the application context is refreshed, or can be retaken at any
+ * time by calling {@link #snapshot()}. Messages are formatted following the rules of
+ * {@link org.springframework.context.support.AbstractMessageSource AbstractMessageSource} with
+ * <tt>alwaysUseMessageFormat</tt> set to <tt>false</tt>.
+ * <p>
+ * This message source is best suited to pages that resolve many messages per request. When a
+ * {@link MessageSourceResolvable} is resolved its codes are checked in order, any code that is not in the snapshot is
+ * looked up in the parent before a later code is considered. Codes should therefore be defined in the basenames to
+ * gain the most benefit.
+ * 
+ * @author Phillip Webb
+ * @see #snapshot()
+ */
+public class SnapshotObjectMessageSource extends DefaultObjectMessageSource implements ApplicationContextAware,
+		ApplicationListener<ContextRefreshedEvent> {
+
+	private static final Log logger = LogFactory.getLog(SnapshotObjectMessageSource.class);
+
+	private static final String PROPERTIES_SUFFIX = ".properties";
+
+	private ApplicationContext applicationContext;
+
+	private ResourceLoader resourceLoader = new DefaultResourceLoader();
+
+	private String[] basenames = {};
+
+	private Locale[] locales = { Locale.getDefault() };
+
+	private volatile Map<Locale, SnapshotTable> snapshot = Collections.emptyMap();
+
+	/**
+	 * Create a new {@link SnapshotObjectMessageSource} instance.
+	 */
+	public SnapshotObjectMessageSource() {
+	}
+
+	/**
+	 * Create a new {@link SnapshotObjectMessageSource} instance with the specified parent.
+	 * @param parent the parent message source.
+	 */
+	public SnapshotObjectMessageSource(MessageSource parent) {
+		super(parent);
+	}
+
+	public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
+		this.applicationContext = applicationContext;
+		this.resourceLoader = applicationContext;
+	}
+
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		if (event.getApplicationContext() == this.applicationContext) {
+			snapshot();
+		}
+	}
+
+	/**
+	 * Set the basenames used to discover message codes, following the same conventions as
+	 * {@link org.springframework.context.support.ReloadableResourceBundleMessageSource#setBasenames(String[])
+	 * ReloadableResourceBundleMessageSource}.
+	 * @param basenames the basenames
+	 */
+	public void setBasenames(String... basenames) {
+		Assert.notNull(basenames, "Basenames must not be null");
+		this.basenames = basenames;
+	}
+
+	/**
+	 * Set the locales that should be included in the snapshot. Defaults to the default locale of the JVM.
+	 * @param locales the locales
+	 */
+	public void setLocales(Locale... locales) {
+		Assert.notNull(locales, "Locales must not be null");
+		this.locales = locales;
+	}
+
+	/**
+	 * Take a new snapshot of all messages, replacing any existing snapshot. This method should be called whenever the
+	 * parent message source is reloaded.
+	 */
+	public void snapshot() {
+		long startTime = System.currentTimeMillis();
+		Set<String> codes = collectCodes();
+		Map<Locale, SnapshotTable> snapshot = new HashMap<Locale, SnapshotTable>();
+		for (Locale locale : this.locales) {
+			snapshot.put(locale, new SnapshotTable(collectEntries(codes, locale)));
+		}
+		this.snapshot = snapshot;
+		clearCache();
+		if (logger.isInfoEnabled()) {
+			logger.info("Snapshot of " + codes.size() + " message codes for " + this.locales.length + " locales taken in "
+					+ (System.currentTimeMillis() - startTime) + " ms");
+		}
+	}
+
+	private Set<String> collectCodes() {
+		Set<String> codes = new LinkedHashSet<String>();
+		for (String basename : this.basenames) {
+			for (Locale locale : this.locales) {
+				for (String filename : getFilenames(basename, locale)) {
+					Resource resource = this.resourceLoader.getResource(filename + PROPERTIES_SUFFIX);
+					if (resource.exists()) {
+						try {
+							for (Object code : PropertiesLoaderUtils.loadProperties(resource).keySet()) {
+								codes.add((String) code);
+							}
+						} catch (IOException e) {
+							if (logger.isWarnEnabled()) {
+								logger.warn("Unable to load " + resource + " for message snapshot", e);
+							}
+						}
+					}
+				}
+			}
+		}
+		return codes;
+	}
+
+	private List<String> getFilenames(String basename, Locale locale) {
+		List<String> filenames = new ArrayList<String>();
+		filenames.add(basename);
+		StringBuilder filename = new StringBuilder(basename);
+		if (locale.getLanguage().length() > 0) {
+			filename.append('_').append(locale.getLanguage());
+			filenames.add(filename.toString());
+		}
+		if (locale.getCountry().length() > 0) {
+			filename.append('_').append(locale.getCountry());
+			filenames.add(filename.toString());
+		}
+		if (locale.getVariant().length() > 0) {
+			filename.append('_').append(locale.getVariant());
+			filenames.add(filename.toString());
+		}
+		return filenames;
+	}
+
+	private Map<String, SnapshotEntry> collectEntries(Set<String> codes, Locale locale) {
+		Map<String, SnapshotEntry> entries = new HashMap<String, SnapshotEntry>();
+		MessageSource parent = getParentMessageSource();
+		if (parent != null) {
+			for (String code : codes) {
+				String message = parent.getMessage(code, null, null, locale);
+				if (message != null && !message.equals(code)) {
+					try {
+						entries.put(code, new SnapshotEntry(message, locale));
+					} catch (IllegalArgumentException e) {
+						// Invalid message format, leave for the parent to report
+					}
+				}
+			}
+		}
+		return entries;
+	}
+
+	@Override
+	public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+		String message = getSnapshotMessage(code, args, locale);
+		return (message != null ? message : super.getMessage(code, args, defaultMessage, locale));
+	}
+
+	@Override
+	public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+		String message = getSnapshotMessage(code, args, locale);
+		return (message != null ? message : super.getMessage(code, args, locale));
+	}
+
+	@Override
+	public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+		String[] codes = resolvable.getCodes();
+		Object[] args = resolvable.getArguments();
+		if (codes != null && isSupportedArguments(args)) {
+			for (String code : codes) {
+				String message = getSnapshotMessage(code, args, locale);
+				if (message == null && code != null) {
+					// Earlier codes must win even if they are only defined in the parent
+					message = super.getMessage(code, args, null, locale);
+					message = (code.equals(message) ? null : message);
+				}
+				if (message != null) {
+					return message;
+				}
+			}
+		}
+		return super.getMessage(resolvable, locale);
+	}
+
+	/**
+	 * Returns a message from the snapshot or <tt>null</tt> if the snapshot cannot be used.
+	 * @param code the message code
+	 * @param args the message arguments
+	 * @param locale the locale
+	 * @return the message or <tt>null</tt>
+	 */
+	private String getSnapshotMessage(String code, Object[] args, Locale locale) {
+		if (code == null || locale == null || !isSupportedArguments(args)) {
+			return null;
+		}
+		SnapshotTable table = this.snapshot.get(locale);
+		SnapshotEntry entry = (table == null ? null : table.get(code));
+		return (entry == null ? null : entry.format(args));
+	}
+
+	private boolean isSupportedArguments(Object[] args) {
+		if (args != null) {
+			for (Object arg : args) {
+				if (arg instanceof MessageSourceResolvable) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A single pre-parsed message.
+	 */
+	private static class SnapshotEntry {
+
+		private final String message;
+
+		private final MessageFormat messageFormat;
+
+		public SnapshotEntry(String message, Locale locale) {
+			this.message = message;
+			boolean plain = message.indexOf('{') == -1 && message.indexOf('\'') == -1;
+			this.messageFormat = (plain ? null : new MessageFormat(message, locale));
+		}
+
+		public String format(Object[] args) {
+			if (args == null || args.length == 0 || this.messageFormat == null) {
+				return this.message;
+			}
+			synchronized (this.messageFormat) {
+				return this.messageFormat.format(args);
+			}
+		}
+	}
+
+	/**
+	 * Immutable open-addressing (linear probing) hash table of message codes to {@link SnapshotEntry entries}.
+	 */
+	private static class SnapshotTable {
+
+		private final String[] codes;
+
+		private final SnapshotEntry[] entries;
+
+		private final int mask;
+
+		public SnapshotTable(Map<String, SnapshotEntry> entries) {
+			int capacity = 1;
+			while (capacity < entries.size() * 2) {
+				capacity <<= 1;
+			}
+			this.codes = new String[capacity];
+			this.entries = new SnapshotEntry[capacity];
+			this.mask = capacity - 1;
+			for (Map.Entry<String, SnapshotEntry> entry : entries.entrySet()) {
+				int index = indexFor(entry.getKey());
+				while (this.codes[index] != null) {
+					index = (index + 1) & this.mask;
+				}
+				this.codes[index] = entry.getKey();
+				this.entries[index] = entry.getValue();
+			}
+		}
+
+		private int indexFor(String code) {
+			int hash = code.hashCode();
+			hash ^= (hash >>> 16);
+			return hash & this.mask;
+		}
+
+		public SnapshotEntry get(String code) {
+			int index = indexFor(code);
+			String candidate = this.codes[index];
+			while (candidate != null) {
+				if (candidate.equals(code)) {
+					return this.entries[index];
+				}
+				index = (index + 1) & this.mask;
+				candidate = this.codes[index];
+			}
+			return null;
+		}
+	}
+}
@@ -19,17 +19,18 @@ import java.util.AbstractMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.NoSuchMessageException;
 import org.springframework.core.style.ToStringCreator;
-import org.springframework.springfaces.message.NoSuchObjectMessageException;
+import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.message.MessageParameterUtils;
 import org.springframework.springfaces.message.ObjectMessageSource;
+import org.springframework.springfaces.message.ObjectMessageSourceUtils;
 import org.springframework.util.Assert;
-import org.springframework.util.StringUtils;
+import org.springframework.util.ObjectUtils;
 
 /**
  * Exposes a {@link MessageSource} as a read-only {@link Map} allowing EL expressions to easily resolve messages.
@@ -45,6 +46,13 @@ import org.springframework.util.StringUtils;
  * <tt>#{messages[someObject]}</tt> will resolve <tt>someObject</tt> using the
  * {@link ObjectMessageSource#getMessage(Object, Object[], Locale)} method.
  * <p>
+ * When {@link #returnStringsWhenPossible() returning strings when possible} the number of placeholders in each
+ * message is cached (per code and locale) so that messages only need to be resolved once. The cache is cleared when
+ * the application context is {@link SpringFacesIntegration#getRefreshGeneration() refreshed}. Since the count is held
+ * against the code rather than the message text, a reloadable <tt>messageSource</tt> that changes the number of
+ * placeholders in a message will not be reflected until the next refresh; override
+ * {@link #isPlaceholderCountCached()} to return <tt>false</tt> if this is a concern.
+ * <p>
  * NOTE: Only the {@link #get(Object) get} method can be used on this {@link Map}, all other calls will throw an
  * {@link UnsupportedOperationException}.
  * 
@@ -57,8 +65,6 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 
 	private static final String[] NO_PREFIX_CODES = {};
 
-	private static final Pattern PARAMETER_PATTERN = Pattern.compile("\\{([\\w]+?)\\}");
-
 	/**
 	 * The message source used to resolve messages.
 	 */
@@ -69,6 +75,13 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 	 */
 	private String[] prefixCodes;
 
+	/**
+	 * The number of placeholders in each message code, used when {@link #returnStringsWhenPossible()}.
+	 */
+	private final Map<PlaceholderCountKey, Integer> placeholderCounts = new ConcurrentHashMap<PlaceholderCountKey, Integer>();
+
+	private volatile long placeholderCountsGeneration = SpringFacesIntegration.getRefreshGeneration();
+
 	/**
 	 * Create a new MessageSourceMap
 	 * @param messageSource a non-null message source
@@ -104,9 +117,10 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 	 */
 	protected Object resolveMessageArgument(Object argument) {
 		if (this.messageSource instanceof ObjectMessageSource) {
-			try {
-				return ((ObjectMessageSource) this.messageSource).getMessage(argument, NO_ARGUMENTS, getLocale());
-			} catch (NoSuchObjectMessageException e) {
+			String message = ObjectMessageSourceUtils.findMessage((ObjectMessageSource) this.messageSource, argument,
+					NO_ARGUMENTS, getLocale());
+			if (message != null) {
+				return message;
 			}
 		}
 		return argument;
@@ -131,13 +145,24 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 		return false;
 	}
 
+	/**
+	 * Indicates if the number of placeholders in a message should be cached against the message code when
+	 * {@link #returnStringsWhenPossible() returning strings when possible}. Subclasses can return <tt>false</tt> if the
+	 * underlying message source reloads messages and the number of placeholders may change.
+	 * @return <tt>true</tt> if placeholder counts should be cached
+	 */
+	protected boolean isPlaceholderCountCached() {
+		return true;
+	}
+
 	@Override
 	public Object get(Object key) {
 		if (key == null) {
 			return null;
 		}
 		if (key instanceof String) {
-			return new MessageCodeValue((String) key, NO_ARGUMENTS).getReturnValue();
+			return new MessageCodeValue((String) key, buildPrefixedCodes((String) key), NO_ARGUMENTS)
+					.getReturnValue();
 		}
 		if (this.messageSource instanceof ObjectMessageSource) {
 			return new ObjectMessageValue(key, NO_ARGUMENTS).getReturnValue();
@@ -166,6 +191,26 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 		throw new UnsupportedOperationException();
 	}
 
+	private String[] buildPrefixedCodes(String code) {
+		if (this.prefixCodes.length == 0) {
+			return new String[] { code };
+		}
+		String[] codes = new String[this.prefixCodes.length];
+		for (int i = 0; i < codes.length; i++) {
+			codes[i] = this.prefixCodes[i] == null ? code : this.prefixCodes[i].concat(code);
+		}
+		return codes;
+	}
+
+	private Map<PlaceholderCountKey, Integer> getPlaceholderCounts() {
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		if (this.placeholderCountsGeneration != generation) {
+			this.placeholderCounts.clear();
+			this.placeholderCountsGeneration = generation;
+		}
+		return this.placeholderCounts;
+	}
+
 	@Override
 	public String toString() {
 		return new ToStringCreator(this).append("messageSource", this.messageSource)
@@ -187,9 +232,20 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 
 		@Override
 		public Object get(Object key) {
-			Object[] childArguments = new Object[this.arguments.length + 1];
-			System.arraycopy(this.arguments, 0, childArguments, 0, this.arguments.length);
-			childArguments[childArguments.length - 1] = resolveMessageArgument(key);
+			Object argument = resolveMessageArgument(key);
+			Object[] childArguments;
+			switch (this.arguments.length) {
+			case 0:
+				childArguments = new Object[] { argument };
+				break;
+			case 1:
+				childArguments = new Object[] { this.arguments[0], argument };
+				break;
+			default:
+				childArguments = new Object[this.arguments.length + 1];
+				System.arraycopy(this.arguments, 0, childArguments, 0, this.arguments.length);
+				childArguments[childArguments.length - 1] = argument;
+			}
 			return createNestedValue(childArguments).getReturnValue();
 		}
 
@@ -222,16 +278,16 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 		}
 
 		private boolean hasCorrentNumberOfArguments() {
-			String messageWithPlaceHolders = toStringWithPlaceholders();
-			if (!StringUtils.hasLength(messageWithPlaceHolders)) {
-				return getArguments().length == 0;
-			}
-			Matcher matcher = PARAMETER_PATTERN.matcher(messageWithPlaceHolders);
-			int numberOfParameters = 0;
-			while (matcher.find()) {
-				numberOfParameters++;
-			}
-			return getArguments().length == numberOfParameters;
+			return getArguments().length == getNumberOfPlaceholders();
+		}
+
+		/**
+		 * Returns the number of placeholders contained in the message. By default this method counts the
+		 * placeholders from {@link #toStringWithPlaceholders()}.
+		 * @return the number of placeholders
+		 */
+		protected int getNumberOfPlaceholders() {
+			return MessageParameterUtils.countParameters(toStringWithPlaceholders());
 		}
 	}
 
@@ -243,27 +299,30 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 		private String code;
 		private String[] codes;
 
-		public MessageCodeValue(String code, Object[] arguments) {
+		public MessageCodeValue(String code, String[] codes, Object[] arguments) {
 			super(arguments);
 			this.code = code;
-			this.codes = buildPrefixedCodes(code);
+			this.codes = codes;
 		}
 
-		private String[] buildPrefixedCodes(String code) {
-			if (MessageSourceMap.this.prefixCodes.length == 0) {
-				return new String[] { code };
-			}
-			String[] codes = new String[MessageSourceMap.this.prefixCodes.length];
-			System.arraycopy(MessageSourceMap.this.prefixCodes, 0, codes, 0, MessageSourceMap.this.prefixCodes.length);
-			for (int i = 0; i < codes.length; i++) {
-				codes[i] = codes[i] == null ? code : codes[i].concat(code);
-			}
-			return codes;
+		@Override
+		protected AbstractValue createNestedValue(Object[] childArguments) {
+			return new MessageCodeValue(this.code, this.codes, childArguments);
 		}
 
 		@Override
-		protected AbstractValue createNestedValue(Object[] childArguments) {
-			return new MessageCodeValue(this.code, childArguments);
+		protected int getNumberOfPlaceholders() {
+			if (!isPlaceholderCountCached()) {
+				return super.getNumberOfPlaceholders();
+			}
+			Map<PlaceholderCountKey, Integer> placeholderCounts = getPlaceholderCounts();
+			PlaceholderCountKey key = new PlaceholderCountKey(this.code, getLocale());
+			Integer count = placeholderCounts.get(key);
+			if (count == null) {
+				count = super.getNumberOfPlaceholders();
+				placeholderCounts.put(key, count);
+			}
+			return count.intValue();
 		}
 
 		public String[] getCodes() {
@@ -333,22 +392,48 @@ public class MessageSourceMap extends AbstractMap<Object, Object> {
 
 		@Override
 		public String toString() {
-			try {
-				return ((ObjectMessageSource) MessageSourceMap.this.messageSource).getMessage(this.object,
-						getArguments(), getLocale());
-			} catch (NoSuchObjectMessageException e) {
-				return String.valueOf(this.object);
-			}
+			String message = ObjectMessageSourceUtils.findMessage(
+					(ObjectMessageSource) MessageSourceMap.this.messageSource, this.object, getArguments(), getLocale());
+			return (message == null ? String.valueOf(this.object) : message);
 		}
 
 		@Override
 		protected String toStringWithPlaceholders() {
-			try {
-				return ((ObjectMessageSource) MessageSourceMap.this.messageSource).getMessage(this.object,
-						NO_ARGUMENTS, getLocale());
-			} catch (NoSuchObjectMessageException e) {
-				return null;
+			return ObjectMessageSourceUtils.findMessage((ObjectMessageSource) MessageSourceMap.this.messageSource,
+					this.object, NO_ARGUMENTS, getLocale());
+		}
+	}
+
+	/**
+	 * Key used to cache the number of placeholders for a message code and locale. Prefixes are not included in the key
+	 * as they are fixed for the map.
+	 */
+	private static class PlaceholderCountKey {
+
+		private final String code;
+
+		private final Locale locale;
+
+		public PlaceholderCountKey(String code, Locale locale) {
+			this.code = code;
+			this.locale = locale;
+		}
+
+		@Override
+		public int hashCode() {
+			return this.code.hashCode() * 31 + ObjectUtils.nullSafeHashCode(this.locale);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
 			}
+			PlaceholderCountKey other = (PlaceholderCountKey) obj;
+			return this.code.equals(other.code) && ObjectUtils.nullSafeEquals(this.locale, other.locale);
 		}
 	}
 }
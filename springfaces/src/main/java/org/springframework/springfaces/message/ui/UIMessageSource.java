@@ -16,6 +16,8 @@
 package org.springframework.springfaces.message.ui;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
@@ -40,6 +42,7 @@ import org.springframework.springfaces.SpringFacesIntegration;
 import org.springframework.springfaces.message.ObjectMessageSource;
 import org.springframework.springfaces.message.ObjectMessageSourceUtils;
 import org.springframework.springfaces.util.FacesUtils;
+import org.springframework.springfaces.util.LruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -64,6 +67,12 @@ import org.springframework.util.StringUtils;
  * By default this component will attempt to deduce when a return value should be a <tt>String</tt> and when it should
  * be a nested map. This behavior can be changed using the {@link #setReturnStringsWhenPossible(boolean)
  * returnStringsWhenPossible} attribute.
+ * <p>
+ * Prefix codes built from view IDs and resolved {@link ObjectMessageSource}s are cached. When running in the
+ * {@link ProjectStage#Production production} project stage the {@link MessageSourceMap}s themselves are also cached
+ * and reused across requests. Caches that reference message sources are held in the JSF application map so that they
+ * do not outlive the web application, and are replaced when the application context is
+ * {@link SpringFacesIntegration#getRefreshGeneration() refreshed}.
  * 
  * @author Phillip Webb
  * @see MessageSourceMap
@@ -78,6 +87,24 @@ public class UIMessageSource extends UIComponentBase {
 
 	private static final String WEB_INF = "WEB-INF";
 
+	private static final int CACHE_SIZE = 256;
+
+	/**
+	 * Prefix codes built for each view ID.
+	 */
+	private static final LruCache<String, String> viewPrefixCodes = new LruCache<String, String>(CACHE_SIZE);
+
+	/**
+	 * Prefix codes parsed from each defined prefix.
+	 */
+	private static final LruCache<String, List<String>> definedPrefixCodes = new LruCache<String, List<String>>(
+			CACHE_SIZE);
+
+	/**
+	 * The application map attribute used to hold {@link MessageSourceCaches}.
+	 */
+	private static final String CACHES_ATTRIBUTE = UIMessageSource.class.getName() + ".CACHES";
+
 	@Override
 	public String getFamily() {
 		return COMPONENT_FAMILY;
@@ -102,21 +129,62 @@ public class UIMessageSource extends UIComponentBase {
 	}
 
 	/**
-	 * Create a new {@link MessageSourceMap}.
+	 * Create a new {@link MessageSourceMap} or, when in production, return a previously created instance with the same
+	 * configuration.
 	 * @param context the faces context
 	 * @return a {@link MessageSourceMap} instance
 	 */
 	private MessageSourceMap createMessageSourceMap(final FacesContext context) {
+		MessageSourceCaches caches = getCaches(context);
 		Set<String> prefixCodes = getPrefixCodes(context);
+		ObjectMessageSource objectMessageSource = getObjectMessageSource(context, caches);
+		String[] prefixCodesArray = prefixCodes.toArray(new String[prefixCodes.size()]);
+		boolean returnStringsWhenPossible = isReturnStringsWhenPossible();
+		if (!context.isProjectStage(ProjectStage.Production)) {
+			// Messages are reported against this component so the map cannot be shared
+			return new UIMessageSourceMap(this, objectMessageSource, prefixCodesArray, returnStringsWhenPossible);
+		}
+		MessageSourceMapKey key = new MessageSourceMapKey(objectMessageSource, prefixCodesArray,
+				returnStringsWhenPossible);
+		MessageSourceMap messageSourceMap = caches.getMessageSourceMaps().get(key);
+		if (messageSourceMap == null) {
+			messageSourceMap = new UIMessageSourceMap(null, objectMessageSource, prefixCodesArray,
+					returnStringsWhenPossible);
+			caches.getMessageSourceMaps().put(key, messageSourceMap);
+		}
+		return messageSourceMap;
+	}
+
+	/**
+	 * Returns the {@link MessageSourceCaches} held in the application map, replacing them if the application context
+	 * has been refreshed.
+	 * @param context the faces context
+	 * @return the caches
+	 */
+	private MessageSourceCaches getCaches(FacesContext context) {
+		Map<String, Object> applicationMap = context.getExternalContext().getApplicationMap();
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		MessageSourceCaches caches = (MessageSourceCaches) applicationMap.get(CACHES_ATTRIBUTE);
+		if (caches == null || caches.getGeneration() != generation) {
+			caches = new MessageSourceCaches(generation);
+			applicationMap.put(CACHES_ATTRIBUTE, caches);
+		}
+		return caches;
+	}
+
+	private ObjectMessageSource getObjectMessageSource(FacesContext context, MessageSourceCaches caches) {
 		MessageSource messageSource = getSource();
-		ApplicationContext applicationContext = getApplicationContext(context);
+		ApplicationContext applicationContext = (messageSource == null ? getApplicationContext(context) : null);
 		Assert.state(((applicationContext != null) || (messageSource != null)),
 				"Unable to find MessageSource, ensure that SpringFaces intergation "
 						+ "is enabled or set the 'source' attribute");
-		ObjectMessageSource objectMessageSource = ObjectMessageSourceUtils.getObjectMessageSource(messageSource,
-				applicationContext);
-		return new UIMessageSourceMap(context, objectMessageSource,
-				prefixCodes.toArray(new String[prefixCodes.size()]), isReturnStringsWhenPossible());
+		Object key = (messageSource == null ? applicationContext : messageSource);
+		ObjectMessageSource objectMessageSource = caches.getObjectMessageSources().get(key);
+		if (objectMessageSource == null) {
+			objectMessageSource = ObjectMessageSourceUtils.getObjectMessageSource(messageSource, applicationContext);
+			caches.getObjectMessageSources().put(key, objectMessageSource);
+		}
+		return objectMessageSource;
 	}
 
 	private ApplicationContext getApplicationContext(FacesContext context) {
@@ -148,11 +216,16 @@ public class UIMessageSource extends UIComponentBase {
 	}
 
 	private List<String> getDefinedPrefixCodes(String definedPrefix) {
-		List<String> codes = new ArrayList<String>();
-		for (String code : StringUtils.commaDelimitedListToStringArray(definedPrefix)) {
-			if (StringUtils.hasLength(code)) {
-				codes.add(ensureEndsWithDot(code.trim()));
+		List<String> codes = definedPrefixCodes.get(definedPrefix);
+		if (codes == null) {
+			codes = new ArrayList<String>();
+			for (String code : StringUtils.commaDelimitedListToStringArray(definedPrefix)) {
+				if (StringUtils.hasLength(code)) {
+					codes.add(ensureEndsWithDot(code.trim()));
+				}
 			}
+			codes = Collections.unmodifiableList(codes);
+			definedPrefixCodes.put(definedPrefix, codes);
 		}
 		return codes;
 	}
@@ -165,7 +238,17 @@ public class UIMessageSource extends UIComponentBase {
 	private String buildPrefixCodeFromViewRoot(FacesContext context) {
 		Assert.state(context.getViewRoot() != null, "Unable to build message prefix from null viewRoot");
 		Assert.state(context.getViewRoot().getViewId() != null, "Unable to build message prefix from null viewRoot ID");
-		String code = context.getViewRoot().getViewId();
+		String viewId = context.getViewRoot().getViewId();
+		String code = viewPrefixCodes.get(viewId);
+		if (code == null) {
+			code = buildPrefixCode(viewId);
+			viewPrefixCodes.put(viewId, code);
+		}
+		return code;
+	}
+
+	private String buildPrefixCode(String viewId) {
+		String code = viewId;
 		code = removePrefix(code, SLASH);
 		code = removePrefix(code, WEB_INF);
 		code = removePrefix(code, SLASH);
@@ -290,27 +373,36 @@ public class UIMessageSource extends UIComponentBase {
 		source, var, prefix, returnStringsWhenPossible, prefixOptional
 	}
 
-	private class UIMessageSourceMap extends MessageSourceMap {
+	private static class UIMessageSourceMap extends MessageSourceMap {
 
-		private FacesContext context;
+		private UIMessageSource component;
 
 		private boolean returnStringsWhenPossible;
 
-		public UIMessageSourceMap(FacesContext context, MessageSource messageSource, String[] prefixCodes,
+		/**
+		 * Create a new {@link UIMessageSourceMap}.
+		 * @param component the component used to report missing messages or <tt>null</tt> if missing messages should
+		 * always throw an exception
+		 * @param messageSource the message source
+		 * @param prefixCodes the prefix codes
+		 * @param returnStringsWhenPossible if strings should be returned when possible
+		 */
+		public UIMessageSourceMap(UIMessageSource component, MessageSource messageSource, String[] prefixCodes,
 				boolean returnStringsWhenPossible) {
 			super(messageSource, prefixCodes);
-			this.context = context;
+			this.component = component;
 			this.returnStringsWhenPossible = returnStringsWhenPossible;
 		}
 
 		@Override
 		protected Locale getLocale() {
-			return FacesUtils.getLocale(this.context);
+			return FacesUtils.getLocale(FacesContext.getCurrentInstance());
 		}
 
 		@Override
 		protected void handleNoSuchMessageException(MessageSourceResolvable resolvable, NoSuchMessageException exception) {
-			if (this.context.isProjectStage(ProjectStage.Production)) {
+			FacesContext context = FacesContext.getCurrentInstance();
+			if (this.component == null || context.isProjectStage(ProjectStage.Production)) {
 				throw exception;
 			}
 			String message = exception.getMessage();
@@ -319,12 +411,12 @@ public class UIMessageSource extends UIComponentBase {
 				message = message + " Attempted to resolve message with the following codes '"
 						+ StringUtils.arrayToDelimitedString(codes, ", ") + "'";
 			}
-			if (UIMessageSource.this.logger.isWarnEnabled()) {
-				UIMessageSource.this.logger.warn(message, exception);
+			if (this.component.logger.isWarnEnabled()) {
+				this.component.logger.warn(message, exception);
 			}
 			FacesMessage facesMessage = new FacesMessage(message);
 			facesMessage.setSeverity(FacesMessage.SEVERITY_WARN);
-			this.context.addMessage(UIMessageSource.this.getClientId(this.context), facesMessage);
+			context.addMessage(this.component.getClientId(context), facesMessage);
 		}
 
 		@Override
@@ -332,4 +424,80 @@ public class UIMessageSource extends UIComponentBase {
 			return this.returnStringsWhenPossible;
 		}
 	}
+
+	/**
+	 * Caches that reference message sources, held in the JSF application map for a single refresh generation.
+	 */
+	private static class MessageSourceCaches {
+
+		private final long generation;
+
+		/**
+		 * {@link ObjectMessageSource}s resolved for each message source or application context.
+		 */
+		private final LruCache<Object, ObjectMessageSource> objectMessageSources = new LruCache<Object, ObjectMessageSource>(
+				CACHE_SIZE);
+
+		/**
+		 * Reusable {@link MessageSourceMap}s, only used in the production project stage.
+		 */
+		private final LruCache<MessageSourceMapKey, MessageSourceMap> messageSourceMaps = new LruCache<MessageSourceMapKey, MessageSourceMap>(
+				CACHE_SIZE);
+
+		public MessageSourceCaches(long generation) {
+			this.generation = generation;
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public LruCache<Object, ObjectMessageSource> getObjectMessageSources() {
+			return this.objectMessageSources;
+		}
+
+		public LruCache<MessageSourceMapKey, MessageSourceMap> getMessageSourceMaps() {
+			return this.messageSourceMaps;
+		}
+	}
+
+	/**
+	 * Key used to cache {@link MessageSourceMap}s.
+	 */
+	private static class MessageSourceMapKey {
+
+		private final ObjectMessageSource messageSource;
+
+		private final String[] prefixCodes;
+
+		private final boolean returnStringsWhenPossible;
+
+		public MessageSourceMapKey(ObjectMessageSource messageSource, String[] prefixCodes,
+				boolean returnStringsWhenPossible) {
+			this.messageSource = messageSource;
+			this.prefixCodes = prefixCodes;
+			this.returnStringsWhenPossible = returnStringsWhenPossible;
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = System.identityHashCode(this.messageSource);
+			hashCode = 31 * hashCode + Arrays.hashCode(this.prefixCodes);
+			hashCode = 31 * hashCode + (this.returnStringsWhenPossible ? 1 : 0);
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			MessageSourceMapKey other = (MessageSourceMapKey) obj;
+			return this.messageSource == other.messageSource && Arrays.equals(this.prefixCodes, other.prefixCodes)
+					&& this.returnStringsWhenPossible == other.returnStringsWhenPossible;
+		}
+	}
 }
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.model;
+
+/**
+ * Extension of {@link LazyDataLoader} that can also load a single row using a row key. This interface can be
+ * implemented to support selection of rows that are not contained in the currently loaded {@link DataModelRowSet}.
+ * 
+ * @author Phillip Webb
+ * @param <E> The element type
+ * @param <S> The lazy data model state
+ */
+public interface KeyedLazyDataLoader<E, S extends LazyDataModelState> extends LazyDataLoader<E, S> {
+
+	/**
+	 * Returns the row data for the specified row key or <tt>null</tt> if the underlying source does not contain the
+	 * key.
+	 * @param rowKey the row key
+	 * @param state the state holder
+	 * @return the row data or <tt>null</tt>
+	 */
+	E getRowData(String rowKey, S state);
+}
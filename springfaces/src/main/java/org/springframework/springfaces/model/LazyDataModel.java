@@ -16,18 +16,28 @@
 package org.springframework.springfaces.model;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
 
 import javax.faces.model.DataModel;
 import javax.faces.model.DataModelEvent;
 import javax.faces.model.DataModelListener;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * A {@link DataModel} that supports lazy loading of row data. Users of this class must provide a {@link LazyDataLoader}
  * that will be used to load {@link DataModelRowSet row data} as required. This {@link DataModel} is not
  * {@link Serializable} as it is expected to be recreated on each JSF request. A {@link LazyDataModelState}
  * implementation must be provided to handle the data model state.
+ * <p>
+ * A small number of recently loaded row sets are cached so that the model can move between them without calling the
+ * loader again. Each cached row set is stored with the {@link #getRowSetCacheKey(LazyDataModelState) cache key} of
+ * the state used to load it and is only reused while the key remains the same. The cache is cleared when the model is
+ * {@link #reset()} or when the {@link #clearCachedRowCount(int) cached row count is cleared}.
  * 
  * @author Phillip Webb
  * @param <E> The element type
@@ -35,14 +45,26 @@ import org.springframework.util.Assert;
  */
 public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E> {
 
+	private static final int DEFAULT_ROW_SET_CACHE_SIZE = 3;
+
 	private LazyDataLoader<E, S> loader;
 
 	private S state;
 
 	/**
-	 * The current row set or <tt>null</tt>
+	 * Recently used row sets, most recently used first.
+	 */
+	private final LinkedList<CachedRowSet<E>> rowSets = new LinkedList<CachedRowSet<E>>();
+
+	/**
+	 * The maximum number of row sets held in {@link #rowSets}.
+	 */
+	private int rowSetCacheSize = DEFAULT_ROW_SET_CACHE_SIZE;
+
+	/**
+	 * The number of loader calls that have been avoided by the {@link #rowSets} cache.
 	 */
-	private DataModelRowSet<E> rowSet;
+	private int savedLoadCount;
 
 	/**
 	 * The next row index that is likely to be read.
@@ -74,7 +96,27 @@ public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E>
 	 */
 	protected void reset() {
 		setRowIndex(-1);
-		this.rowSet = null;
+		this.rowSets.clear();
+	}
+
+	/**
+	 * Sets the maximum number of recently loaded {@link DataModelRowSet}s that are cached by the model. Caching several
+	 * row sets allows the model to move between them without calling the loader again. Defaults to 3.
+	 * @param rowSetCacheSize the cache size
+	 */
+	public void setRowSetCacheSize(int rowSetCacheSize) {
+		Assert.isTrue(rowSetCacheSize > 0, "RowSetCacheSize must be a positive number");
+		this.rowSetCacheSize = rowSetCacheSize;
+		trimRowSets();
+	}
+
+	/**
+	 * Returns the number of loader calls that have been saved by reusing a cached row set. Reads from the most recently
+	 * used row set are not counted since they would not have required a load without the cache.
+	 * @return the number of saved loader calls
+	 */
+	public int getSavedLoadCount() {
+		return this.savedLoadCount;
 	}
 
 	@Override
@@ -104,12 +146,14 @@ public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E>
 	}
 
 	/**
-	 * Reset any cached rowCount value and indicate the row index that will be next read. Providing the next row index
-	 * allows the model to optimize data loads when {@link #getRowCount()} is called before {@link #setRowIndex(int)}.
+	 * Reset any cached rowCount value and cached row sets and indicate the row index that will be next read. Providing
+	 * the next row index allows the model to optimize data loads when {@link #getRowCount()} is called before
+	 * {@link #setRowIndex(int)}.
 	 * @param nextRowIndex the next row index that will be read or <tt>0</tt> if the next index is not know.
 	 */
 	public void clearCachedRowCount(int nextRowIndex) {
 		this.state.setLastLoadedTotalRowCount(null);
+		this.rowSets.clear();
 		this.nextRowIndex = nextRowIndex;
 	}
 
@@ -118,6 +162,42 @@ public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E>
 		return getRowSet().getRowData(getRowIndex());
 	}
 
+	/**
+	 * Returns row data for the specified row key using the loader. Keys can only be loaded if the loader is a
+	 * {@link KeyedLazyDataLoader}, this method will return <tt>null</tt> for all other loaders.
+	 * @param rowKey the row key
+	 * @return the row data or <tt>null</tt>
+	 */
+	@SuppressWarnings("unchecked")
+	public E getRowDataForKey(String rowKey) {
+		if (this.loader instanceof KeyedLazyDataLoader) {
+			return ((KeyedLazyDataLoader<E, S>) this.loader).getRowData(rowKey, this.state);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns row data that has already been loaded for the specified range of rows. This method never calls the
+	 * loader, does not change the {@link #getRowIndex() row index} and does not fire {@link DataModelListener} events.
+	 * Rows in the range that have not been loaded are not included.
+	 * @param first the first row index
+	 * @param count the number of rows
+	 * @return the loaded row data (never <tt>null</tt>)
+	 */
+	public List<E> getLoadedRowData(int first, int count) {
+		List<E> rowData = new ArrayList<E>();
+		Object key = getRowSetCacheKey(this.state);
+		for (int rowIndex = Math.max(first, 0); rowIndex < first + count; rowIndex++) {
+			for (CachedRowSet<E> cached : this.rowSets) {
+				if (cached.isFor(key) && cached.getRowSet().isRowAvailable(rowIndex)) {
+					rowData.add(cached.getRowSet().getRowData(rowIndex));
+					break;
+				}
+			}
+		}
+		return rowData;
+	}
+
 	@Override
 	public int getRowIndex() {
 		return this.state.getRowIndex();
@@ -198,17 +278,63 @@ public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E>
 		if (rowIndex == -1) {
 			return DefaultDataModelRowSet.<E> emptySet();
 		}
-		if (this.rowSet != null && this.rowSet.contains(rowIndex)) {
-			return this.rowSet;
+		DataModelRowSet<E> rowSet = getCachedRowSet(rowIndex);
+		if (rowSet != null) {
+			return rowSet;
 		}
-		this.rowSet = loadRowSet(rowIndex);
-		if (this.rowSet != null) {
-			this.state.setLastLoadedTotalRowCount(this.rowSet.getTotalRowCount());
+		rowSet = loadRowSet(rowIndex);
+		if (rowSet != null) {
+			this.state.setLastLoadedTotalRowCount(rowSet.getTotalRowCount());
 		}
-		if (this.rowSet == null || !this.rowSet.contains(rowIndex)) {
-			this.rowSet = DefaultDataModelRowSet.emptySet(rowIndex);
+		if (rowSet == null || !rowSet.contains(rowIndex)) {
+			rowSet = DefaultDataModelRowSet.emptySet(rowIndex);
+		}
+		this.rowSets.addFirst(new CachedRowSet<E>(getRowSetCacheKey(this.state), rowSet));
+		trimRowSets();
+		return rowSet;
+	}
+
+	/**
+	 * Returns a cached row set containing the specified index, or <tt>null</tt>. The returned row set is moved to the
+	 * front of the cache. Cached row sets that were loaded with a different
+	 * {@link #getRowSetCacheKey(LazyDataModelState) cache key} are removed.
+	 * @param rowIndex the row index
+	 * @return the cached row set or <tt>null</tt>
+	 */
+	private DataModelRowSet<E> getCachedRowSet(int rowIndex) {
+		Object key = getRowSetCacheKey(this.state);
+		for (Iterator<CachedRowSet<E>> iterator = this.rowSets.iterator(); iterator.hasNext();) {
+			CachedRowSet<E> cached = iterator.next();
+			if (!cached.isFor(key)) {
+				iterator.remove();
+			} else if (cached.getRowSet().contains(rowIndex)) {
+				if (cached != this.rowSets.getFirst()) {
+					iterator.remove();
+					this.rowSets.addFirst(cached);
+					this.savedLoadCount++;
+				}
+				return cached.getRowSet();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the key used to determine if a cached row set can be reused for the specified state. Row sets are only
+	 * reused when the key of the current state is equal to the key of the state used to load them, and the row set
+	 * contains the requested row index. Subclasses should override this method to include any state (such as sort or
+	 * filter information) that affects the loaded rows. By default this method returns <tt>null</tt>.
+	 * @param state the state
+	 * @return the cache key (may be <tt>null</tt>)
+	 */
+	protected Object getRowSetCacheKey(S state) {
+		return null;
+	}
+
+	private void trimRowSets() {
+		while (this.rowSets.size() > this.rowSetCacheSize) {
+			this.rowSets.removeLast();
 		}
-		return this.rowSet;
 	}
 
 	/**
@@ -229,4 +355,26 @@ public class LazyDataModel<E, S extends LazyDataModelState> extends DataModel<E>
 		}
 	}
 
+	/**
+	 * A cached row set along with the key of the state used to load it.
+	 */
+	private static class CachedRowSet<E> {
+
+		private final Object key;
+
+		private final DataModelRowSet<E> rowSet;
+
+		public CachedRowSet(Object key, DataModelRowSet<E> rowSet) {
+			this.key = key;
+			this.rowSet = rowSet;
+		}
+
+		public boolean isFor(Object key) {
+			return ObjectUtils.nullSafeEquals(this.key, key);
+		}
+
+		public DataModelRowSet<E> getRowSet() {
+			return this.rowSet;
+		}
+	}
 }
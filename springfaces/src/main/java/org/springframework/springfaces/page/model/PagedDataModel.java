@@ -93,4 +93,9 @@ public class PagedDataModel<E> extends LazyDataModel<E, PagedDataModelState> imp
 			getState().setFilters(filters);
 		}
 	}
+
+	@Override
+	protected Object getRowSetCacheKey(PagedDataModelState state) {
+		return new PagedDataQueryKey(state);
+	}
 }
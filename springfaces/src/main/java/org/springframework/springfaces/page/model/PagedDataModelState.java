@@ -20,6 +20,7 @@ import java.util.Map;
 
 import org.springframework.springfaces.model.LazyDataModelState;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 
 /**
  * State associated with a {@link PagedDataModel}.
@@ -38,6 +39,12 @@ public class PagedDataModelState extends LazyDataModelState {
 
 	private Map<String, String> filters = new HashMap<String, String>();
 
+	private int keysetOffset = -1;
+
+	private Object[] firstRowKeyset;
+
+	private Object[] lastRowKeyset;
+
 	/**
 	 * Create a new {@link PagedDataModelState} instance.
 	 * @param pageSize the initial page size
@@ -64,6 +71,9 @@ public class PagedDataModelState extends LazyDataModelState {
 	 */
 	public void setPageSize(int pageSize) {
 		Assert.isTrue(pageSize >= 1, "PageSize must be a positive number");
+		if (this.pageSize != pageSize) {
+			clearKeyset();
+		}
 		this.pageSize = pageSize;
 	}
 
@@ -82,6 +92,9 @@ public class PagedDataModelState extends LazyDataModelState {
 	 * @see PagedDataRows#setSortAscending
 	 */
 	public void setSortAscending(boolean sortAscending) {
+		if (this.sortAscending != sortAscending) {
+			clearKeyset();
+		}
 		this.sortAscending = sortAscending;
 	}
 
@@ -100,6 +113,9 @@ public class PagedDataModelState extends LazyDataModelState {
 	 * @see PagedDataRows#getSortColumn()
 	 */
 	public void setSortColumn(String sortColumn) {
+		if (!ObjectUtils.nullSafeEquals(this.sortColumn, sortColumn)) {
+			clearKeyset();
+		}
 		this.sortColumn = sortColumn;
 	}
 
@@ -118,6 +134,56 @@ public class PagedDataModelState extends LazyDataModelState {
 	 * @see PagedDataRows#setFilters(Map)
 	 */
 	public void setFilters(Map<String, String> filters) {
+		if (!ObjectUtils.nullSafeEquals(this.filters, filters)) {
+			clearKeyset();
+		}
 		this.filters = filters;
 	}
+
+	/**
+	 * Returns the offset of the page that the keyset values were taken from or <tt>-1</tt> if no keyset values are
+	 * available.
+	 * @return the keyset offset
+	 * @see #setKeyset(int, Object[], Object[])
+	 */
+	public int getKeysetOffset() {
+		return this.keysetOffset;
+	}
+
+	/**
+	 * Returns the sort key values of the first row of the page at the {@link #getKeysetOffset() keyset offset}.
+	 * @return the first row keyset values or <tt>null</tt>
+	 */
+	public Object[] getFirstRowKeyset() {
+		return this.firstRowKeyset;
+	}
+
+	/**
+	 * Returns the sort key values of the last row of the page at the {@link #getKeysetOffset() keyset offset}.
+	 * @return the last row keyset values or <tt>null</tt>
+	 */
+	public Object[] getLastRowKeyset() {
+		return this.lastRowKeyset;
+	}
+
+	/**
+	 * Remember the sort key values of the first and last rows of a page so that adjacent pages can be loaded using
+	 * keyset (seek) paging. Keyset values are cleared whenever the page size, sort or filters change. Values should be
+	 * {@link java.io.Serializable}.
+	 * @param offset the offset of the page
+	 * @param firstRowKeyset the sort key values of the first row
+	 * @param lastRowKeyset the sort key values of the last row
+	 */
+	public void setKeyset(int offset, Object[] firstRowKeyset, Object[] lastRowKeyset) {
+		this.keysetOffset = offset;
+		this.firstRowKeyset = firstRowKeyset;
+		this.lastRowKeyset = lastRowKeyset;
+	}
+
+	/**
+	 * Clear any remembered keyset values.
+	 */
+	public void clearKeyset() {
+		setKeyset(-1, null, null);
+	}
 }
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.model;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.springfaces.model.DataModelRowSet;
+import org.springframework.springfaces.model.LazyDataLoader;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * A bounded cache of {@link DataModelRowSet}s that have been loaded ahead of time using a {@link TaskExecutor}. The
+ * cache is intended to be held in the session and used to serve the next page of a {@link PagedDataModel} from memory.
+ * Entries expire after a short time to live and the number of entries is limited both per cache and globally across
+ * all caches. Pending loads are cancelled when the sort, filter or page size of the same owner changes. Requests never
+ * wait longer than a short {@link #setMaxWait(long) maximum wait} for a pending load. Expired entries are regularly
+ * purged from the global entries so that entries from discarded caches do not remain held.
+ * <p>
+ * The cache is {@link Serializable} so that it can be held in the session, however, entries are not serialized.
+ * 
+ * @author Phillip Webb
+ */
+public class PagedDataPrefetchCache implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private static final int DEFAULT_MAX_ENTRIES = 5;
+
+	private static final long DEFAULT_TIME_TO_LIVE = 30000;
+
+	private static final long DEFAULT_MAX_WAIT = 100;
+
+	private static final long GLOBAL_PURGE_INTERVAL = 10000;
+
+	/**
+	 * Entries held across all caches. Entries from caches that are discarded without being cleared (for example when a
+	 * session expires) are purged once they have expired.
+	 */
+	private static final Map<Entry, Boolean> globalEntries = new ConcurrentHashMap<Entry, Boolean>();
+
+	private static volatile int globalMaxEntries = 1000;
+
+	/**
+	 * The time that expired {@link #globalEntries} were last purged.
+	 */
+	private static final AtomicLong lastGlobalPurge = new AtomicLong(System.currentTimeMillis());
+
+	private final int maxEntries;
+
+	private final long timeToLive;
+
+	private volatile long maxWait = DEFAULT_MAX_WAIT;
+
+	private transient Map<WindowKey, Entry> entries;
+
+	private int hitCount;
+
+	private int missCount;
+
+	/**
+	 * Create a new {@link PagedDataPrefetchCache} holding at most 5 entries for 30 seconds.
+	 */
+	public PagedDataPrefetchCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * Create a new {@link PagedDataPrefetchCache} instance.
+	 * @param maxEntries the maximum number of entries held by this cache
+	 * @param timeToLive the time in milliseconds that an entry remains valid
+	 */
+	public PagedDataPrefetchCache(int maxEntries, long timeToLive) {
+		Assert.isTrue(maxEntries > 0, "MaxEntries must be a positive number");
+		Assert.isTrue(timeToLive > 0, "TimeToLive must be a positive number");
+		this.maxEntries = maxEntries;
+		this.timeToLive = timeToLive;
+	}
+
+	/**
+	 * Set the maximum number of entries held across all caches. Defaults to 1000.
+	 * @param globalMaxEntries the global maximum number of entries
+	 */
+	public static void setGlobalMaxEntries(int globalMaxEntries) {
+		Assert.isTrue(globalMaxEntries >= 0, "GlobalMaxEntries must not be negative");
+		PagedDataPrefetchCache.globalMaxEntries = globalMaxEntries;
+	}
+
+	/**
+	 * Set the maximum time in milliseconds that {@link #get} will wait for a pending load to complete. Loads that do not
+	 * complete in time are cancelled and counted as a miss. Defaults to 100 milliseconds.
+	 * @param maxWait the maximum wait time in milliseconds
+	 */
+	public void setMaxWait(long maxWait) {
+		Assert.isTrue(maxWait >= 0, "MaxWait must not be negative");
+		this.maxWait = maxWait;
+	}
+
+	/**
+	 * Returns a previously prefetched row set for the page containing the current row index of the specified state.
+	 * The entry is removed from the cache. If a prefetch is still running this method will wait for it to complete for
+	 * at most the {@link #setMaxWait(long) maximum wait} time before cancelling it and returning <tt>null</tt>.
+	 * @param <E> the element type
+	 * @param owner the owner of the row set (for example a component client ID)
+	 * @param state the state
+	 * @return the prefetched row set or <tt>null</tt>
+	 */
+	@SuppressWarnings("unchecked")
+	public <E> DataModelRowSet<E> get(String owner, PagedDataModelState state) {
+		WindowKey key = new WindowKey(owner, state, getOffset(state));
+		Entry entry;
+		synchronized (this) {
+			cancelOtherQueries(key);
+			entry = removeEntry(key);
+			if (entry == null || entry.isExpired()) {
+				this.missCount++;
+				return null;
+			}
+		}
+		DataModelRowSet<E> rowSet = null;
+		try {
+			rowSet = (DataModelRowSet<E>) entry.getTask().get(this.maxWait, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			// Fall through and allow the caller to load the rows
+		} catch (TimeoutException e) {
+			entry.cancel();
+		} catch (CancellationException e) {
+			// Fall through and allow the caller to load the rows
+		}
+		synchronized (this) {
+			if (rowSet == null) {
+				this.missCount++;
+			} else {
+				this.hitCount++;
+			}
+		}
+		return rowSet;
+	}
+
+	/**
+	 * Submit a load of the page following the current row index of the specified state. The state is copied so that it
+	 * may continue to be used while the load runs. If the cache is full the oldest entry is removed. If the global
+	 * cache limit has been reached nothing is submitted.
+	 * @param <E> the element type
+	 * @param owner the owner of the row set (for example a component client ID)
+	 * @param state the state
+	 * @param loader a thread-safe loader used to load rows
+	 * @param executor the executor used to run the load
+	 */
+	public <E> void prefetch(String owner, PagedDataModelState state,
+			final LazyDataLoader<E, PagedDataModelState> loader, TaskExecutor executor) {
+		Assert.notNull(loader, "Loader must not be null");
+		Assert.notNull(executor, "Executor must not be null");
+		final PagedDataModelState nextState = new PagedDataModelState(state.getPageSize());
+		nextState.setRowIndex(getOffset(state) + state.getPageSize());
+		nextState.setSortColumn(state.getSortColumn());
+		nextState.setSortAscending(state.isSortAscending());
+		nextState.setFilters(state.getFilters() == null ? null : new HashMap<String, String>(state.getFilters()));
+		nextState.setKeyset(state.getKeysetOffset(), state.getFirstRowKeyset(), state.getLastRowKeyset());
+		WindowKey key = new WindowKey(owner, nextState, nextState.getRowIndex());
+		FutureTask<DataModelRowSet<E>> task = new FutureTask<DataModelRowSet<E>>(new Callable<DataModelRowSet<E>>() {
+			public DataModelRowSet<E> call() throws Exception {
+				return loader.getRows(nextState);
+			}
+		});
+		purgeExpiredGlobalEntries(false);
+		synchronized (this) {
+			cancelOtherQueries(key);
+			removeExpiredEntries();
+			if (getEntries().containsKey(key)) {
+				return;
+			}
+			while (getEntries().size() >= this.maxEntries) {
+				removeEntry(getEntries().keySet().iterator().next()).cancel();
+			}
+			Entry entry = new Entry(task, this.timeToLive);
+			if (!addGlobalEntry(entry)) {
+				return;
+			}
+			getEntries().put(key, entry);
+		}
+		try {
+			executor.execute(task);
+		} catch (TaskRejectedException e) {
+			synchronized (this) {
+				removeEntry(key);
+			}
+		}
+	}
+
+	/**
+	 * Remove all entries from the cache, cancelling any pending loads.
+	 */
+	public synchronized void clear() {
+		for (Iterator<Entry> iterator = getEntries().values().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			entry.cancel();
+			iterator.remove();
+			globalEntries.remove(entry);
+		}
+	}
+
+	/**
+	 * Returns the number of times that {@link #get} returned a prefetched row set.
+	 * @return the hit count
+	 */
+	public synchronized int getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Returns the number of times that {@link #get} did not return a prefetched row set.
+	 * @return the miss count
+	 */
+	public synchronized int getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Returns the ratio of hits to total {@link #get} calls or <tt>0.0</tt> if no calls have been made.
+	 * @return the hit ratio
+	 */
+	public synchronized double getHitRatio() {
+		int total = this.hitCount + this.missCount;
+		return (total == 0 ? 0.0 : (double) this.hitCount / total);
+	}
+
+	private int getOffset(PagedDataModelState state) {
+		int rowIndex = Math.max(state.getRowIndex(), 0);
+		return rowIndex - (rowIndex % state.getPageSize());
+	}
+
+	private Map<WindowKey, Entry> getEntries() {
+		if (this.entries == null) {
+			this.entries = new LinkedHashMap<WindowKey, Entry>();
+		}
+		return this.entries;
+	}
+
+	private Entry removeEntry(WindowKey key) {
+		Entry entry = getEntries().remove(key);
+		if (entry != null) {
+			globalEntries.remove(entry);
+		}
+		return entry;
+	}
+
+	private boolean addGlobalEntry(Entry entry) {
+		if (globalEntries.size() >= globalMaxEntries) {
+			purgeExpiredGlobalEntries(true);
+			if (globalEntries.size() >= globalMaxEntries) {
+				return false;
+			}
+		}
+		globalEntries.put(entry, Boolean.TRUE);
+		return true;
+	}
+
+	/**
+	 * Purge expired entries from the {@link #globalEntries}, cancelling any pending loads. Unless <tt>force</tt> is
+	 * specified entries are purged at most once every 10 seconds.
+	 * @param force if the purge should happen regardless of when the last purge happened
+	 */
+	private static void purgeExpiredGlobalEntries(boolean force) {
+		long now = System.currentTimeMillis();
+		long lastPurge = lastGlobalPurge.get();
+		if (!force && (now - lastPurge < GLOBAL_PURGE_INTERVAL || !lastGlobalPurge.compareAndSet(lastPurge, now))) {
+			return;
+		}
+		for (Iterator<Entry> iterator = globalEntries.keySet().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.isExpired()) {
+				entry.cancel();
+				iterator.remove();
+			}
+		}
+	}
+
+	private void cancelOtherQueries(WindowKey key) {
+		for (Iterator<Map.Entry<WindowKey, Entry>> iterator = getEntries().entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry<WindowKey, Entry> entry = iterator.next();
+			if (entry.getKey().isSameOwnerWithDifferentQuery(key)) {
+				entry.getValue().cancel();
+				iterator.remove();
+				globalEntries.remove(entry.getValue());
+			}
+		}
+	}
+
+	private void removeExpiredEntries() {
+		for (Iterator<Entry> iterator = getEntries().values().iterator(); iterator.hasNext();) {
+			Entry entry = iterator.next();
+			if (entry.isExpired()) {
+				entry.cancel();
+				iterator.remove();
+				globalEntries.remove(entry);
+			}
+		}
+	}
+
+	/**
+	 * A prefetch cache entry.
+	 */
+	private static class Entry {
+
+		private final FutureTask<?> task;
+
+		private final long expires;
+
+		public Entry(FutureTask<?> task, long timeToLive) {
+			this.task = task;
+			this.expires = System.currentTimeMillis() + timeToLive;
+		}
+
+		public FutureTask<?> getTask() {
+			return this.task;
+		}
+
+		public boolean isExpired() {
+			return System.currentTimeMillis() > this.expires;
+		}
+
+		public void cancel() {
+			this.task.cancel(true);
+		}
+	}
+
+	/**
+	 * Key used to identify a window of rows.
+	 */
+	private static class WindowKey {
+
+		private final String owner;
+
+		private final int offset;
+
+		private final PagedDataQueryKey query;
+
+		public WindowKey(String owner, PagedDataModelState state, int offset) {
+			this.owner = owner;
+			this.offset = offset;
+			this.query = new PagedDataQueryKey(state);
+		}
+
+		public boolean isSameOwnerWithDifferentQuery(WindowKey other) {
+			return ObjectUtils.nullSafeEquals(this.owner, other.owner) && !this.query.equals(other.query);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			WindowKey other = (WindowKey) obj;
+			return ObjectUtils.nullSafeEquals(this.owner, other.owner) && this.offset == other.offset
+					&& this.query.equals(other.query);
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = ObjectUtils.nullSafeHashCode(this.owner);
+			hashCode = 31 * hashCode + this.offset;
+			return 31 * hashCode + this.query.hashCode();
+		}
+	}
+}
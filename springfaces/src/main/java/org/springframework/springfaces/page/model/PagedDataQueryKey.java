@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * An immutable key that identifies the query of a {@link PagedDataModelState}. Two keys are equal when the page size,
+ * sort and filters of the states they were created from are equal. The row index and any keyset values are not
+ * included.
+ * 
+ * @author Phillip Webb
+ * @see PagedDataModelState
+ */
+public final class PagedDataQueryKey {
+
+	private final int pageSize;
+
+	private final String sortColumn;
+
+	private final boolean sortAscending;
+
+	private final Map<String, String> filters;
+
+	/**
+	 * Create a new {@link PagedDataQueryKey} from the current values of the specified state.
+	 * @param state the state
+	 */
+	public PagedDataQueryKey(PagedDataModelState state) {
+		Assert.notNull(state, "State must not be null");
+		this.pageSize = state.getPageSize();
+		this.sortColumn = state.getSortColumn();
+		this.sortAscending = state.isSortAscending();
+		this.filters = (state.getFilters() == null ? null : new HashMap<String, String>(state.getFilters()));
+	}
+
+	/**
+	 * Determines if this key matches the current values of the specified state.
+	 * @param state the state
+	 * @return <tt>true</tt> if the page size, sort and filters of the state are unchanged
+	 */
+	public boolean isFor(PagedDataModelState state) {
+		return this.pageSize == state.getPageSize()
+				&& ObjectUtils.nullSafeEquals(this.sortColumn, state.getSortColumn())
+				&& this.sortAscending == state.isSortAscending()
+				&& ObjectUtils.nullSafeEquals(this.filters, state.getFilters());
+	}
+
+	@Override
+	public int hashCode() {
+		int hashCode = this.pageSize;
+		hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.sortColumn);
+		hashCode = 31 * hashCode + (this.sortAscending ? 1 : 0);
+		return 31 * hashCode + ObjectUtils.nullSafeHashCode(this.filters);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || obj.getClass() != getClass()) {
+			return false;
+		}
+		PagedDataQueryKey other = (PagedDataQueryKey) obj;
+		return this.pageSize == other.pageSize && ObjectUtils.nullSafeEquals(this.sortColumn, other.sortColumn)
+				&& this.sortAscending == other.sortAscending && ObjectUtils.nullSafeEquals(this.filters, other.filters);
+	}
+}
@@ -15,10 +15,8 @@
  */
 package org.springframework.springfaces.page.model;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -40,54 +38,90 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 
 	private PagedDataModel<E> delegate;
 
+	/**
+	 * The first row of the page passed to the last load or -1 if the model has not been loaded.
+	 */
+	private int first = -1;
+
+	/**
+	 * Row data of the current page keyed by row key or <tt>null</tt> if the index has not been built.
+	 */
+	private transient Map<String, E> rowKeyIndex;
+
+	/**
+	 * The first row used when the {@link #rowKeyIndex} was built.
+	 */
+	private transient int rowKeyIndexFirst;
+
 	public PrimeFacesPagedDataModel(PagedDataModel<E> delegate) {
 		Assert.notNull(delegate, "Delegate must not be null");
 		this.delegate = delegate;
 	}
 
-  @Override
-  public Object getRowKey(E object) {
-    try {
-      Method idMethod = object.getClass().getMethod("getId");
-      return idMethod.invoke(object);
-    } catch (IllegalAccessException e) {
-      e.printStackTrace();
-      return super.getRowKey(object);
-    } catch (NoSuchMethodException e) {
-      e.printStackTrace();
-      return super.getRowKey(object);
-    } catch (InvocationTargetException e) {
-      e.printStackTrace();
-      return super.getRowKey(object);
-    }
-  }
-
-  @Override
-  public E getRowData(String rowKey) {
-    try {
-      for(int i = 0; i < getRowCount(); i++) {
-        setRowIndex(i);
-        E object = getRowData();
-        Method idMethod = object.getClass().getMethod("getId");
-        Object id = idMethod.invoke(object);
-        if(rowKey.equals(id.toString())) {
-          return object;
-        }
-      }
-    } catch (NoSuchMethodException e) {
-      e.printStackTrace();
-      return super.getRowData(rowKey);
-    } catch (InvocationTargetException e) {
-      e.printStackTrace();
-      return super.getRowData(rowKey);
-    } catch (IllegalAccessException e) {
-      e.printStackTrace();
-      return super.getRowData(rowKey);
-    }
-    return super.getRowData(rowKey);
-  }
-
-  @Override
+	@Override
+	public Object getRowKey(E object) {
+		RowKeyAccessor accessor = RowKeyAccessor.forClass(object.getClass());
+		if (!accessor.hasRowKey()) {
+			return super.getRowKey(object);
+		}
+		return accessor.getRowKey(object);
+	}
+
+	/**
+	 * Returns the row data for the specified key. Rows of the current page that have already been loaded are found using
+	 * an index, all other rows are obtained using {@link PagedDataModel#getRowDataForKey(String)}.
+	 * @param rowKey the row key
+	 * @return the row data or <tt>null</tt> if the row cannot be found
+	 */
+	@Override
+	public E getRowData(String rowKey) {
+		E rowData = getRowKeyIndex().get(rowKey);
+		if (rowData == null) {
+			rowData = this.delegate.getRowDataForKey(rowKey);
+		}
+		return rowData;
+	}
+
+	/**
+	 * Returns an index of row key to row data for the current page, building it if necessary. The index is built from
+	 * rows that the delegate has already loaded so that no load is triggered and no {@link DataModelListener} events
+	 * are fired. An empty index is not cached since the page may not have been loaded yet.
+	 * @return the row key index
+	 */
+	private Map<String, E> getRowKeyIndex() {
+		int first = getFirstRowOfPage();
+		if (this.rowKeyIndex == null || this.rowKeyIndexFirst != first) {
+			Map<String, E> rowKeyIndex = new HashMap<String, E>();
+			for (E rowData : this.delegate.getLoadedRowData(first, getPageSize())) {
+				Object rowKey = (rowData == null ? null : RowKeyAccessor.forClass(rowData.getClass()).getRowKey(
+						rowData));
+				if (rowKey != null) {
+					rowKeyIndex.put(rowKey.toString(), rowData);
+				}
+			}
+			if (rowKeyIndex.isEmpty()) {
+				return rowKeyIndex;
+			}
+			this.rowKeyIndex = rowKeyIndex;
+			this.rowKeyIndexFirst = first;
+		}
+		return this.rowKeyIndex;
+	}
+
+	private int getFirstRowOfPage() {
+		if (this.first != -1) {
+			return this.first;
+		}
+		int rowIndex = getRowIndex();
+		int pageSize = getPageSize();
+		return (rowIndex <= 0 || pageSize <= 0 ? 0 : rowIndex - (rowIndex % pageSize));
+	}
+
+	private void clearRowKeyIndex() {
+		this.rowKeyIndex = null;
+	}
+
+	@Override
 	public boolean isRowAvailable() {
 		return this.delegate.isRowAvailable();
 	}
@@ -129,6 +163,7 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 
 	@Override
 	public void setPageSize(int pageSize) {
+		clearRowKeyIndex();
 		this.delegate.setPageSize(pageSize);
 	}
 
@@ -137,6 +172,7 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 	}
 
 	public void setSortAscending(boolean sortAscending) {
+		clearRowKeyIndex();
 		this.delegate.setSortAscending(sortAscending);
 	}
 
@@ -145,10 +181,12 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 	}
 
 	public void setSortColumn(String sortColumn) {
+		clearRowKeyIndex();
 		this.delegate.setSortColumn(sortColumn);
 	}
 
 	public void toggleSort(String sortColumn) {
+		clearRowKeyIndex();
 		this.delegate.toggleSort(sortColumn);
 	}
 
@@ -157,6 +195,7 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 	}
 
 	public void setFilters(Map<String, String> filters) {
+		clearRowKeyIndex();
 		this.delegate.setFilters(filters);
 	}
 
@@ -195,6 +234,8 @@ public class PrimeFacesPagedDataModel<E> extends LazyDataModel<E> implements Pag
 			setSortAscending(sortOrder);
 		}
 		setFilters(filters);
+		this.first = first;
+		clearRowKeyIndex();
 		this.delegate.clearCachedRowCount(first);
 		return Collections.emptyList();
 	}
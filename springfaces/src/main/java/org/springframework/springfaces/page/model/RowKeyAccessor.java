@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.model;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.ReflectionUtils.FieldCallback;
+import org.springframework.util.ReflectionUtils.MethodCallback;
+
+/**
+ * Strategy used to obtain a row key from row data. Keys are read from a JPA <tt>@Id</tt> annotated field or method when
+ * JPA is available, otherwise from a public <tt>getId()</tt> method. Accessors are cached per row class.
+ * 
+ * @author Phillip Webb
+ */
+public abstract class RowKeyAccessor {
+
+	private static final String ID_ANNOTATION = "javax.persistence.Id";
+
+	private static final Map<Class<?>, RowKeyAccessor> accessors = new ConcurrentHashMap<Class<?>, RowKeyAccessor>();
+
+	private static final RowKeyAccessor NO_KEY = new RowKeyAccessor() {
+		@Override
+		public Object getRowKey(Object rowData) {
+			return null;
+		}
+	};
+
+	/**
+	 * Return the row key for the specified row data.
+	 * @param rowData the row data
+	 * @return the row key or <tt>null</tt>
+	 */
+	public abstract Object getRowKey(Object rowData);
+
+	/**
+	 * Returns if this accessor can provide row keys.
+	 * @return if keys are available
+	 */
+	public boolean hasRowKey() {
+		return this != NO_KEY;
+	}
+
+	/**
+	 * Returns the cached accessor for the specified row class. If the class does not provide keys a
+	 * {@link #hasRowKey() keyless} accessor is returned.
+	 * @param rowClass the row class
+	 * @return the row key accessor
+	 */
+	public static RowKeyAccessor forClass(Class<?> rowClass) {
+		RowKeyAccessor accessor = accessors.get(rowClass);
+		if (accessor == null) {
+			accessor = findIdAnnotatedAccessor(rowClass);
+			if (accessor == null) {
+				Method method = ReflectionUtils.findMethod(rowClass, "getId");
+				accessor = (method == null ? NO_KEY : new MethodRowKeyAccessor(method));
+			}
+			accessors.put(rowClass, accessor);
+		}
+		return accessor;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static RowKeyAccessor findIdAnnotatedAccessor(Class<?> rowClass) {
+		if (!ClassUtils.isPresent(ID_ANNOTATION, RowKeyAccessor.class.getClassLoader())) {
+			return null;
+		}
+		final Class<? extends Annotation> idAnnotation;
+		try {
+			idAnnotation = (Class<? extends Annotation>) ClassUtils.forName(ID_ANNOTATION,
+					RowKeyAccessor.class.getClassLoader());
+		} catch (ClassNotFoundException e) {
+			return null;
+		}
+		final RowKeyAccessor[] accessor = new RowKeyAccessor[1];
+		ReflectionUtils.doWithFields(rowClass, new FieldCallback() {
+			public void doWith(Field field) throws IllegalArgumentException, IllegalAccessException {
+				if (accessor[0] == null && field.getAnnotation(idAnnotation) != null) {
+					accessor[0] = new FieldRowKeyAccessor(field);
+				}
+			}
+		});
+		if (accessor[0] == null) {
+			ReflectionUtils.doWithMethods(rowClass, new MethodCallback() {
+				public void doWith(Method method) throws IllegalArgumentException, IllegalAccessException {
+					if (accessor[0] == null && AnnotationUtils.getAnnotation(method, idAnnotation) != null) {
+						accessor[0] = new MethodRowKeyAccessor(method);
+					}
+				}
+			});
+		}
+		return accessor[0];
+	}
+
+	/**
+	 * {@link RowKeyAccessor} for ID fields.
+	 */
+	private static class FieldRowKeyAccessor extends RowKeyAccessor {
+
+		private final Field field;
+
+		public FieldRowKeyAccessor(Field field) {
+			ReflectionUtils.makeAccessible(field);
+			this.field = field;
+		}
+
+		@Override
+		public Object getRowKey(Object rowData) {
+			return ReflectionUtils.getField(this.field, rowData);
+		}
+	}
+
+	/**
+	 * {@link RowKeyAccessor} for ID methods.
+	 */
+	private static class MethodRowKeyAccessor extends RowKeyAccessor {
+
+		private final Method method;
+
+		public MethodRowKeyAccessor(Method method) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		@Override
+		public Object getRowKey(Object rowData) {
+			return ReflectionUtils.invokeMethod(this.method, rowData);
+		}
+	}
+}
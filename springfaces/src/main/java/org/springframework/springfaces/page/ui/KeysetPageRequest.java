@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.ui;
+
+/**
+ * Extension of {@link PageRequest} made available by the {@link UIPagedData} component when keyset (seek) paging is
+ * {@link UIPagedData#setKeyset(boolean) enabled}. Keyset values allow loaders to seek directly to a page rather than
+ * skipping rows.
+ * <p>
+ * Keyset values end with the row ID, loaders must therefore order rows by the {@link #getSortColumn() sort column}
+ * followed by the row ID (for example <tt>ORDER BY sortColumn, id</tt>) for every page, including the first. The ID is
+ * not included in the Spring Data <tt>Sort</tt> since the name of the ID property is not known until rows have been
+ * loaded. Without the secondary order, rows that share a sort value can be skipped or repeated.
+ * 
+ * @author Phillip Webb
+ * @see UIPagedData#isKeyset()
+ */
+public interface KeysetPageRequest extends PageRequest {
+
+	/**
+	 * Returns the sort key values of the last row of the previous page or <tt>null</tt> if they are not known. The
+	 * values contain the sort column value (when sorted) followed by the row ID. Loaders can use the values to seek
+	 * directly to the page (for example <tt>WHERE (sortColumn, id) &gt; (?, ?)</tt>) rather than skipping
+	 * {@link #getOffset() offset} rows.
+	 * @return the keyset values that rows should follow or <tt>null</tt>
+	 */
+	Object[] getAfterKeyset();
+
+	/**
+	 * Returns the sort key values of the first row of the next page or <tt>null</tt> if they are not known. Loaders
+	 * using these values (for example <tt>WHERE (sortColumn, id) &lt; (?, ?)</tt> with a reversed sort) must still
+	 * return rows in the requested sort order.
+	 * @return the keyset values that rows should precede or <tt>null</tt>
+	 * @see #getAfterKeyset()
+	 */
+	Object[] getBeforeKeyset();
+}
@@ -22,11 +22,11 @@ import org.springframework.springfaces.page.model.PagedDataModelState;
 import org.springframework.util.Assert;
 
 /**
- * Adapter class that converts {@link PagedDataModelState} to a {@link PageRequest}.
+ * Adapter class that converts {@link PagedDataModelState} to a {@link KeysetPageRequest}.
  * 
  * @author Phillip Webb
  */
-class PageRequestAdapter implements PageRequest {
+class PageRequestAdapter implements KeysetPageRequest {
 
 	private PagedDataModelState state;
 
@@ -59,4 +59,16 @@ class PageRequestAdapter implements PageRequest {
 		Map<String, String> filters = this.state.getFilters();
 		return (filters == null ? Collections.<String, String> emptyMap() : filters);
 	}
+
+	public Object[] getAfterKeyset() {
+		int keysetOffset = this.state.getKeysetOffset();
+		return (keysetOffset != -1 && keysetOffset == getOffset() - getPageSize() ? this.state.getLastRowKeyset()
+				: null);
+	}
+
+	public Object[] getBeforeKeyset() {
+		int keysetOffset = this.state.getKeysetOffset();
+		return (keysetOffset != -1 && keysetOffset == getOffset() + getPageSize() ? this.state.getFirstRowKeyset()
+				: null);
+	}
 }
@@ -27,7 +27,7 @@ import org.springframework.util.StringUtils;
  * 
  * @author Phillip Webb
  */
-public class SpringDataPageRequest implements PageRequest, Pageable {
+public class SpringDataPageRequest implements KeysetPageRequest, Pageable {
 
 	private PageRequest pageRequest;
 
@@ -59,6 +59,25 @@ public class SpringDataPageRequest implements PageRequest, Pageable {
 		return this.pageRequest.getFilters();
 	}
 
+	public Object[] getAfterKeyset() {
+		if (this.pageRequest instanceof KeysetPageRequest) {
+			return ((KeysetPageRequest) this.pageRequest).getAfterKeyset();
+		}
+		return null;
+	}
+
+	public Object[] getBeforeKeyset() {
+		if (this.pageRequest instanceof KeysetPageRequest) {
+			return ((KeysetPageRequest) this.pageRequest).getBeforeKeyset();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the {@link Sort} for the {@link #getSortColumn() sort column}. When keyset paging is used the loader must
+	 * also order by the row ID, see {@link KeysetPageRequest}.
+	 * @return the sort or <tt>null</tt>
+	 */
 	public Sort getSort() {
 		if (StringUtils.hasLength(getSortColumn())) {
 			return new Sort(getSortDirection(), getSortColumn());
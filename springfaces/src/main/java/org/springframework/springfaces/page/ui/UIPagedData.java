@@ -23,18 +23,33 @@ import java.util.concurrent.Callable;
 import javax.el.ELContext;
 import javax.el.ValueExpression;
 import javax.faces.component.UIComponentBase;
+import javax.faces.component.UIViewRoot;
+import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
+import javax.faces.event.PhaseId;
 import javax.faces.model.DataModel;
+import javax.servlet.http.HttpSession;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.BeansException;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.springfaces.model.DataModelRowSet;
 import org.springframework.springfaces.model.DefaultDataModelRowSet;
+import org.springframework.springfaces.model.KeyedLazyDataLoader;
 import org.springframework.springfaces.model.LazyDataLoader;
 import org.springframework.springfaces.page.model.PagedDataModel;
 import org.springframework.springfaces.page.model.PagedDataModelState;
+import org.springframework.springfaces.page.model.PagedDataPrefetchCache;
+import org.springframework.springfaces.page.model.PagedDataQueryKey;
 import org.springframework.springfaces.page.model.PagedDataRows;
 import org.springframework.springfaces.page.model.PrimeFacesPagedDataModel;
+import org.springframework.springfaces.page.model.RowKeyAccessor;
 import org.springframework.springfaces.util.FacesUtils;
 import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.WebUtils;
 
 /**
  * Component that can be used to create a paged {@link DataModel} that lazily fetches data from an underlying source.
@@ -68,6 +83,22 @@ import org.springframework.util.Assert;
  * If PrimeFaces is present on the classpath then the resulting model will extend
  * <tt>org.primefaces.model.LazyDataModel</tt> rather than <tt>javax.faces.model.DataModel</tt>. Use the
  * {@link PagedDataRows} interface if you need a consistent way of dealing with PrimeFaces and Standard DataModels.
+ * <p>
+ * The data model is created once per request and reused between the decode, validation, invoke application and render
+ * phases. A new data model is only created if the page size, sort or filter state changes.
+ * <p>
+ * Set the <tt>keyset</tt> attribute to enable keyset (seek) paging. The <tt>pageRequest</tt> will then be a
+ * {@link KeysetPageRequest} that includes the sort key values of the adjacent page so that the <tt>value</tt>
+ * expression can seek directly to the next or previous page rather than skipping rows. Keyset values end with the row
+ * ID so the <tt>value</tt> expression must always order rows by the ID after the sort column, the <tt>Sort</tt> of a
+ * Spring Data <tt>Pageable</tt> only includes the sort column.
+ * <p>
+ * The optional <tt>rowDataForKey</tt> expression can be used to load a single row when a row that has not been loaded
+ * is selected. The expression should use the <tt>rowKey</tt> variable to access the key of the row.
+ * <p>
+ * The next page of data can be loaded in the background by specifying a <tt>prefetchExecutor</tt> and a thread-safe
+ * <tt>prefetchLoader</tt>. Prefetched pages are held in a short lived session cache and used in place of the
+ * <tt>value</tt> expression when the next page is requested.
  * 
  * @author Phillip Webb
  * @see PageRequest
@@ -80,10 +111,15 @@ public class UIPagedData extends UIComponentBase {
 	private static final String DEFAULT_VAR = "pagedData";
 	private static final Object DEFAULT_PAGE_SIZE = 10;
 	private static final String PAGE_REQUEST_VARIABLE = "pageRequest";
+	private static final String ROW_KEY_VARIABLE = "rowKey";
+	private static final String PREFETCH_CACHE_ATTRIBUTE = UIPagedData.class.getName() + ".PREFETCH_CACHE";
+	private static final String REQUEST_PAGED_DATA_ATTRIBUTE = UIPagedData.class.getName() + ".PAGED_DATA";
 
 	private static PagedPrimeFacesSupport primeFacesSupport = PagedPrimeFacesSupport.getInstance();
 	private static PagedSpringDataSupport springDataSupport = PagedSpringDataSupport.getInstance();
 
+	private final Log logger = LogFactory.getLog(getClass());
+
 	@Override
 	public String getFamily() {
 		return COMPONENT_FAMILY;
@@ -128,6 +164,17 @@ public class UIPagedData extends UIComponentBase {
 		return getValueExpression(PropertyKeys.rowCount.toString());
 	}
 
+	/**
+	 * Returns the optional expression used to obtain a single row using a row key. The expression is called when a row
+	 * that has not been loaded is selected and should use the <tt>rowKey</tt> variable to access the key. The resulting
+	 * expression should return the row data or <tt>null</tt>.
+	 * @return the {@link ValueExpression} to obtain row data for a key
+	 * @see #getRowData(String, PagedDataModelState)
+	 */
+	protected ValueExpression getRowDataForKey() {
+		return getValueExpression(PropertyKeys.rowDataForKey.toString());
+	}
+
 	/**
 	 * Return the initial page size for the {@link PagedDataRows}. If not specified the default value of 10 is used.
 	 * @return the page size
@@ -177,6 +224,62 @@ public class UIPagedData extends UIComponentBase {
 		getStateHelper().put(PropertyKeys.sortAscending, sortAscending);
 	}
 
+	/**
+	 * Returns if keyset (seek) paging is enabled. When enabled the sort key values of the first and last rows of each
+	 * loaded page are remembered and exposed to the next and previous page requests using
+	 * {@link KeysetPageRequest#getAfterKeyset()} and {@link KeysetPageRequest#getBeforeKeyset()}. Loaders must order
+	 * rows by the row ID after the sort column so that the order is unique. Defaults to <tt>false</tt>.
+	 * @return if keyset paging is enabled
+	 * @see #getKeysetValues(Object, PagedDataModelState)
+	 */
+	public boolean isKeyset() {
+		return (Boolean) getStateHelper().eval(PropertyKeys.keyset, false);
+	}
+
+	/**
+	 * Set if keyset (seek) paging is enabled.
+	 * @param keyset if keyset paging is enabled
+	 */
+	public void setKeyset(boolean keyset) {
+		getStateHelper().put(PropertyKeys.keyset, keyset);
+	}
+
+	/**
+	 * Returns the executor used to prefetch the next page of data. Prefetching is only enabled when both a
+	 * {@link #getPrefetchExecutor() prefetchExecutor} and a {@link #getPrefetchLoader() prefetchLoader} are specified.
+	 * @return the prefetch executor or <tt>null</tt>
+	 */
+	public TaskExecutor getPrefetchExecutor() {
+		return (TaskExecutor) getStateHelper().eval(PropertyKeys.prefetchExecutor);
+	}
+
+	/**
+	 * Set the executor used to prefetch the next page of data.
+	 * @param prefetchExecutor the prefetch executor
+	 */
+	public void setPrefetchExecutor(TaskExecutor prefetchExecutor) {
+		getStateHelper().put(PropertyKeys.prefetchExecutor, prefetchExecutor);
+	}
+
+	/**
+	 * Returns the loader used to prefetch the next page of data. The loader is called from a
+	 * {@link #getPrefetchExecutor() prefetchExecutor} thread where no {@link FacesContext} is available and so must be
+	 * thread-safe and must not rely on EL. The loader should return the same rows as the <tt>value</tt> expression.
+	 * @return the prefetch loader or <tt>null</tt>
+	 */
+	@SuppressWarnings("unchecked")
+	public LazyDataLoader<Object, PagedDataModelState> getPrefetchLoader() {
+		return (LazyDataLoader<Object, PagedDataModelState>) getStateHelper().eval(PropertyKeys.prefetchLoader);
+	}
+
+	/**
+	 * Set the loader used to prefetch the next page of data.
+	 * @param prefetchLoader the prefetch loader
+	 */
+	public void setPrefetchLoader(LazyDataLoader<Object, PagedDataModelState> prefetchLoader) {
+		getStateHelper().put(PropertyKeys.prefetchLoader, prefetchLoader);
+	}
+
 	@Override
 	public void restoreState(FacesContext context, Object state) {
 		super.restoreState(context, state);
@@ -190,10 +293,38 @@ public class UIPagedData extends UIComponentBase {
 		super.encodeEnd(context);
 	}
 
+	/**
+	 * Expose the paged data in the request map. Paged data is created once per request for each component client ID and
+	 * reused between phases. Paged data is only recreated if the page size, sort or filter state changes.
+	 * @param context the faces context
+	 */
 	private void createPagedDataInRequestMap(FacesContext context) {
-		Object pagedData = createPagedData();
 		Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
-		requestMap.put(getVar(), pagedData);
+		String key = REQUEST_PAGED_DATA_ATTRIBUTE + "." + getClientId(context);
+		RequestPagedData requestPagedData = (RequestPagedData) requestMap.get(key);
+		PagedDataModelState state = getPagedDataModelState();
+		if (requestPagedData == null || !requestPagedData.isFor(state)) {
+			int loadCount = (requestPagedData == null ? 0 : requestPagedData.getLoadCount());
+			requestPagedData = new RequestPagedData(state, loadCount);
+			requestMap.put(key, requestPagedData);
+			requestPagedData.setPagedData(createPagedData());
+		}
+		requestMap.put(getVar(), requestPagedData.getPagedData());
+	}
+
+	/**
+	 * Returns the number of times that rows have been loaded for this component during the current request. This
+	 * method is primarily intended for debugging.
+	 * @return the number of loads during the current request
+	 */
+	public int getRequestLoadCount() {
+		RequestPagedData requestPagedData = getRequestPagedData(getFacesContext());
+		return (requestPagedData == null ? 0 : requestPagedData.getLoadCount());
+	}
+
+	private RequestPagedData getRequestPagedData(FacesContext context) {
+		Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+		return (RequestPagedData) requestMap.get(REQUEST_PAGED_DATA_ATTRIBUTE + "." + getClientId(context));
 	}
 
 	/**
@@ -202,11 +333,19 @@ public class UIPagedData extends UIComponentBase {
 	 * @return the paged data to expose
 	 */
 	protected Object createPagedData() {
-		LazyDataLoader<Object, PagedDataModelState> lazyDataLoader = new LazyDataLoader<Object, PagedDataModelState>() {
+		LazyDataLoader<Object, PagedDataModelState> lazyDataLoader = new KeyedLazyDataLoader<Object, PagedDataModelState>() {
 			public DataModelRowSet<Object> getRows(PagedDataModelState state) {
 				return UIPagedData.this.getRows(state);
 			}
+
+			public Object getRowData(String rowKey, PagedDataModelState state) {
+				return UIPagedData.this.getRowData(rowKey, state);
+			}
 		};
+		return adaptPagedDataModel(new PagedDataModel<Object>(lazyDataLoader, getPagedDataModelState()));
+	}
+
+	private PagedDataModelState getPagedDataModelState() {
 		PagedDataModelState state = (PagedDataModelState) getStateHelper().get(PropertyKeys.dataModelstate);
 		if (state == null) {
 			state = new PagedDataModelState(getPageSize());
@@ -216,7 +355,7 @@ public class UIPagedData extends UIComponentBase {
 			}
 			getStateHelper().put(PropertyKeys.dataModelstate, state);
 		}
-		return adaptPagedDataModel(new PagedDataModel<Object>(lazyDataLoader, state));
+		return state;
 	}
 
 	/**
@@ -238,13 +377,155 @@ public class UIPagedData extends UIComponentBase {
 	 * @see #getContentFromValue(Object)
 	 */
 	protected DataModelRowSet<Object> getRows(PagedDataModelState state) {
-		final PageRequest pageRequest = createPageRequest(state);
-		return FacesUtils.doWithRequestScopeVariable(getFacesContext(), PAGE_REQUEST_VARIABLE, pageRequest,
-				new Callable<DataModelRowSet<Object>>() {
-					public DataModelRowSet<Object> call() throws Exception {
-						return executeExpressionsToGetRows(pageRequest);
-					}
-				});
+		FacesContext context = getFacesContext();
+		TaskExecutor prefetchExecutor = getPrefetchExecutor();
+		LazyDataLoader<Object, PagedDataModelState> prefetchLoader = getPrefetchLoader();
+		boolean prefetch = (prefetchExecutor != null && prefetchLoader != null);
+		DataModelRowSet<Object> rows = null;
+		if (prefetch) {
+			rows = getPrefetchCache(context).get(getPrefetchOwner(context), state);
+		}
+		if (rows == null) {
+			countLoad();
+			final PageRequest pageRequest = createPageRequest(state);
+			rows = FacesUtils.doWithRequestScopeVariable(context, PAGE_REQUEST_VARIABLE, pageRequest,
+					new Callable<DataModelRowSet<Object>>() {
+						public DataModelRowSet<Object> call() throws Exception {
+							return executeExpressionsToGetRows(pageRequest);
+						}
+					});
+		}
+		if (isKeyset()) {
+			rememberKeyset(state, rows);
+		}
+		if (prefetch && PhaseId.RENDER_RESPONSE.equals(context.getCurrentPhaseId())) {
+			getPrefetchCache(context).prefetch(getPrefetchOwner(context), state, prefetchLoader, prefetchExecutor);
+		}
+		return rows;
+	}
+
+	/**
+	 * Remember the keyset values of the first and last rows contained in the loaded page.
+	 * @param state the state
+	 * @param rows the loaded rows
+	 */
+	private void rememberKeyset(PagedDataModelState state, DataModelRowSet<Object> rows) {
+		int offset = createPageRequest(state).getOffset();
+		int last = offset;
+		while (last + 1 < offset + state.getPageSize() && rows.isRowAvailable(last + 1)) {
+			last++;
+		}
+		Object[] firstRowKeyset = null;
+		Object[] lastRowKeyset = null;
+		if (rows.isRowAvailable(offset)) {
+			try {
+				firstRowKeyset = getKeysetValues(rows.getRowData(offset), state);
+				lastRowKeyset = getKeysetValues(rows.getRowData(last), state);
+			} catch (BeansException e) {
+				if (this.logger.isDebugEnabled()) {
+					this.logger.debug("Unable to obtain keyset values for sort column '" + state.getSortColumn()
+							+ "', falling back to offset paging", e);
+				}
+			}
+		}
+		if (firstRowKeyset == null || lastRowKeyset == null) {
+			state.clearKeyset();
+		} else {
+			state.setKeyset(offset, firstRowKeyset, lastRowKeyset);
+		}
+	}
+
+	/**
+	 * Strategy method used to obtain the keyset values of a row when {@link #isKeyset() keyset} paging is enabled. By
+	 * default this method returns the value of the sort column property (when sorted) followed by the row ID. The ID
+	 * is read from a JPA <tt>@Id</tt> or a <tt>getId()</tt> method. If the sort column cannot be read a
+	 * {@link BeansException} is thrown and the keyset is cleared so that offset paging is used.
+	 * @param rowData the row data
+	 * @param state the state
+	 * @return the keyset values or <tt>null</tt> if the row has no keyset values
+	 * @throws BeansException if the sort column value cannot be read
+	 */
+	protected Object[] getKeysetValues(Object rowData, PagedDataModelState state) throws BeansException {
+		if (rowData == null) {
+			return null;
+		}
+		RowKeyAccessor rowKeyAccessor = RowKeyAccessor.forClass(rowData.getClass());
+		if (!rowKeyAccessor.hasRowKey()) {
+			return null;
+		}
+		Object id = rowKeyAccessor.getRowKey(rowData);
+		if (!StringUtils.hasLength(state.getSortColumn())) {
+			return new Object[] { id };
+		}
+		Object sortValue = new BeanWrapperImpl(rowData).getPropertyValue(state.getSortColumn());
+		return new Object[] { sortValue, id };
+	}
+
+	/**
+	 * Returns the session scoped {@link PagedDataPrefetchCache} used when prefetching is enabled. A single cache is
+	 * shared by all components in the session. The cache is created while holding the session mutex so that
+	 * concurrent requests from the same session always share the same cache.
+	 * @param context the faces context
+	 * @return the prefetch cache
+	 */
+	protected PagedDataPrefetchCache getPrefetchCache(FacesContext context) {
+		ExternalContext externalContext = context.getExternalContext();
+		Object session = externalContext.getSession(true);
+		Object mutex = (session instanceof HttpSession ? WebUtils.getSessionMutex((HttpSession) session) : session);
+		synchronized (mutex) {
+			Map<String, Object> sessionMap = externalContext.getSessionMap();
+			PagedDataPrefetchCache cache = (PagedDataPrefetchCache) sessionMap.get(PREFETCH_CACHE_ATTRIBUTE);
+			if (cache == null) {
+				cache = new PagedDataPrefetchCache();
+				sessionMap.put(PREFETCH_CACHE_ATTRIBUTE, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Returns the owner used to identify rows prefetched for this component. The owner includes the view ID as well as
+	 * the client ID since the same client ID can be used by different views that share the session cache.
+	 * @param context the faces context
+	 * @return the prefetch owner
+	 */
+	private String getPrefetchOwner(FacesContext context) {
+		UIViewRoot viewRoot = context.getViewRoot();
+		String viewId = (viewRoot == null ? null : viewRoot.getViewId());
+		return viewId + "#" + getClientId(context);
+	}
+
+	private void countLoad() {
+		FacesContext context = getFacesContext();
+		RequestPagedData requestPagedData = getRequestPagedData(context);
+		if (requestPagedData != null) {
+			int loadCount = requestPagedData.incrementLoadCount();
+			if (this.logger.isDebugEnabled()) {
+				this.logger.debug("Loading rows for UIPagedData '" + getClientId(context) + "' (load " + loadCount
+						+ " in this request)");
+			}
+		}
+	}
+
+	/**
+	 * Strategy method used to obtain a single row using a row key. This method is called when a row that has not been
+	 * loaded is selected. By default this method evaluates the {@link #getRowDataForKey() rowDataForKey} expression
+	 * with a <tt>rowKey</tt> variable, returning <tt>null</tt> if no expression is specified.
+	 * @param rowKey the row key
+	 * @param state the state
+	 * @return the row data or <tt>null</tt>
+	 */
+	protected Object getRowData(String rowKey, PagedDataModelState state) {
+		final ValueExpression rowDataForKey = getRowDataForKey();
+		if (rowDataForKey == null) {
+			return null;
+		}
+		final FacesContext context = getFacesContext();
+		return FacesUtils.doWithRequestScopeVariable(context, ROW_KEY_VARIABLE, rowKey, new Callable<Object>() {
+			public Object call() throws Exception {
+				return rowDataForKey.getValue(context.getELContext());
+			}
+		});
 	}
 
 	/**
@@ -316,6 +597,52 @@ public class UIPagedData extends UIComponentBase {
 	}
 
 	private enum PropertyKeys {
-		value, rowCount, var, pageSize, sortColumn, sortAscending, dataModelstate
+		value, rowCount, rowDataForKey, var, pageSize, sortColumn, sortAscending, keyset, prefetchExecutor,
+		prefetchLoader, dataModelstate
+	}
+
+	/**
+	 * Paged data held in the request map so that it can be reused between phases.
+	 */
+	private static class RequestPagedData {
+
+		private final PagedDataModelState state;
+
+		private final PagedDataQueryKey query;
+
+		private Object pagedData;
+
+		private int loadCount;
+
+		public RequestPagedData(PagedDataModelState state, int loadCount) {
+			this.state = state;
+			this.query = new PagedDataQueryKey(state);
+			this.loadCount = loadCount;
+		}
+
+		/**
+		 * Determines if the paged data can be used with the specified state.
+		 * @param state the state
+		 * @return <tt>true</tt> if the state is unchanged
+		 */
+		public boolean isFor(PagedDataModelState state) {
+			return this.state == state && this.query.isFor(state);
+		}
+
+		public Object getPagedData() {
+			return this.pagedData;
+		}
+
+		public void setPagedData(Object pagedData) {
+			this.pagedData = pagedData;
+		}
+
+		public int getLoadCount() {
+			return this.loadCount;
+		}
+
+		public int incrementLoadCount() {
+			return ++this.loadCount;
+		}
 	}
 }
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Extension of {@link SelectItemsLoader} that can find many values in a single operation. When used with a
+ * {@link javax.faces.component.UISelectMany UISelectMany} component all submitted values are found with a single
+ * {@link #findAll(Collection) findAll} call, for example using a repository <tt>findAll(ids)</tt> method.
+ * 
+ * @author Phillip Webb
+ * @param <T> the value type
+ * @see org.springframework.springfaces.convert.BatchConverter
+ */
+public interface BatchSelectItemsLoader<T> extends SelectItemsLoader<T> {
+
+	/**
+	 * Find all values that were converted to the specified strings.
+	 * @param stringValues the string values as returned from the
+	 * {@link javax.faces.convert.Converter#getAsString(javax.faces.context.FacesContext, javax.faces.component.UIComponent, Object)
+	 * converter}
+	 * @return a map of string values to values. Any string value that cannot be found should not be contained in the map
+	 */
+	Map<String, T> findAll(Collection<String> stringValues);
+}
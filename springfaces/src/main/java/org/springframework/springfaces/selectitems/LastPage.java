@@ -0,0 +1,57 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.springframework.util.Assert;
+
+/**
+ * A read-only {@link List} of values that may be returned from {@link SelectItemsLoader#load(int, int)} to indicate
+ * that no further values are available even though a full page has been loaded. Using a {@link LastPage} saves a
+ * final call to the loader when the total number of values is an exact multiple of the page size.
+ * 
+ * @author Phillip Webb
+ * @param <T> the value type
+ */
+public class LastPage<T> extends AbstractList<T> implements RandomAccess, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<T> values;
+
+	/**
+	 * Create a new {@link LastPage} instance.
+	 * @param values the values contained in the page
+	 */
+	public LastPage(List<T> values) {
+		Assert.notNull(values, "Values must not be null");
+		this.values = values;
+	}
+
+	@Override
+	public T get(int index) {
+		return this.values.get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.values.size();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Base class for {@link SelectItemsLoader}s that load values from a Spring Data repository. For example:
+ * 
+ * <pre>
+ * public class CitySelectItemsLoader extends PageableSelectItemsLoader&lt;City&gt; {
+ * 
+ * 	protected Page&lt;City&gt; loadPage(Pageable pageable) {
+ * 		return cityRepository.findAll(pageable);
+ * 	}
+ * 
+ * 	public City find(String stringValue) {
+ * 		return cityRepository.findOne(Long.valueOf(stringValue));
+ * 	}
+ * }
+ * </pre>
+ * 
+ * Loading a {@link Page} usually requires the repository to issue a count query for every page. Since only the values
+ * are needed, subclasses can also override {@link #loadContent(Pageable)} and call a repository method that returns a
+ * <tt>List</tt> (for example <tt>List&lt;City&gt; findAllBy(Pageable pageable)</tt>) so that no count is issued. In
+ * that case {@link #loadPage(Pageable)} is not called.
+ * 
+ * @author Phillip Webb
+ * @param <T> the value type
+ */
+public abstract class PageableSelectItemsLoader<T> implements SelectItemsLoader<T> {
+
+	public List<T> load(int pageNumber, int pageSize) {
+		return loadContent(new PageRequest(pageNumber, pageSize));
+	}
+
+	/**
+	 * Load the values for the given {@link Pageable}. By default this method calls {@link #loadPage(Pageable)} and
+	 * returns a {@link LastPage} when the page is known to be the last. Subclasses can override this method to load
+	 * values without the need for a count query.
+	 * @param pageable the pageable
+	 * @return the values (never <tt>null</tt>)
+	 */
+	protected List<T> loadContent(Pageable pageable) {
+		Page<T> page = loadPage(pageable);
+		List<T> content = page.getContent();
+		return (page.hasNextPage() ? content : new LastPage<T>(content));
+	}
+
+	/**
+	 * Load the {@link Page} of values for the given {@link Pageable}.
+	 * @param pageable the pageable
+	 * @return the page of values
+	 */
+	protected abstract Page<T> loadPage(Pageable pageable);
+}
@@ -15,7 +15,11 @@
  */
 package org.springframework.springfaces.selectitems;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 
 import javax.faces.component.UIComponent;
 import javax.faces.component.UISelectMany;
@@ -24,9 +28,11 @@ import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
 import javax.faces.model.SelectItem;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.springfaces.convert.ComponentConversionKey;
 import org.springframework.springfaces.selectitems.ui.SelectItemsIterator;
 import org.springframework.util.Assert;
-import org.springframework.util.ObjectUtils;
 
 /**
  * JSF {@link Converter} designed for use with {@link UISelectMany} or {@link UISelectOne} components. The
@@ -34,28 +40,71 @@ import org.springframework.util.ObjectUtils;
  * provide a unique <tt>String</tt> for each {@link SelectItem#getValue() SelectItem value}. Unlike most
  * {@link Converter}s the {@link #getAsObject(FacesContext, UIComponent, String) getAsObject} method does not return a
  * new <tt>Object</tt> instance but instead returns the value from the matching parent component {@link SelectItem}.
+ * <p>
+ * The parent component {@link SelectItem}s are indexed by their <tt>String</tt> value the first time that
+ * {@link #getAsObject(FacesContext, UIComponent, String) getAsObject} is called for a request, the same index is then
+ * reused for all subsequent values submitted in that request.
  * 
  * @author Phillip Webb
  */
 public abstract class SelectItemsConverter implements Converter {
 
+	private static final Log logger = LogFactory.getLog(SelectItemsConverter.class);
+
 	public Object getAsObject(FacesContext context, UIComponent component, String value) {
-		SelectItem matchingSelectItem = null;
-		Iterator<SelectItem> iterator = getSelectItemsIterator(context, component);
-		while (iterator.hasNext()) {
-			SelectItem selectItem = iterator.next();
-			String stringValue = getAsString(context, component, selectItem.getValue());
-			if (ObjectUtils.nullSafeEquals(value, stringValue)) {
-				Assert.state(matchingSelectItem == null, "Multiple select items mapped to string value '" + stringValue
-						+ "' ensure that getAsString always returns a unique value");
-				matchingSelectItem = selectItem;
-			}
+		SelectItemsIndex index = getSelectItemsIndex(context, component, false);
+		if (!index.contains(value) && index.isCached()) {
+			index = getSelectItemsIndex(context, component, true);
 		}
+		Assert.state(!index.isDuplicate(value), "Multiple select items mapped to string value '" + value
+				+ "' ensure that getAsString always returns a unique value");
+		SelectItem matchingSelectItem = index.get(value);
 		Assert.state(matchingSelectItem != null, "No select item mapped to string value '" + value
 				+ "' ensure that getAsString always returns a consistent value");
 		return matchingSelectItem.getValue();
 	}
 
+	/**
+	 * Returns the {@link SelectItemsIndex} for the given component. Indexes are built once and cached in the
+	 * {@link FacesContext#getAttributes() faces context attributes} so that they can be reused for all submitted values
+	 * of the current request.
+	 * @param context the faces context
+	 * @param component the component
+	 * @param rebuild if any cached index should be rebuilt
+	 * @return the index
+	 */
+	private SelectItemsIndex getSelectItemsIndex(FacesContext context, UIComponent component, boolean rebuild) {
+		Map<Object, Object> attributes = context.getAttributes();
+		ComponentConversionKey key = null;
+		if (attributes != null) {
+			key = new ComponentConversionKey(SelectItemsConverter.class, this, context, component);
+			SelectItemsIndex index = (SelectItemsIndex) attributes.get(key);
+			if (index != null && !rebuild) {
+				return index;
+			}
+		}
+		SelectItemsIndex index = buildSelectItemsIndex(context, component, key != null);
+		if (key != null) {
+			attributes.put(key, index);
+		}
+		return index;
+	}
+
+	private SelectItemsIndex buildSelectItemsIndex(FacesContext context, UIComponent component, boolean cached) {
+		long startTime = System.nanoTime();
+		SelectItemsIndex index = new SelectItemsIndex(cached);
+		Iterator<SelectItem> iterator = getSelectItemsIterator(context, component);
+		while (iterator.hasNext()) {
+			SelectItem selectItem = iterator.next();
+			index.add(getAsString(context, component, selectItem.getValue()), selectItem);
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug("Indexed " + index.size() + " select items for component '" + component.getClientId(context)
+					+ "' in " + ((System.nanoTime() - startTime) / 1000) + " us");
+		}
+		return index;
+	}
+
 	/**
 	 * Factory method used to provide an {@link Iterator} for the {@link SelectItem}s managed by the parent component.
 	 * By default a {@link SelectItemsIterator} is returned.
@@ -66,4 +115,51 @@ public abstract class SelectItemsConverter implements Converter {
 	protected Iterator<SelectItem> getSelectItemsIterator(FacesContext context, UIComponent component) {
 		return new SelectItemsIterator(context, component);
 	}
+
+	/**
+	 * Index of {@link SelectItem}s keyed by the {@link #getAsString(FacesContext, UIComponent, Object) string value}.
+	 */
+	private static class SelectItemsIndex {
+
+		private final boolean cached;
+
+		private final Map<String, SelectItem> selectItems = new HashMap<String, SelectItem>();
+
+		private final Set<String> duplicates = new HashSet<String>();
+
+		private int size;
+
+		public SelectItemsIndex(boolean cached) {
+			this.cached = cached;
+		}
+
+		public void add(String stringValue, SelectItem selectItem) {
+			this.size++;
+			if (this.selectItems.containsKey(stringValue)) {
+				this.duplicates.add(stringValue);
+			} else {
+				this.selectItems.put(stringValue, selectItem);
+			}
+		}
+
+		public boolean isCached() {
+			return this.cached;
+		}
+
+		public boolean contains(String stringValue) {
+			return this.selectItems.containsKey(stringValue);
+		}
+
+		public boolean isDuplicate(String stringValue) {
+			return this.duplicates.contains(stringValue);
+		}
+
+		public SelectItem get(String stringValue) {
+			return this.selectItems.get(stringValue);
+		}
+
+		public int size() {
+			return this.size;
+		}
+	}
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems;
+
+import java.util.List;
+
+/**
+ * Strategy interface that can be used to load select item values on demand. Loaders are useful when a very large
+ * number of values are available since values are loaded a page at a time as they are rendered, rather than being held
+ * in memory. Values submitted on postback are converted using {@link #find(String)} rather than by loading all values.
+ * 
+ * @author Phillip Webb
+ * @param <T> the value type
+ * @see PageableSelectItemsLoader
+ * @see BatchSelectItemsLoader
+ * @see org.springframework.springfaces.selectitems.ui.UISelectItems
+ */
+public interface SelectItemsLoader<T> {
+
+	/**
+	 * Load a single page of values. Returning fewer values than the <tt>pageSize</tt>, or returning a {@link LastPage},
+	 * indicates that no further values are available.
+	 * @param pageNumber the page number (zero based)
+	 * @param pageSize the page size
+	 * @return the values for the page (never <tt>null</tt>)
+	 */
+	List<T> load(int pageNumber, int pageSize);
+
+	/**
+	 * Find the value that was converted to the specified string, usually by looking up the value by its ID.
+	 * @param stringValue the string value as returned from the
+	 * {@link javax.faces.convert.Converter#getAsString(javax.faces.context.FacesContext, javax.faces.component.UIComponent, Object)
+	 * converter}
+	 * @return the value or <tt>null</tt> if no value can be found
+	 */
+	T find(String stringValue);
+}
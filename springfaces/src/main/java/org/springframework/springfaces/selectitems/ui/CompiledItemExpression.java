@@ -0,0 +1,192 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems.ui;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.el.ELException;
+import javax.el.ValueExpression;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.util.LruCache;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * A compiled form of a simple item {@link ValueExpression} of the form <tt>#{var}</tt> or <tt>#{var.property}</tt>.
+ * Compiled expressions obtain values directly from the item using cached property read methods rather than using the
+ * full EL resolver chain. Expressions that cannot be compiled are evaluated in the usual way.
+ * 
+ * @author Phillip Webb
+ */
+final class CompiledItemExpression {
+
+	/**
+	 * Value returned from {@link #getValue(Object)} when the expression cannot be resolved directly and should be
+	 * evaluated using EL.
+	 */
+	public static final Object UNRESOLVED = new Object();
+
+	private static final Pattern PATTERN = Pattern
+			.compile("^[#$]\\{\\s*([A-Za-z_$][\\w$]*)((?:\\.[A-Za-z_$][\\w$]*)*)\\s*\\}$");
+
+	private static final Set<String> IMPLICIT_OBJECTS = Collections.unmodifiableSet(new HashSet<String>(Arrays
+			.asList("application", "applicationScope", "cc", "component", "cookie", "facesContext", "flash", "header",
+					"headerValues", "initParam", "param", "paramValues", "request", "requestScope", "resource",
+					"session", "sessionScope", "view", "viewScope")));
+
+	private static final CompiledItemExpression NOT_COMPILABLE = new CompiledItemExpression(new String[] {});
+
+	private static final int CACHE_SIZE = 256;
+
+	private static final LruCache<String, CompiledItemExpression> cache = new LruCache<String, CompiledItemExpression>(
+			CACHE_SIZE);
+
+	private static volatile long cacheGeneration = -1;
+
+	private final PropertyAccessor[] accessors;
+
+	private CompiledItemExpression(String[] properties) {
+		this.accessors = new PropertyAccessor[properties.length];
+		for (int i = 0; i < properties.length; i++) {
+			this.accessors[i] = new PropertyAccessor(properties[i]);
+		}
+	}
+
+	/**
+	 * Returns the value of the expression for the given item.
+	 * @param item the item
+	 * @return the value or {@link #UNRESOLVED}
+	 */
+	public Object getValue(Object item) {
+		Object value = item;
+		for (PropertyAccessor accessor : this.accessors) {
+			if (value == null) {
+				return null;
+			}
+			value = accessor.getValue(value);
+			if (value == UNRESOLVED) {
+				return UNRESOLVED;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Compile the given value expression.
+	 * @param valueExpression the value expression
+	 * @param var the name of the item variable
+	 * @return a compiled expression or <tt>null</tt> if the expression must be evaluated using EL
+	 */
+	public static CompiledItemExpression compile(ValueExpression valueExpression, String var) {
+		if (valueExpression == null || valueExpression.isLiteralText() || IMPLICIT_OBJECTS.contains(var)) {
+			return null;
+		}
+		Class<?> expectedType = valueExpression.getExpectedType();
+		if (expectedType != null && !Object.class.equals(expectedType)) {
+			return null;
+		}
+		String expressionString = valueExpression.getExpressionString();
+		String key = var + ":" + expressionString;
+		LruCache<String, CompiledItemExpression> cache = getCache();
+		CompiledItemExpression compiled = cache.get(key);
+		if (compiled == null) {
+			compiled = doCompile(expressionString, var);
+			cache.put(key, compiled);
+		}
+		return (compiled == NOT_COMPILABLE ? null : compiled);
+	}
+
+	private static CompiledItemExpression doCompile(String expressionString, String var) {
+		Matcher matcher = (expressionString == null ? null : PATTERN.matcher(expressionString));
+		if (matcher == null || !matcher.matches() || !matcher.group(1).equals(var)) {
+			return NOT_COMPILABLE;
+		}
+		String path = matcher.group(2);
+		String[] properties = (path.length() == 0 ? new String[] {} : StringUtils.tokenizeToStringArray(path, "."));
+		return new CompiledItemExpression(properties);
+	}
+
+	private static LruCache<String, CompiledItemExpression> getCache() {
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		if (cacheGeneration != generation) {
+			cache.clear();
+			cacheGeneration = generation;
+		}
+		return cache;
+	}
+
+	/**
+	 * Provides access to a single property using read methods cached for each item class.
+	 */
+	private static class PropertyAccessor {
+
+		private static final Object NO_READ_METHOD = new Object();
+
+		private final String name;
+
+		private final Map<Class<?>, Object> readMethods = new ConcurrentHashMap<Class<?>, Object>();
+
+		public PropertyAccessor(String name) {
+			this.name = name;
+		}
+
+		public Object getValue(Object base) {
+			if (base instanceof Map || base instanceof List || base instanceof ResourceBundle
+					|| base.getClass().isArray()) {
+				return UNRESOLVED;
+			}
+			Object readMethod = getReadMethod(base.getClass());
+			if (readMethod == NO_READ_METHOD) {
+				return UNRESOLVED;
+			}
+			try {
+				return ((Method) readMethod).invoke(base);
+			} catch (IllegalAccessException e) {
+				return UNRESOLVED;
+			} catch (InvocationTargetException e) {
+				throw new ELException(e.getCause());
+			}
+		}
+
+		private Object getReadMethod(Class<?> type) {
+			Object readMethod = this.readMethods.get(type);
+			if (readMethod == null) {
+				PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, this.name);
+				Method method = (descriptor == null ? null : descriptor.getReadMethod());
+				if (method != null) {
+					ReflectionUtils.makeAccessible(method);
+				}
+				readMethod = (method == null ? NO_READ_METHOD : method);
+				this.readMethods.put(type, readMethod);
+			}
+			return readMethod;
+		}
+	}
+}
@@ -19,7 +19,6 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.concurrent.Callable;
 
 import javax.faces.component.UIComponent;
 import javax.faces.component.UISelectItem;
@@ -30,7 +29,7 @@ import javax.faces.context.FacesContext;
 import javax.faces.model.SelectItem;
 
 import org.springframework.springfaces.selectitems.SelectItems;
-import org.springframework.springfaces.util.FacesUtils;
+import org.springframework.springfaces.expression.el.LocalVariables;
 import org.springframework.util.Assert;
 
 /**
@@ -110,22 +109,23 @@ public class SelectItemsIterator implements Iterator<SelectItem> {
 		final String var = (String) component.getAttributes().get("var");
 		SelectItems selectItems = new SelectItems(component.getValue()) {
 			@Override
-			protected SelectItem convertToSelectItem(final Object value) {
-				return FacesUtils.doWithRequestScopeVariable(SelectItemsIterator.this.context, var, value,
-						new Callable<SelectItem>() {
-							public SelectItem call() throws Exception {
-								Map<String, Object> attrs = component.getAttributes();
-								Object itemValue = firstNonNullValue(attrs.get("itemValue"), value);
-								String itemLabel = getStringValue(firstNonNullValue(attrs.get("itemLabel"), itemValue));
-								SelectItem item = new SelectItem(itemValue, itemLabel);
-								item.setDescription(getStringValue(attrs.get("itemDescription")));
-								item.setEscape(getBooleanValue(attrs.get("itemLabelEscaped")));
-								item.setDisabled(getBooleanValue(attrs.get("itemDisabled")));
-								item.setNoSelectionOption(getBooleanValue(firstNonNullValue(
-										attrs.get("noSelectionOption"), attrs.get("noSelectionValue"))));
-								return item;
-							}
-						});
+			protected SelectItem convertToSelectItem(Object value) {
+				LocalVariables variables = LocalVariables.get(SelectItemsIterator.this.context);
+				variables.push(var, value);
+				try {
+					Map<String, Object> attrs = component.getAttributes();
+					Object itemValue = firstNonNullValue(attrs.get("itemValue"), value);
+					String itemLabel = getStringValue(firstNonNullValue(attrs.get("itemLabel"), itemValue));
+					SelectItem item = new SelectItem(itemValue, itemLabel);
+					item.setDescription(getStringValue(attrs.get("itemDescription")));
+					item.setEscape(getBooleanValue(attrs.get("itemLabelEscaped")));
+					item.setDisabled(getBooleanValue(attrs.get("itemDisabled")));
+					item.setNoSelectionOption(getBooleanValue(firstNonNullValue(attrs.get("noSelectionOption"),
+							attrs.get("noSelectionValue"))));
+					return item;
+				} finally {
+					variables.pop();
+				}
 			}
 		};
 		return selectItems.iterator();
@@ -17,13 +17,17 @@ package org.springframework.springfaces.selectitems.ui;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Id;
 
+import org.springframework.beans.factory.BeanFactoryUtils;
+import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.springfaces.SpringFacesIntegration;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 import org.springframework.util.ReflectionUtils.FieldCallback;
@@ -42,12 +46,25 @@ abstract class SelectItemsJpaSupport {
 	 * @param value the value to get the ID from
 	 * @return The entity ID or <tt>null</tt>
 	 */
-	public abstract Object getEntityId(Object value);
+	public final Object getEntityId(Object value) {
+		return getEntityId(null, value);
+	}
+
+	/**
+	 * Return the entity ID of the specified <tt>value</tt> or </tt>null</tt> if the value is not an entity or does not
+	 * contain an ID. If the application context contains a single JPA 2 {@link EntityManagerFactory} the
+	 * <tt>PersistenceUnitUtil</tt> will be used to obtain the ID, this allows IDs to be read from lazy proxies without
+	 * initializing them.
+	 * @param applicationContext the application context (can be <tt>null</tt>)
+	 * @param value the value to get the ID from
+	 * @return The entity ID or <tt>null</tt>
+	 */
+	public abstract Object getEntityId(ApplicationContext applicationContext, Object value);
 
 	private static boolean hasJpa = ClassUtils.isPresent("javax.persistence.Entity",
 			SelectItemsJpaSupport.class.getClassLoader());
 
-	private static SelectItemsJpaSupport instance;
+	private static volatile SelectItemsJpaSupport instance;
 
 	public static SelectItemsJpaSupport getInstance() {
 		if (instance == null) {
@@ -67,66 +84,188 @@ abstract class SelectItemsJpaSupport {
 
 	private static class NoJpa extends SelectItemsJpaSupport {
 		@Override
-		public String getEntityId(Object value) {
+		public String getEntityId(ApplicationContext applicationContext, Object value) {
 			return null;
 		}
 	}
 
 	private static class HasJpa extends SelectItemsJpaSupport {
 
-		private Map<Class<?>, Object> cache = new HashMap<Class<?>, Object>();
+		/**
+		 * Accessors keyed by value class, classes that are not entities (or that have no ID) are mapped to
+		 * {@link #NO_ID}.
+		 */
+		private final Map<Class<?>, IdAccessor> accessors = new ConcurrentHashMap<Class<?>, IdAccessor>();
+
+		private volatile PersistenceUnitUtilIdAccessor persistenceUnitUtilIdAccessor;
 
 		@Override
-		public Object getEntityId(Object value) {
-			try {
-				Class<? extends Object> valueClass = value.getClass();
-				if (AnnotationUtils.findAnnotation(valueClass, Entity.class) != null) {
-					addCacheOfMissing(valueClass);
-					Object fieldOrMethod = this.cache.get(valueClass);
-					if (fieldOrMethod instanceof Field) {
-						return ReflectionUtils.getField((Field) fieldOrMethod, value);
-					}
-					if (fieldOrMethod instanceof Method) {
-						return ReflectionUtils.invokeMethod((Method) fieldOrMethod, value);
-					}
+		public Object getEntityId(ApplicationContext applicationContext, Object value) {
+			if (value == null) {
+				return null;
+			}
+			IdAccessor accessor = getIdAccessor(value.getClass());
+			if (accessor == NO_ID) {
+				return null;
+			}
+			PersistenceUnitUtilIdAccessor persistenceUnitUtilIdAccessor = getPersistenceUnitUtilIdAccessor(applicationContext);
+			if (persistenceUnitUtilIdAccessor != null) {
+				try {
+					return persistenceUnitUtilIdAccessor.getId(value);
+				} catch (IllegalArgumentException e) {
+					// Not managed by the persistence unit, fall back to the annotated field or method
 				}
-			} catch (Exception e) {
 			}
-			return null;
+			return accessor.getId(value);
 		}
 
-		private void addCacheOfMissing(final Class<?> valueClass) {
-			if (!this.cache.containsKey(valueClass)) {
-				addIdFieldToCache(valueClass);
-			}
-			if (!this.cache.containsKey(valueClass)) {
-				addIdMethodToCache(valueClass);
-			}
-			if (!this.cache.containsKey(valueClass)) {
-				this.cache.put(valueClass, null);
+		private IdAccessor getIdAccessor(Class<?> valueClass) {
+			IdAccessor accessor = this.accessors.get(valueClass);
+			if (accessor == null) {
+				accessor = NO_ID;
+				if (AnnotationUtils.findAnnotation(valueClass, Entity.class) != null) {
+					accessor = findIdFieldAccessor(valueClass);
+					if (accessor == null) {
+						accessor = findIdMethodAccessor(valueClass);
+					}
+				}
+				accessor = (accessor == null ? NO_ID : accessor);
+				this.accessors.put(valueClass, accessor);
 			}
+			return accessor;
 		}
 
-		private void addIdFieldToCache(final Class<?> valueClass) {
+		private IdAccessor findIdFieldAccessor(Class<?> valueClass) {
+			final IdAccessor[] accessor = new IdAccessor[1];
 			ReflectionUtils.doWithFields(valueClass, new FieldCallback() {
 				public void doWith(Field field) throws IllegalArgumentException, IllegalAccessException {
-					if (field.getAnnotation(Id.class) != null) {
-						field.setAccessible(true);
-						HasJpa.this.cache.put(valueClass, field);
+					if (accessor[0] == null && field.getAnnotation(Id.class) != null) {
+						accessor[0] = new FieldIdAccessor(field);
 					}
 				}
 			});
+			return accessor[0];
 		}
 
-		private void addIdMethodToCache(final Class<?> valueClass) {
+		private IdAccessor findIdMethodAccessor(Class<?> valueClass) {
+			final IdAccessor[] accessor = new IdAccessor[1];
 			ReflectionUtils.doWithMethods(valueClass, new MethodCallback() {
 				public void doWith(Method method) throws IllegalArgumentException, IllegalAccessException {
-					if (AnnotationUtils.getAnnotation(method, Id.class) != null) {
-						method.setAccessible(true);
-						HasJpa.this.cache.put(valueClass, method);
+					if (accessor[0] == null && AnnotationUtils.getAnnotation(method, Id.class) != null) {
+						accessor[0] = new MethodIdAccessor(method);
 					}
 				}
 			});
+			return accessor[0];
+		}
+
+		private PersistenceUnitUtilIdAccessor getPersistenceUnitUtilIdAccessor(ApplicationContext applicationContext) {
+			if (applicationContext == null) {
+				return null;
+			}
+			long generation = SpringFacesIntegration.getRefreshGeneration();
+			PersistenceUnitUtilIdAccessor accessor = this.persistenceUnitUtilIdAccessor;
+			if (accessor == null || !accessor.isFor(applicationContext, generation)) {
+				accessor = new PersistenceUnitUtilIdAccessor(applicationContext, generation);
+				this.persistenceUnitUtilIdAccessor = accessor;
+			}
+			return (accessor.isAvailable() ? accessor : null);
+		}
+	}
+
+	/**
+	 * Strategy used to read an ID from an entity.
+	 */
+	private static interface IdAccessor {
+		Object getId(Object entity);
+	}
+
+	private static final IdAccessor NO_ID = new IdAccessor() {
+		public Object getId(Object entity) {
+			return null;
+		}
+	};
+
+	/**
+	 * {@link IdAccessor} for <tt>@Id</tt> annotated fields.
+	 */
+	private static class FieldIdAccessor implements IdAccessor {
+
+		private final Field field;
+
+		public FieldIdAccessor(Field field) {
+			ReflectionUtils.makeAccessible(field);
+			this.field = field;
+		}
+
+		public Object getId(Object entity) {
+			return ReflectionUtils.getField(this.field, entity);
+		}
+	}
+
+	/**
+	 * {@link IdAccessor} for <tt>@Id</tt> annotated methods.
+	 */
+	private static class MethodIdAccessor implements IdAccessor {
+
+		private final Method method;
+
+		public MethodIdAccessor(Method method) {
+			ReflectionUtils.makeAccessible(method);
+			this.method = method;
+		}
+
+		public Object getId(Object entity) {
+			return ReflectionUtils.invokeMethod(this.method, entity);
+		}
+	}
+
+	/**
+	 * {@link IdAccessor} that uses the JPA 2 <tt>PersistenceUnitUtil</tt> of the single {@link EntityManagerFactory}
+	 * contained in an {@link ApplicationContext}. Methods are resolved reflectively so that JPA 1 remains supported.
+	 */
+	private static class PersistenceUnitUtilIdAccessor implements IdAccessor {
+
+		private final ApplicationContext applicationContext;
+
+		private final long generation;
+
+		private Object persistenceUnitUtil;
+
+		private Method getIdentifierMethod;
+
+		public PersistenceUnitUtilIdAccessor(ApplicationContext applicationContext, long generation) {
+			this.applicationContext = applicationContext;
+			this.generation = generation;
+			Map<String, EntityManagerFactory> entityManagerFactories = BeanFactoryUtils.beansOfTypeIncludingAncestors(
+					applicationContext, EntityManagerFactory.class);
+			if (entityManagerFactories.size() == 1) {
+				EntityManagerFactory entityManagerFactory = entityManagerFactories.values().iterator().next();
+				Method method = ReflectionUtils.findMethod(entityManagerFactory.getClass(), "getPersistenceUnitUtil");
+				if (method != null) {
+					ReflectionUtils.makeAccessible(method);
+					this.persistenceUnitUtil = ReflectionUtils.invokeMethod(method, entityManagerFactory);
+				}
+				if (this.persistenceUnitUtil != null) {
+					this.getIdentifierMethod = ReflectionUtils.findMethod(this.persistenceUnitUtil.getClass(),
+							"getIdentifier", Object.class);
+				}
+				if (this.getIdentifierMethod != null) {
+					ReflectionUtils.makeAccessible(this.getIdentifierMethod);
+				}
+			}
+		}
+
+		public boolean isFor(ApplicationContext applicationContext, long generation) {
+			return this.applicationContext == applicationContext && this.generation == generation;
+		}
+
+		public boolean isAvailable() {
+			return this.getIdentifierMethod != null;
+		}
+
+		public Object getId(Object entity) {
+			return ReflectionUtils.invokeMethod(this.getIdentifierMethod, this.persistenceUnitUtil, entity);
 		}
 	}
 }
@@ -15,19 +15,25 @@
  */
 package org.springframework.springfaces.selectitems.ui;
 
+import java.io.Serializable;
+import java.util.AbstractCollection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.NoSuchElementException;
 
 import javax.el.ELContext;
 import javax.el.ValueExpression;
+import javax.faces.component.EditableValueHolder;
 import javax.faces.component.UIComponent;
 import javax.faces.component.UIComponentBase;
 import javax.faces.component.UISelectMany;
@@ -36,6 +42,7 @@ import javax.faces.component.ValueHolder;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
+import javax.faces.event.PhaseId;
 import javax.faces.model.DataModel;
 import javax.faces.model.SelectItem;
 
@@ -43,12 +50,18 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.MessageSource;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.springfaces.SpringFacesIntegration;
+import org.springframework.springfaces.convert.BatchConverter;
+import org.springframework.springfaces.convert.BatchConverterUtils;
 import org.springframework.springfaces.expression.el.ELUtils;
-import org.springframework.springfaces.message.NoSuchObjectMessageException;
+import org.springframework.springfaces.expression.el.LocalVariables;
 import org.springframework.springfaces.message.ObjectMessageSource;
 import org.springframework.springfaces.message.ObjectMessageSourceUtils;
+import org.springframework.springfaces.selectitems.BatchSelectItemsLoader;
+import org.springframework.springfaces.selectitems.LastPage;
 import org.springframework.springfaces.selectitems.SelectItemsConverter;
+import org.springframework.springfaces.selectitems.SelectItemsLoader;
 import org.springframework.springfaces.util.FacesUtils;
+import org.springframework.springfaces.util.LruCache;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -61,6 +74,7 @@ import org.springframework.util.ObjectUtils;
  * <li>An {@link Object} Array</li>
  * <li>A {@link String} containing a comma separated list of values</li>
  * <li>A {@link DataModel}</li>
+ * <li>A {@link SelectItemsLoader}</li>
  * </ul>
  * In addition it is possible to omit the {@link #getValue() value} attribute entirely when the parent component is
  * bound to a value of the following type:
@@ -74,7 +88,9 @@ import org.springframework.util.ObjectUtils;
  * {@link #isItemLabelEscaped() itemLabelEscaped}, {@link #getItemDescription() itemDescription},
  * {@link #isItemDisabled() itemDisabled} and {@link #getNoSelectionValue() noSelectionValue} attributes. Each of these
  * may make reference to the item value using via a EL variable (the name of the variable defaults to <tt>item</tt> but
- * can be changed using the {@link #getVar() var} attribute).
+ * can be changed using the {@link #getVar() var} attribute). Simple expressions such as <tt>#{item}</tt> or
+ * <tt>#{item.name}</tt> are read directly from the item using cached property accessors rather than being evaluated for
+ * each item using EL.
  * <p>
  * For example:
  * 
@@ -85,8 +101,7 @@ import org.springframework.util.ObjectUtils;
  * <p>
  * If not explicitly specified the {@link #getItemLabel() itemLabel} will be deduced. If the Spring
  * {@link ApplicationContext} is linked to an {@link ObjectMessageSource} then this will be used to construct the label,
- * otherwise the <tt>toString()</tt> value will be used ({@link NoSuchObjectMessageException}s will be silently
- * ignored).
+ * otherwise the <tt>toString()</tt> value will be used.
  * <p>
  * If the parent component does not have a JSF {@link Converter} defined then a {@link SelectItemsConverter} will be
  * automatically attached. The {@link #getItemConverterStringValue() itemConverterStringValue} attribute will be used as
@@ -100,6 +115,22 @@ import org.springframework.util.ObjectUtils;
  * By default a {@link SelectItem#isNoSelectionOption() noSelectionOption} {@link SelectItem} will by added if the
  * parent is a {@link UISelectOne} component. The {@link #setIncludeNoSelectionOption(Boolean) includeNoSelectionOption}
  * attribute can be used to override this behavior.
+ * <p>
+ * When the {@link #getValue() value} is a {@link SelectItemsLoader} values are loaded a {@link #getPageSize() page}
+ * at a time as they are rendered so that very large lists can be displayed with bounded memory. Submitted values are
+ * converted using {@link SelectItemsLoader#find(String)}. Note that JSF may still iterate all items in order to
+ * validate a submitted value.
+ * <p>
+ * The {@link #setSaveItemIndex(boolean) saveItemIndex} attribute can be used to save a compact index of the rendered
+ * items in the component state. On postback submitted values are then converted and validated using the saved index
+ * so that the {@link #getValue() value} does not need to be evaluated again. Only submitted values that require
+ * loading are found using the {@link SelectItemsLoader} or the converter of the parent component. A separate index is
+ * saved for each row when the component is used inside a data table.
+ * <p>
+ * Select items deduced from a {@link Boolean} or {@link Enum} parent value are identical for every request with the
+ * same locale and so are shared in an application wide cache whenever the item attributes do not contain value
+ * expressions. The {@link #setCacheDeducedItems(Boolean) cacheDeducedItems} attribute can be used to override this
+ * behavior.
  * 
  * @author Phillip Webbb
  * @author Pedro Casagrande de Campos
@@ -135,6 +166,25 @@ public class UISelectItems extends UIComponentBase {
 
 	private static final Object[] BOOLEAN_VALUES = { true, false };
 
+	private static final int DEFAULT_PAGE_SIZE = 100;
+
+	private static final PropertyKeys[] ITEM_PROPERTY_KEYS = { PropertyKeys.itemValue, PropertyKeys.itemLabel,
+			PropertyKeys.itemDescription, PropertyKeys.itemDisabled, PropertyKeys.itemLabelEscaped,
+			PropertyKeys.noSelectionValue };
+
+	private static final int DEDUCED_SELECT_ITEMS_CACHE_SIZE = 256;
+
+	/**
+	 * The application map attribute used to hold {@link DeducedSelectItemsCache}.
+	 */
+	private static final String DEDUCED_SELECT_ITEMS_CACHE_ATTRIBUTE = UISelectItems.class.getName()
+			+ ".DEDUCED_SELECT_ITEMS_CACHE";
+
+	/**
+	 * The request map attribute prefix used to hold {@link LoadedSelectItems} for each client ID.
+	 */
+	private static final String LOADED_SELECT_ITEMS_ATTRIBUTE = UISelectItems.class.getName() + ".LOADED_SELECT_ITEMS.";
+
 	private ExposedUISelectItems exposedUISelectItems = new ExposedUISelectItems();
 
 	private UISelectItemsConverter converter = new UISelectItemsConverter();
@@ -186,10 +236,15 @@ public class UISelectItems extends UIComponentBase {
 			FacesContext context = getFacesContext();
 			List<SelectItem> selectItems = new ArrayList<SelectItem>();
 			addNoSelectionOptionAsRequired(context, selectItems);
-			Iterable<Object> valueItems = getOrDeduceValues();
-			for (Object valueItem : valueItems) {
-				SelectItem selectItem = convertToSelectItem(context, valueItem);
-				selectItems.add(selectItem);
+			Object values = getValue();
+			if (values instanceof SelectItemsLoader) {
+				for (SelectItem selectItem : new LoadedSelectItems((SelectItemsLoader<?>) values, false)) {
+					selectItems.add(selectItem);
+				}
+			} else if (values != null) {
+				selectItems.addAll(convertToSelectItems(context, values));
+			} else {
+				selectItems.addAll(deduceSelectItemsFromParentComponent(context));
 			}
 			this.selectItems = selectItems;
 		}
@@ -197,18 +252,158 @@ public class UISelectItems extends UIComponentBase {
 
 	}
 
-	private void addNoSelectionOptionAsRequired(FacesContext context, List<SelectItem> selectItems) {
-		Boolean includeNoSelectionOption = getIncludeNoSelectionOption();
-		if (includeNoSelectionOption == null) {
-			includeNoSelectionOption = (getParent() instanceof UISelectOne);
+	/**
+	 * Returns the {@link SelectItem}s that should be exposed to the renderer. Items from a {@link SelectItemsLoader}
+	 * are loaded as the returned collection is iterated, all other items are returned from {@link #getSelectItems()}.
+	 * @return the select items to expose
+	 */
+	private Collection<SelectItem> getExposedSelectItems() {
+		if (isSaveItemIndex()) {
+			FacesContext context = getFacesContext();
+			if (PhaseId.RENDER_RESPONSE.equals(context.getCurrentPhaseId())) {
+				return new IndexingSelectItems(context, doGetExposedSelectItems());
+			}
+			SavedItemIndex index = getSavedItemIndex();
+			String[] submittedValues = getSubmittedValues();
+			if (index != null && submittedValues != null) {
+				return getSubmittedSelectItems(context, index, submittedValues);
+			}
+		}
+		return doGetExposedSelectItems();
+	}
+
+	private Collection<SelectItem> doGetExposedSelectItems() {
+		if (this.selectItems == null) {
+			SelectItemsLoader<?> loader = getSelectItemsLoader();
+			if (loader != null) {
+				return getLoadedSelectItems(getFacesContext(), loader);
+			}
+		}
+		return getSelectItems();
+	}
+
+	/**
+	 * Returns the {@link LoadedSelectItems} for the given loader, reusing any instance created for the same client ID
+	 * and loader earlier in the current request.
+	 * @param context the faces context
+	 * @param loader the select items loader
+	 * @return the loaded select items
+	 */
+	private LoadedSelectItems getLoadedSelectItems(FacesContext context, SelectItemsLoader<?> loader) {
+		Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
+		String attribute = LOADED_SELECT_ITEMS_ATTRIBUTE + getClientId(context);
+		boolean includeNoSelectionOption = isNoSelectionOptionIncluded();
+		Object loadedSelectItems = requestMap.get(attribute);
+		if (loadedSelectItems instanceof LoadedSelectItems
+				&& ((LoadedSelectItems) loadedSelectItems).isFor(loader, includeNoSelectionOption)) {
+			return (LoadedSelectItems) loadedSelectItems;
+		}
+		LoadedSelectItems created = new LoadedSelectItems(loader, includeNoSelectionOption);
+		requestMap.put(attribute, created);
+		return created;
+	}
+
+	/**
+	 * Returns the saved item index for the current row or <tt>null</tt> if the index should not be used. The index is
+	 * never used when state is saved on the client since the client could alter it.
+	 * @return the saved item index or <tt>null</tt>
+	 */
+	private SavedItemIndex getSavedItemIndex() {
+		FacesContext context = getFacesContext();
+		if (!isSaveItemIndex() || PhaseId.RENDER_RESPONSE.equals(context.getCurrentPhaseId())
+				|| isSavingStateInClient(context)) {
+			return null;
 		}
-		if (includeNoSelectionOption) {
+		Map<String, SavedItemIndex> indexes = getSavedItemIndexes();
+		return (indexes == null ? null : indexes.get(getClientId(context)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, SavedItemIndex> getSavedItemIndexes() {
+		return (Map<String, SavedItemIndex>) getStateHelper().get(PropertyKeys.savedItemIndex);
+	}
+
+	private boolean isSavingStateInClient(FacesContext context) {
+		return context.getApplication().getStateManager().isSavingStateInClient(context);
+	}
+
+	/**
+	 * Returns the values submitted to the parent component or <tt>null</tt> if there is no submitted value. Note that
+	 * JSF clears the submitted value once it has been validated.
+	 * @return the submitted values or <tt>null</tt>
+	 */
+	private String[] getSubmittedValues() {
+		UIComponent parent = getParent();
+		Object submittedValue = (parent instanceof EditableValueHolder ? ((EditableValueHolder) parent)
+				.getSubmittedValue() : null);
+		if (submittedValue instanceof String) {
+			return new String[] { (String) submittedValue };
+		}
+		return (submittedValue instanceof String[] ? (String[]) submittedValue : null);
+	}
+
+	/**
+	 * Returns {@link SelectItem}s for the values submitted to the parent component, as found in the saved index.
+	 * Submitted values that were not rendered are not included.
+	 * @param context the faces context
+	 * @param index the saved item index
+	 * @param submittedValues the submitted values
+	 * @return the submitted select items
+	 */
+	private List<SelectItem> getSubmittedSelectItems(FacesContext context, SavedItemIndex index,
+			String[] submittedValues) {
+		List<SelectItem> selectItems = new ArrayList<SelectItem>();
+		UIComponent parent = getParent();
+		Converter converter = getParentConverter();
+		for (String stringValue : submittedValues) {
+			if (index.contains(stringValue)) {
+				Object value = (index.isLoaded(stringValue) ? converter.getAsObject(context, parent, stringValue)
+						: index.getValue(stringValue));
+				selectItems.add(new SelectItem(value, stringValue, null, false, true, index
+						.isNoSelectionOption(stringValue)));
+			}
+		}
+		return selectItems;
+	}
+
+	private Converter getParentConverter() {
+		Converter converter = null;
+		if (getParent() instanceof ValueHolder) {
+			converter = ((ValueHolder) getParent()).getConverter();
+		}
+		return (converter == null ? this.converter : converter);
+	}
+
+	private SelectItemsLoader<?> getSelectItemsLoader() {
+		Object value = getValue();
+		return (value instanceof SelectItemsLoader ? (SelectItemsLoader<?>) value : null);
+	}
+
+	private List<SelectItem> convertToSelectItems(FacesContext context, Object values) {
+		List<SelectItem> selectItems = new ArrayList<SelectItem>();
+		ItemPropertyEvaluator evaluator = new ItemPropertyEvaluator();
+		for (Object valueItem : asIterable(values)) {
+			selectItems.add(convertToSelectItem(context, valueItem, evaluator));
+		}
+		return selectItems;
+	}
+
+	private void addNoSelectionOptionAsRequired(FacesContext context, Collection<SelectItem> selectItems) {
+		if (isNoSelectionOptionIncluded()) {
 			SelectItem item = createNoSelectionOption(context);
 			Assert.state(item != null, "No select item created");
 			selectItems.add(item);
 		}
 	}
 
+	private boolean isNoSelectionOptionIncluded() {
+		Boolean includeNoSelectionOption = getIncludeNoSelectionOption();
+		if (includeNoSelectionOption == null) {
+			includeNoSelectionOption = (getParent() instanceof UISelectOne);
+		}
+		return includeNoSelectionOption;
+	}
+
 	/**
 	 * Create the {@link SelectItem} for any {@link #getIncludeNoSelectionOption() included} noSelectionOption item.
 	 * @param context the faces context
@@ -223,11 +418,7 @@ public class UISelectItems extends UIComponentBase {
 	}
 
 	@SuppressWarnings("unchecked")
-	private Iterable<Object> getOrDeduceValues() {
-		Object values = getValue();
-		if (values == null) {
-			values = deduceValuesFromParentComponent();
-		}
+	private Iterable<Object> asIterable(Object values) {
 		if (values instanceof String) {
 			String[] stringValues = ((String) values).split(",");
 			for (int i = 0; i < stringValues.length; i++) {
@@ -243,16 +434,102 @@ public class UISelectItems extends UIComponentBase {
 		return (Iterable<Object>) values;
 	}
 
-	private Object deduceValuesFromParentComponent() {
+	private List<SelectItem> deduceSelectItemsFromParentComponent(FacesContext context) {
 		ValueExpression valueExpression = getParent().getValueExpression("value");
 		Assert.notNull(valueExpression,
 				"The 'value' attribute is requred as the parent component does not have a bound 'value'");
-		TypeDescriptor type = getTypeDescriptor(valueExpression, getFacesContext().getELContext());
+		TypeDescriptor type = getTypeDescriptor(valueExpression, context.getELContext());
+		DeducedSelectItemsKey key = getDeducedSelectItemsKey(context, type);
+		List<SelectItem> cachedSelectItems = (key == null ? null : getDeducedSelectItemsCache(context).get(key));
+		if (cachedSelectItems != null) {
+			return copySelectItems(cachedSelectItems);
+		}
 		Object valueForType = deduceValuesForType(type);
 		Assert.notNull(valueForType,
 				"The 'value' attribute is requred as select items cannot be deduced from parent componenet 'value' expression '"
 						+ valueExpression + "'");
-		return valueForType;
+		List<SelectItem> selectItems = convertToSelectItems(context, valueForType);
+		if (key != null && isCopyable(selectItems)) {
+			// Cache a private copy so that changes made to the returned items cannot leak between requests
+			getDeducedSelectItemsCache(context).put(key, Collections.unmodifiableList(copySelectItems(selectItems)));
+		}
+		return selectItems;
+	}
+
+	private boolean isCopyable(List<SelectItem> selectItems) {
+		for (SelectItem selectItem : selectItems) {
+			if (selectItem.getClass() != SelectItem.class) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private List<SelectItem> copySelectItems(List<SelectItem> selectItems) {
+		List<SelectItem> copy = new ArrayList<SelectItem>(selectItems.size());
+		for (SelectItem selectItem : selectItems) {
+			copy.add(new SelectItem(selectItem.getValue(), selectItem.getLabel(), selectItem.getDescription(),
+					selectItem.isDisabled(), selectItem.isEscape(), selectItem.isNoSelectionOption()));
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns the key that should be used to cache items deduced for the given type or <tt>null</tt> if the items
+	 * cannot be cached.
+	 * @param context the faces context
+	 * @param type the type being deduced
+	 * @return the cache key or <tt>null</tt>
+	 */
+	private DeducedSelectItemsKey getDeducedSelectItemsKey(FacesContext context, TypeDescriptor type) {
+		Boolean cacheDeducedItems = getCacheDeducedItems();
+		if (Boolean.FALSE.equals(cacheDeducedItems)) {
+			return null;
+		}
+		if (type.isArray() || type.isCollection()) {
+			type = type.getElementTypeDescriptor();
+		}
+		if (type == null || !isCacheableType(type.getType())) {
+			return null;
+		}
+		Object[] itemProperties = new Object[ITEM_PROPERTY_KEYS.length];
+		for (int i = 0; i < ITEM_PROPERTY_KEYS.length; i++) {
+			ValueExpression valueExpression = getValueExpression(ITEM_PROPERTY_KEYS[i].toString());
+			if (valueExpression != null && !valueExpression.isLiteralText()) {
+				if (cacheDeducedItems == null) {
+					return null;
+				}
+				itemProperties[i] = valueExpression.getExpressionString();
+			} else {
+				itemProperties[i] = getStateHelper().eval(ITEM_PROPERTY_KEYS[i]);
+			}
+		}
+		MessageSource messageSource = getMessageSource();
+		Object messageSourceKey = (messageSource != null ? messageSource : getApplicationContext(context));
+		return new DeducedSelectItemsKey(getClass(), type.getType(), FacesUtils.getLocale(context), messageSourceKey,
+				getVar(DEFAULT_VAR), itemProperties);
+	}
+
+	private boolean isCacheableType(Class<?> classType) {
+		return Boolean.class.equals(classType) || Boolean.TYPE.equals(classType) || classType.isEnum();
+	}
+
+	/**
+	 * Returns the cache of deduced select items held in the application map, replacing it if the application context
+	 * has been refreshed.
+	 * @param context the faces context
+	 * @return the cache
+	 */
+	private LruCache<DeducedSelectItemsKey, List<SelectItem>> getDeducedSelectItemsCache(FacesContext context) {
+		Map<String, Object> applicationMap = context.getExternalContext().getApplicationMap();
+		long generation = SpringFacesIntegration.getRefreshGeneration();
+		DeducedSelectItemsCache cache = (DeducedSelectItemsCache) applicationMap
+				.get(DEDUCED_SELECT_ITEMS_CACHE_ATTRIBUTE);
+		if (cache == null || cache.getGeneration() != generation) {
+			cache = new DeducedSelectItemsCache(generation);
+			applicationMap.put(DEDUCED_SELECT_ITEMS_CACHE_ATTRIBUTE, cache);
+		}
+		return cache.getSelectItems();
 	}
 
 	/**
@@ -287,27 +564,29 @@ public class UISelectItems extends UIComponentBase {
 		return null;
 	}
 
-	private SelectItem convertToSelectItem(final FacesContext context, final Object valueItem) {
+	private SelectItem convertToSelectItem(FacesContext context, Object valueItem, ItemPropertyEvaluator evaluator) {
 		if (valueItem instanceof SelectItem) {
 			return (SelectItem) valueItem;
 		}
-		final String var = getVar(DEFAULT_VAR);
-		return FacesUtils.doWithRequestScopeVariable(context, var, valueItem, new Callable<SelectItem>() {
-			public SelectItem call() throws Exception {
-				Object value = getItemValue();
-				if (value == null) {
-					value = valueItem;
-				}
-				String label = getItemLabel(context, valueItem);
-				String description = getItemDescription();
-				boolean disabled = isItemDisabled();
-				boolean escape = isItemLabelEscaped();
-				Object noSelectionValue = getNoSelectionValue();
-				boolean noSelectionOption = noSelectionValue != null
-						&& ObjectUtils.nullSafeEquals(valueItem, noSelectionValue);
-				return new SelectItem(value, label, description, disabled, escape, noSelectionOption);
+		LocalVariables variables = LocalVariables.get(context);
+		variables.push(getVar(DEFAULT_VAR), valueItem);
+		try {
+			Object value = evaluator.eval(PropertyKeys.itemValue, valueItem, null);
+			if (value == null) {
+				value = valueItem;
 			}
-		});
+			String label = getItemLabel(context, valueItem,
+					(String) evaluator.eval(PropertyKeys.itemLabel, valueItem, null));
+			String description = (String) evaluator.eval(PropertyKeys.itemDescription, valueItem, null);
+			boolean disabled = (Boolean) evaluator.eval(PropertyKeys.itemDisabled, valueItem, false);
+			boolean escape = (Boolean) evaluator.eval(PropertyKeys.itemLabelEscaped, valueItem, true);
+			Object noSelectionValue = evaluator.eval(PropertyKeys.noSelectionValue, valueItem, null);
+			boolean noSelectionOption = noSelectionValue != null
+					&& ObjectUtils.nullSafeEquals(valueItem, noSelectionValue);
+			return new SelectItem(value, label, description, disabled, escape, noSelectionOption);
+		} finally {
+			variables.pop();
+		}
 	}
 
 	private String getVar(String defaultValue) {
@@ -315,15 +594,11 @@ public class UISelectItems extends UIComponentBase {
 		return (var != null ? var : defaultValue);
 	}
 
-	private String getItemLabel(FacesContext context, Object value) {
-		String itemLabel = getItemLabel();
+	private String getItemLabel(FacesContext context, Object value, String itemLabel) {
 		if (itemLabel == null) {
 			ObjectMessageSource messageSource = getObjectMessageSource(context);
 			Locale locale = FacesUtils.getLocale(context);
-			try {
-				itemLabel = messageSource.getMessage(value, null, locale);
-			} catch (NoSuchObjectMessageException e) {
-			}
+			itemLabel = ObjectMessageSourceUtils.findMessage(messageSource, value, null, locale);
 		}
 		if (itemLabel == null) {
 			itemLabel = deduceItemLabel(value);
@@ -371,15 +646,55 @@ public class UISelectItems extends UIComponentBase {
 	 * @return the converted <tt>String</tt> value
 	 * @see #deduceItemConverterStringValue(Object)
 	 */
-	protected final String getItemConverterStringValue(final Object value) {
-		String var = getVar(DEFAULT_VAR);
-		return FacesUtils.doWithRequestScopeVariable(getFacesContext(), var, value, new Callable<String>() {
-			public String call() throws Exception {
-				String itemConverterStringValue = getItemConverterStringValue();
-				return itemConverterStringValue == null ? deduceItemConverterStringValue(value)
-						: itemConverterStringValue;
+	protected final String getItemConverterStringValue(Object value) {
+		LocalVariables variables = LocalVariables.get(getFacesContext());
+		variables.push(getVar(DEFAULT_VAR), value);
+		try {
+			String itemConverterStringValue = getItemConverterStringValue();
+			return itemConverterStringValue == null ? deduceItemConverterStringValue(value) : itemConverterStringValue;
+		} finally {
+			variables.pop();
+		}
+	}
+
+	/**
+	 * Find the values for the given converter strings using the {@link SelectItemsLoader}. A
+	 * {@link BatchSelectItemsLoader} will be called once for all values.
+	 * @param loader the loader
+	 * @param stringValues the string values
+	 * @return a map of string values to item values
+	 */
+	private Map<String, Object> findLoadedItemValues(SelectItemsLoader<?> loader, Collection<String> stringValues) {
+		Map<String, ?> found = null;
+		if (loader instanceof BatchSelectItemsLoader) {
+			List<String> findValues = new ArrayList<String>(stringValues);
+			if (isNoSelectionOptionIncluded()) {
+				findValues.remove(getItemConverterStringValue(null));
 			}
-		});
+			found = ((BatchSelectItemsLoader<?>) loader).findAll(findValues);
+		}
+		Map<String, Object> itemValues = new HashMap<String, Object>();
+		for (String stringValue : stringValues) {
+			itemValues.put(stringValue, findLoadedItemValue(loader, stringValue, found));
+		}
+		return itemValues;
+	}
+
+	private Object findLoadedItemValue(SelectItemsLoader<?> loader, String stringValue, Map<String, ?> found) {
+		if (isNoSelectionOptionIncluded() && ObjectUtils.nullSafeEquals(stringValue, getItemConverterStringValue(null))) {
+			return null;
+		}
+		Object value = (found == null ? loader.find(stringValue) : found.get(stringValue));
+		Assert.state(value != null, "No select item mapped to string value '" + stringValue
+				+ "' ensure that the SelectItemsLoader can find all values");
+		LocalVariables variables = LocalVariables.get(getFacesContext());
+		variables.push(getVar(DEFAULT_VAR), value);
+		try {
+			Object itemValue = getItemValue();
+			return (itemValue == null ? value : itemValue);
+		} finally {
+			variables.pop();
+		}
 	}
 
 	/**
@@ -391,7 +706,8 @@ public class UISelectItems extends UIComponentBase {
 	 */
 	protected String deduceItemConverterStringValue(final Object value) {
 		if (value != null) {
-			Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(value);
+			Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(
+					getApplicationContext(getFacesContext()), value);
 			if (entityId != null) {
 				return entityId.toString();
 			}
@@ -612,8 +928,187 @@ public class UISelectItems extends UIComponentBase {
 		getStateHelper().put(PropertyKeys.messageSource, messageSource);
 	}
 
+	/**
+	 * Returns the number of values that should be requested from a {@link SelectItemsLoader} at a time. If not specified
+	 * a page size of 100 is used.
+	 * @return the page size
+	 */
+	public int getPageSize() {
+		return (Integer) getStateHelper().eval(PropertyKeys.pageSize, DEFAULT_PAGE_SIZE);
+	}
+
+	/**
+	 * Set the number of values that should be requested from a {@link SelectItemsLoader} at a time.
+	 * @param pageSize the page size
+	 * @see #getPageSize()
+	 */
+	public void setPageSize(int pageSize) {
+		getStateHelper().put(PropertyKeys.pageSize, pageSize);
+	}
+
+	/**
+	 * Returns if {@link SelectItem}s deduced from a {@link Boolean} or {@link Enum} parent value should be shared in an
+	 * application wide cache. If this value is not specified items are only cached when none of the
+	 * {@link #getItemValue() itemValue}, {@link #getItemLabel() itemLabel}, {@link #getItemDescription()
+	 * itemDescription}, {@link #isItemDisabled() itemDisabled}, {@link #isItemLabelEscaped() itemLabelEscaped} or
+	 * {@link #getNoSelectionValue() noSelectionValue} attributes are value expressions. Set to <tt>true</tt> to cache
+	 * items when these expressions only refer to the current {@link #getVar() var} or <tt>false</tt> to never cache
+	 * items.
+	 * @return if deduced items are cached
+	 */
+	public Boolean getCacheDeducedItems() {
+		return (Boolean) getStateHelper().eval(PropertyKeys.cacheDeducedItems);
+	}
+
+	/**
+	 * Sets if {@link SelectItem}s deduced from a {@link Boolean} or {@link Enum} parent value are cached.
+	 * @param cacheDeducedItems if deduced items are cached
+	 * @see #getCacheDeducedItems()
+	 */
+	public void setCacheDeducedItems(Boolean cacheDeducedItems) {
+		getStateHelper().put(PropertyKeys.cacheDeducedItems, cacheDeducedItems);
+	}
+
+	/**
+	 * Returns if a compact index of the rendered items should be saved in the component state and used to convert and
+	 * validate submitted values on postback. Using a saved index removes the need to evaluate the {@link #getValue()
+	 * value} again when a form is submitted. Only simple values (such as {@link String}s, {@link Number}s and
+	 * {@link Enum}s) are saved, other values are found on postback using the {@link SelectItemsLoader} or the converter
+	 * of the parent component. If neither is available the index will not be saved. Defaults to <tt>false</tt>.
+	 * <p>
+	 * The saved index is trusted as the list of valid items and so is only used when state is saved on the server. When
+	 * state is saved on the client the index is not saved and the {@link #getValue() value} is evaluated as usual.
+	 * The index is only used while the parent component has a submitted value; once JSF clears the submitted value
+	 * (after successful validation) the {@link #getValue() value} is evaluated if the items are required again.
+	 * @return if the item index should be saved
+	 */
+	public boolean isSaveItemIndex() {
+		return (Boolean) getStateHelper().eval(PropertyKeys.saveItemIndex, false);
+	}
+
+	/**
+	 * Sets if a compact index of the rendered items should be saved in the component state.
+	 * @param saveItemIndex if the item index should be saved
+	 * @see #isSaveItemIndex()
+	 */
+	public void setSaveItemIndex(boolean saveItemIndex) {
+		getStateHelper().put(PropertyKeys.saveItemIndex, saveItemIndex);
+	}
+
 	private enum PropertyKeys {
-		value, var, itemValue, itemLabel, itemDescription, itemDisabled, itemLabelEscaped, itemConverterStringValue, noSelectionValue, includeNoSelectionOption, messageSource
+		value, var, itemValue, itemLabel, itemDescription, itemDisabled, itemLabelEscaped, itemConverterStringValue, noSelectionValue, includeNoSelectionOption, messageSource, cacheDeducedItems, pageSize, saveItemIndex, savedItemIndex
+	}
+
+	/**
+	 * Evaluates the item properties used when converting values to {@link SelectItem}s. Simple expressions that only
+	 * access properties of the current {@link #getVar() var} are {@link CompiledItemExpression compiled} when the
+	 * evaluator is created, all other properties are evaluated using the {@link #getStateHelper() state helper}.
+	 */
+	private class ItemPropertyEvaluator {
+
+		private final Map<PropertyKeys, CompiledItemExpression> compiledExpressions = new EnumMap<PropertyKeys, CompiledItemExpression>(
+				PropertyKeys.class);
+
+		public ItemPropertyEvaluator() {
+			String var = getVar(DEFAULT_VAR);
+			for (PropertyKeys key : ITEM_PROPERTY_KEYS) {
+				if (getStateHelper().get(key) == null) {
+					CompiledItemExpression compiled = CompiledItemExpression.compile(
+							getValueExpression(key.toString()), var);
+					if (compiled != null) {
+						this.compiledExpressions.put(key, compiled);
+					}
+				}
+			}
+		}
+
+		public Object eval(PropertyKeys key, Object item, Object defaultValue) {
+			CompiledItemExpression compiled = this.compiledExpressions.get(key);
+			if (compiled != null) {
+				Object value = compiled.getValue(item);
+				if (value != CompiledItemExpression.UNRESOLVED) {
+					return (value == null ? defaultValue : value);
+				}
+			}
+			return getStateHelper().eval(key, defaultValue);
+		}
+	}
+
+	/**
+	 * Deduced select items, held in the JSF application map for a single refresh generation.
+	 */
+	private static class DeducedSelectItemsCache {
+
+		private final long generation;
+
+		private final LruCache<DeducedSelectItemsKey, List<SelectItem>> selectItems = new LruCache<DeducedSelectItemsKey, List<SelectItem>>(
+				DEDUCED_SELECT_ITEMS_CACHE_SIZE);
+
+		public DeducedSelectItemsCache(long generation) {
+			this.generation = generation;
+		}
+
+		public long getGeneration() {
+			return this.generation;
+		}
+
+		public LruCache<DeducedSelectItemsKey, List<SelectItem>> getSelectItems() {
+			return this.selectItems;
+		}
+	}
+
+	/**
+	 * Key used to cache deduced {@link SelectItem}s.
+	 */
+	private static class DeducedSelectItemsKey {
+
+		private final Class<?> componentType;
+
+		private final Class<?> type;
+
+		private final Locale locale;
+
+		private final Object messageSource;
+
+		private final String var;
+
+		private final Object[] itemProperties;
+
+		public DeducedSelectItemsKey(Class<?> componentType, Class<?> type, Locale locale, Object messageSource,
+				String var, Object[] itemProperties) {
+			this.componentType = componentType;
+			this.type = type;
+			this.locale = locale;
+			this.messageSource = messageSource;
+			this.var = var;
+			this.itemProperties = itemProperties;
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = this.componentType.hashCode();
+			hashCode = 31 * hashCode + this.type.hashCode();
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.locale);
+			hashCode = 31 * hashCode + System.identityHashCode(this.messageSource);
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.var);
+			hashCode = 31 * hashCode + ObjectUtils.nullSafeHashCode(this.itemProperties);
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || obj.getClass() != getClass()) {
+				return false;
+			}
+			DeducedSelectItemsKey other = (DeducedSelectItemsKey) obj;
+			return this.componentType.equals(other.componentType) && this.type.equals(other.type)
+					&& ObjectUtils.nullSafeEquals(this.locale, other.locale)
+					&& this.messageSource == other.messageSource && ObjectUtils.nullSafeEquals(this.var, other.var)
+					&& ObjectUtils.nullSafeEquals(this.itemProperties, other.itemProperties);
+		}
 	}
 
 	/**
@@ -627,14 +1122,289 @@ public class UISelectItems extends UIComponentBase {
 
 		@Override
 		public Object getValue() {
-			return UISelectItems.this.getSelectItems();
+			return UISelectItems.this.getExposedSelectItems();
+		}
+	}
+
+	/**
+	 * Collection of {@link SelectItem}s that are loaded a page at a time from a {@link SelectItemsLoader} as the
+	 * collection is iterated. Only a single page of items is held in memory. The {@link #size() size} is remembered once
+	 * the collection has been fully iterated, calling it earlier will load the remaining pages in order to count them.
+	 */
+	private class LoadedSelectItems extends AbstractCollection<SelectItem> {
+
+		private final SelectItemsLoader<?> loader;
+
+		private final boolean includeNoSelectionOption;
+
+		private int size = -1;
+
+		public LoadedSelectItems(SelectItemsLoader<?> loader, boolean includeNoSelectionOption) {
+			this.loader = loader;
+			this.includeNoSelectionOption = includeNoSelectionOption;
+		}
+
+		@Override
+		public Iterator<SelectItem> iterator() {
+			return new LoadedSelectItemsIterator(this.loader, this.includeNoSelectionOption) {
+				@Override
+				protected void finished(int count) {
+					LoadedSelectItems.this.size = count;
+				}
+			};
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return (this.size == -1 ? !iterator().hasNext() : this.size == 0);
+		}
+
+		@Override
+		public int size() {
+			if (this.size == -1) {
+				for (Iterator<SelectItem> iterator = iterator(); iterator.hasNext();) {
+					iterator.next();
+				}
+			}
+			return this.size;
+		}
+
+		public boolean isFor(SelectItemsLoader<?> loader, boolean includeNoSelectionOption) {
+			return this.loader == loader && this.includeNoSelectionOption == includeNoSelectionOption;
+		}
+
+		@Override
+		public Object[] toArray() {
+			List<SelectItem> selectItems = new ArrayList<SelectItem>();
+			for (SelectItem selectItem : this) {
+				selectItems.add(selectItem);
+			}
+			return selectItems.toArray();
+		}
+
+		@Override
+		public <T> T[] toArray(T[] a) {
+			List<SelectItem> selectItems = new ArrayList<SelectItem>();
+			for (SelectItem selectItem : this) {
+				selectItems.add(selectItem);
+			}
+			return selectItems.toArray(a);
+		}
+	}
+
+	/**
+	 * Iterator used by {@link LoadedSelectItems}.
+	 */
+	private class LoadedSelectItemsIterator implements Iterator<SelectItem> {
+
+		private final SelectItemsLoader<?> loader;
+
+		private final int pageSize;
+
+		private int pageNumber;
+
+		private List<SelectItem> page;
+
+		private int index;
+
+		private boolean lastPage;
+
+		private int count;
+
+		public LoadedSelectItemsIterator(SelectItemsLoader<?> loader, boolean includeNoSelectionOption) {
+			this.loader = loader;
+			this.pageSize = getPageSize();
+			Assert.state(this.pageSize > 0, "PageSize must be greater than zero");
+			this.page = new ArrayList<SelectItem>(1);
+			if (includeNoSelectionOption) {
+				addNoSelectionOptionAsRequired(getFacesContext(), this.page);
+			}
+		}
+
+		public boolean hasNext() {
+			while (this.index == this.page.size()) {
+				if (this.lastPage) {
+					finished(this.count);
+					return false;
+				}
+				loadNextPage();
+			}
+			return true;
+		}
+
+		/**
+		 * Called when all items have been iterated.
+		 * @param count the total number of items
+		 */
+		protected void finished(int count) {
+		}
+
+		private void loadNextPage() {
+			List<?> values = this.loader.load(this.pageNumber++, this.pageSize);
+			Assert.state(values != null, "SelectItemsLoader must not return null values");
+			this.lastPage = values.size() < this.pageSize || values instanceof LastPage;
+			this.page = convertToSelectItems(getFacesContext(), values);
+			this.index = 0;
+		}
+
+		public SelectItem next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			this.count++;
+			return this.page.get(this.index++);
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	/**
+	 * Collection decorator that builds a {@link SavedItemIndex} as items are rendered. The index is saved against the
+	 * client ID of the current row once all items have been iterated.
+	 */
+	private class IndexingSelectItems extends AbstractCollection<SelectItem> {
+
+		private final FacesContext context;
+
+		private final Collection<SelectItem> selectItems;
+
+		public IndexingSelectItems(FacesContext context, Collection<SelectItem> selectItems) {
+			this.context = context;
+			this.selectItems = selectItems;
+		}
+
+		@Override
+		public Iterator<SelectItem> iterator() {
+			final Iterator<SelectItem> iterator = this.selectItems.iterator();
+			final SavedItemIndex index = new SavedItemIndex();
+			final String clientId = getClientId(IndexingSelectItems.this.context);
+			final Converter converter = getParentConverter();
+			final boolean canLoad = (getSelectItemsLoader() != null || converter != UISelectItems.this.converter);
+			return new Iterator<SelectItem>() {
+
+				private boolean saved;
+
+				public boolean hasNext() {
+					boolean hasNext = iterator.hasNext();
+					if (!hasNext && !this.saved) {
+						this.saved = true;
+						if ((index.isLoadRequired() && !canLoad)
+								|| isSavingStateInClient(IndexingSelectItems.this.context)) {
+							getStateHelper().remove(PropertyKeys.savedItemIndex, clientId);
+						} else {
+							getStateHelper().put(PropertyKeys.savedItemIndex, clientId, index);
+						}
+					}
+					return hasNext;
+				}
+
+				public SelectItem next() {
+					SelectItem selectItem = iterator.next();
+					String stringValue = converter.getAsString(IndexingSelectItems.this.context, getParent(),
+							selectItem.getValue());
+					index.add(stringValue, selectItem);
+					return selectItem;
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return this.selectItems.isEmpty();
+		}
+
+		@Override
+		public int size() {
+			return this.selectItems.size();
+		}
+	}
+
+	/**
+	 * A compact index of rendered items that is saved in the component state. Simple values are saved directly, all
+	 * other values are marked as requiring loading.
+	 */
+	private static class SavedItemIndex implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final HashMap<String, Serializable> values = new HashMap<String, Serializable>();
+
+		private final HashSet<String> loaded = new HashSet<String>();
+
+		private final HashSet<String> noSelectionOptions = new HashSet<String>();
+
+		public void add(String stringValue, SelectItem selectItem) {
+			Object value = selectItem.getValue();
+			if (value == null || isSimpleValue(value)) {
+				this.values.put(stringValue, (Serializable) value);
+			} else {
+				this.values.put(stringValue, null);
+				this.loaded.add(stringValue);
+			}
+			if (selectItem.isNoSelectionOption()) {
+				this.noSelectionOptions.add(stringValue);
+			}
+		}
+
+		private boolean isSimpleValue(Object value) {
+			return (value instanceof String || value instanceof Number || value instanceof Boolean
+					|| value instanceof Character || value instanceof Enum);
+		}
+
+		public boolean contains(String stringValue) {
+			return this.values.containsKey(stringValue);
+		}
+
+		public boolean isLoaded(String stringValue) {
+			return this.loaded.contains(stringValue);
+		}
+
+		public boolean isLoadRequired() {
+			return !this.loaded.isEmpty();
+		}
+
+		public Object getValue(String stringValue) {
+			return this.values.get(stringValue);
+		}
+
+		public boolean isNoSelectionOption(String stringValue) {
+			return this.noSelectionOptions.contains(stringValue);
 		}
 	}
 
 	/**
 	 * Internal JSF {@link Converter} used to convert items from the outer class.
 	 */
-	public static class UISelectItemsConverter extends SelectItemsConverter {
+	public static class UISelectItemsConverter extends SelectItemsConverter implements BatchConverter<Object> {
+
+		@Override
+		public Object getAsObject(FacesContext context, UIComponent component, String value) {
+			SavedItemIndex index = getUISelectItems(component).getSavedItemIndex();
+			if (index != null) {
+				Assert.state(index.contains(value), "No select item mapped to string value '" + value
+						+ "' ensure that getAsString always returns a consistent value");
+				if (!index.isLoaded(value)) {
+					return index.getValue(value);
+				}
+			}
+			if (getUISelectItems(component).getSelectItemsLoader() != null) {
+				return BatchConverterUtils.getAsObject(context, component, value, this);
+			}
+			return super.getAsObject(context, component, value);
+		}
+
+		public Map<String, Object> getAsObjects(FacesContext context, UIComponent component, Collection<String> values) {
+			UISelectItems selectItems = getUISelectItems(component);
+			SelectItemsLoader<?> loader = selectItems.getSelectItemsLoader();
+			Assert.state(loader != null, "Batch conversion requires a SelectItemsLoader");
+			return selectItems.findLoadedItemValues(loader, values);
+		}
 
 		public String getAsString(FacesContext context, UIComponent component, Object value) {
 			return getUISelectItems(component).getItemConverterStringValue(value);
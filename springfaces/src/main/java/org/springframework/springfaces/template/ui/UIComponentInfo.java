@@ -18,7 +18,6 @@ package org.springframework.springfaces.template.ui;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.Callable;
 
 import javax.faces.component.EditableValueHolder;
 import javax.faces.component.UIComponent;
@@ -28,7 +27,7 @@ import javax.faces.component.visit.VisitContext;
 import javax.faces.component.visit.VisitResult;
 import javax.faces.context.FacesContext;
 
-import org.springframework.springfaces.util.FacesUtils;
+import org.springframework.springfaces.expression.el.LocalVariables;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
@@ -102,13 +101,14 @@ public class UIComponentInfo extends UIComponentBase {
 	}
 
 	@Override
-	public void encodeChildren(final FacesContext context) throws IOException {
-		FacesUtils.doWithRequestScopeVariable(context, getVar(), getComponentInfo(context), new Callable<Object>() {
-			public Object call() throws Exception {
-				UIComponentInfo.this.doEncodeChildren(context);
-				return null;
-			}
-		});
+	public void encodeChildren(FacesContext context) throws IOException {
+		LocalVariables variables = LocalVariables.get(context);
+		variables.push(getVar(), getComponentInfo(context));
+		try {
+			doEncodeChildren(context);
+		} finally {
+			variables.pop();
+		}
 	}
 
 	protected void doEncodeChildren(FacesContext context) throws IOException {
@@ -16,12 +16,12 @@
 package org.springframework.springfaces.util;
 
 import java.util.Locale;
-import java.util.Map;
 import java.util.concurrent.Callable;
 
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
 
+import org.springframework.springfaces.expression.el.LocalVariables;
 import org.springframework.util.Assert;
 
 /**
@@ -66,7 +66,9 @@ public abstract class FacesUtils {
 	}
 
 	/**
-	 * Execute a {@link Callable} with a <tt>request-scope</tt> JSF variable set for the duration of the execution.
+	 * Execute a {@link Callable} with a <tt>request-scope</tt> JSF variable set for the duration of the execution. The
+	 * variable is exposed using {@link LocalVariables}, callers that execute in a tight loop may prefer to use
+	 * {@link LocalVariables} directly to save allocating a {@link Callable}.
 	 * 
 	 * @param <V> the return type
 	 * @param context the faces context
@@ -84,15 +86,12 @@ public abstract class FacesUtils {
 			if (variableName == null) {
 				return callable.call();
 			}
-			Map<String, Object> requestMap = context.getExternalContext().getRequestMap();
-			Object previousValue = requestMap.put(variableName, value);
+			LocalVariables variables = LocalVariables.get(context);
+			variables.push(variableName, value);
 			try {
 				return callable.call();
 			} finally {
-				requestMap.remove(variableName);
-				if (previousValue != null) {
-					requestMap.put(variableName, previousValue);
-				}
+				variables.pop();
 			}
 		} catch (Exception e) {
 			if (e instanceof RuntimeException) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.util.Assert;
+
+/**
+ * A simple thread-safe cache with a fixed capacity. When the capacity is reached the least recently used entry is
+ * evicted.
+ * <p>
+ * Entries are held in an access-ordered {@link LinkedHashMap} guarded by a lock. Eviction removes the single eldest
+ * entry as part of the write that exceeds the capacity and never needs to copy or sort the entries.
+ * 
+ * @author Phillip Webb
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class LruCache<K, V> {
+
+	private final int capacity;
+
+	private final Map<K, V> entries;
+
+	/**
+	 * Create a new {@link LruCache} instance.
+	 * @param capacity the maximum number of entries held in the cache
+	 */
+	public LruCache(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than zero");
+		this.capacity = capacity;
+		this.entries = new LinkedHashMap<K, V>(Math.min(capacity, 16), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > LruCache.this.capacity;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached value for the given key or <tt>null</tt> if the value is not in the cache.
+	 * @param key the key
+	 * @return the value or <tt>null</tt>
+	 */
+	public V get(K key) {
+		synchronized (this.entries) {
+			return this.entries.get(key);
+		}
+	}
+
+	/**
+	 * Add a value to the cache, evicting the least recently used entry if the cache is full.
+	 * @param key the key
+	 * @param value the value
+	 */
+	public void put(K key, V value) {
+		synchronized (this.entries) {
+			this.entries.put(key, value);
+		}
+	}
+
+	/**
+	 * Remove the value for the given key.
+	 * @param key the key
+	 */
+	public void remove(K key) {
+		synchronized (this.entries) {
+			this.entries.remove(key);
+		}
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * Returns the number of entries currently held in the cache.
+	 * @return the size of the cache
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * Returns the maximum number of entries that can be held in the cache.
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.faces.application.Application;
+import javax.faces.render.RenderKit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.Ordered;
+
+/**
+ * Tests for {@link FacesWrapperFactoryRegistry}.
+ * 
+ * @author Phillip Webb
+ */
+public class FacesWrapperFactoryRegistryTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private StaticListableBeanFactory beanFactory;
+
+	@Before
+	public void setup() {
+		this.beanFactory = new StaticListableBeanFactory();
+	}
+
+	@Test
+	public void shouldNeedBeanFactory() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("BeanFactory must not be null");
+		new FacesWrapperFactoryRegistry(null);
+	}
+
+	@Test
+	public void shouldNeedTypeClass() throws Exception {
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("TypeClass must not be null");
+		registry.getFactories(null);
+	}
+
+	@Test
+	public void shouldSupportNoFactories() throws Exception {
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		assertThat(registry.getFactories(Application.class).size(), is(0));
+	}
+
+	@Test
+	public void shouldFilterByGenerics() throws Exception {
+		ApplicationFactory application = new ApplicationFactory(0);
+		RenderKitFactory renderKit = new RenderKitFactory();
+		ObjectFactory object = new ObjectFactory();
+		this.beanFactory.addBean("application", application);
+		this.beanFactory.addBean("renderKit", renderKit);
+		this.beanFactory.addBean("object", object);
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		assertThat(registry.getFactories(Application.class),
+				is(equalTo(Arrays.<FacesWrapperFactory<?>> asList(application, object))));
+		assertThat(registry.getFactories(RenderKit.class),
+				is(equalTo(Arrays.<FacesWrapperFactory<?>> asList(renderKit, object))));
+		assertThat(registry.getFactories(String.class), is(equalTo(Arrays.<FacesWrapperFactory<?>> asList(object))));
+	}
+
+	@Test
+	public void shouldSortFactories() throws Exception {
+		ApplicationFactory f1 = new ApplicationFactory(1);
+		ApplicationFactory f2 = new ApplicationFactory(2);
+		ApplicationFactory f3 = new ApplicationFactory(3);
+		this.beanFactory.addBean("f3", f3);
+		this.beanFactory.addBean("f1", f1);
+		this.beanFactory.addBean("f2", f2);
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		assertThat(registry.getFactories(Application.class),
+				is(equalTo(Arrays.<FacesWrapperFactory<?>> asList(f1, f2, f3))));
+	}
+
+	@Test
+	public void shouldCacheFactoriesByType() throws Exception {
+		this.beanFactory.addBean("object", new ObjectFactory());
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		List<FacesWrapperFactory<?>> factories = registry.getFactories(String.class);
+		assertThat(registry.getFactories(String.class), is(sameInstance(factories)));
+	}
+
+	@Test
+	public void shouldNotAllowModification() throws Exception {
+		FacesWrapperFactoryRegistry registry = new FacesWrapperFactoryRegistry(this.beanFactory);
+		this.thrown.expect(UnsupportedOperationException.class);
+		registry.getFactories(Application.class).add(new ObjectFactory());
+	}
+
+	private static class ApplicationFactory implements FacesWrapperFactory<Application>, Ordered {
+
+		private int order;
+
+		public ApplicationFactory(int order) {
+			this.order = order;
+		}
+
+		public Application newWrapper(Class<?> typeClass, Application wrapped) {
+			return null;
+		}
+
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+	private static class RenderKitFactory implements FacesWrapperFactory<RenderKit> {
+		public RenderKit newWrapper(Class<?> typeClass, RenderKit wrapped) {
+			return null;
+		}
+	}
+
+	private static class ObjectFactory implements FacesWrapperFactory<Object>, Ordered {
+		public Object newWrapper(Class<?> typeClass, Object wrapped) {
+			return null;
+		}
+
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+	}
+}
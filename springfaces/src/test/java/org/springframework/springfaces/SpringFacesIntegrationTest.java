@@ -153,6 +153,16 @@ public class SpringFacesIntegrationTest {
 		assertThat(SpringFacesIntegration.getLastRefreshedDate(this.externalContext), is(greaterThan(initialDate)));
 	}
 
+	@Test
+	public void shouldIncrementRefreshGenerationOnLoadAndReload() throws Exception {
+		long initialGeneration = SpringFacesIntegration.getRefreshGeneration();
+		createSpringFacesIntegration();
+		long loadedGeneration = SpringFacesIntegration.getRefreshGeneration();
+		assertThat(loadedGeneration, is(greaterThan(initialGeneration)));
+		this.springFacesIntegration.onApplicationEvent(mock(ContextRefreshedEvent.class));
+		assertThat(SpringFacesIntegration.getRefreshGeneration(), is(greaterThan(loadedGeneration)));
+	}
+
 	@Test
 	public void shouldGetCurrentInstace() throws Exception {
 		createSpringFacesIntegration();
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.convert;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.UISelectMany;
+import javax.faces.component.UISelectOne;
+import javax.faces.context.FacesContext;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for {@link BatchConverterUtils}.
+ * 
+ * @author Phillip Webb
+ */
+public class BatchConverterUtilsTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Mock
+	private FacesContext context;
+
+	@Mock
+	private BatchConverter<Object> converter;
+
+	@Captor
+	private ArgumentCaptor<Collection<String>> valuesCaptor;
+
+	private Map<Object, Object> attributes = new HashMap<Object, Object>();
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		given(this.context.getAttributes()).willReturn(this.attributes);
+	}
+
+	@Test
+	public void shouldNeedContext() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Context must not be null");
+		BatchConverterUtils.getAsObject(null, mock(UIComponent.class), "a", this.converter);
+	}
+
+	@Test
+	public void shouldNeedConverter() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Converter must not be null");
+		BatchConverterUtils.getAsObject(this.context, mock(UIComponent.class), "a", null);
+	}
+
+	@Test
+	public void shouldConvertAllSubmittedValuesOnce() throws Exception {
+		UISelectMany component = mock(UISelectMany.class);
+		given(component.getSubmittedValue()).willReturn(new String[] { "a", "b" });
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1, "b", 2));
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "a", this.converter), is((Object) 1));
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "b", this.converter), is((Object) 2));
+		verify(this.converter).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				this.valuesCaptor.capture());
+		assertThat(this.valuesCaptor.getValue().size(), is(2));
+		assertThat(this.valuesCaptor.getValue().containsAll(Arrays.asList("a", "b")), is(true));
+	}
+
+	@Test
+	public void shouldConvertSingleSubmittedValue() throws Exception {
+		UISelectOne component = mock(UISelectOne.class);
+		given(component.getSubmittedValue()).willReturn("a");
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1, "b", 2));
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "a", this.converter), is((Object) 1));
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "a", this.converter), is((Object) 1));
+		verify(this.converter).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				any(Collection.class));
+	}
+
+	@Test
+	public void shouldConvertValuesNotSubmitted() throws Exception {
+		UISelectMany component = mock(UISelectMany.class);
+		given(component.getSubmittedValue()).willReturn(new String[] { "a" });
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1, "b", 2));
+		BatchConverterUtils.getAsObject(this.context, component, "a", this.converter);
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "b", this.converter), is((Object) 2));
+		verify(this.converter, times(2)).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				this.valuesCaptor.capture());
+		assertThat(this.valuesCaptor.getValue().size(), is(1));
+		assertThat(this.valuesCaptor.getValue().contains("b"), is(true));
+	}
+
+	@Test
+	public void shouldConvertMissingValuesToNull() throws Exception {
+		UISelectMany component = mock(UISelectMany.class);
+		given(component.getSubmittedValue()).willReturn(new String[] { "a", "b" });
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1));
+		assertThat(BatchConverterUtils.getAsObject(this.context, component, "b", this.converter), is(nullValue()));
+		BatchConverterUtils.getAsObject(this.context, component, "b", this.converter);
+		verify(this.converter).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				any(Collection.class));
+	}
+
+	@Test
+	public void shouldCacheForEachClientId() throws Exception {
+		UISelectMany component = mock(UISelectMany.class);
+		given(component.getSubmittedValue()).willReturn(new String[] { "a" });
+		given(component.getClientId(this.context)).willReturn("row1", "row2");
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1));
+		BatchConverterUtils.getAsObject(this.context, component, "a", this.converter);
+		BatchConverterUtils.getAsObject(this.context, component, "a", this.converter);
+		verify(this.converter, times(2)).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				any(Collection.class));
+	}
+
+	@Test
+	public void shouldNotBatchEmptySubmittedValues() throws Exception {
+		UISelectMany component = mock(UISelectMany.class);
+		given(component.getSubmittedValue()).willReturn(new String[] { "", "a" });
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1));
+		BatchConverterUtils.getAsObject(this.context, component, "a", this.converter);
+		verify(this.converter).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				this.valuesCaptor.capture());
+		assertThat(this.valuesCaptor.getValue().size(), is(1));
+		assertThat(this.valuesCaptor.getValue().contains(""), is(false));
+	}
+
+	@Test
+	public void shouldStoreConvertedValuesUsingComponentConversionKey() throws Exception {
+		UISelectOne component = mock(UISelectOne.class);
+		given(component.getSubmittedValue()).willReturn("a");
+		given(this.converter.getAsObjects(any(FacesContext.class), any(UIComponent.class), any(Collection.class)))
+				.willReturn(mapOf("a", 1));
+		BatchConverterUtils.getAsObject(this.context, component, "a", this.converter);
+		assertThat(this.attributes.containsKey(new ComponentConversionKey(BatchConverterUtils.class, this.converter,
+				this.context, component)), is(true));
+	}
+
+	private Map<String, Object> mapOf(Object... keysAndValues) {
+		Map<String, Object> map = new HashMap<String, Object>();
+		for (int i = 0; i < keysAndValues.length; i += 2) {
+			map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+		}
+		return map;
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.convert;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import javax.faces.component.UIComponent;
+import javax.faces.context.FacesContext;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for {@link ComponentConversionKey}.
+ * 
+ * @author Phillip Webb
+ */
+public class ComponentConversionKeyTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Mock
+	private FacesContext context;
+
+	@Mock
+	private UIComponent component;
+
+	private Object converter = new Object();
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		given(this.component.getClientId(this.context)).willReturn("id");
+	}
+
+	@Test
+	public void shouldNeedType() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Type must not be null");
+		new ComponentConversionKey(null, this.converter, this.context, this.component);
+	}
+
+	@Test
+	public void shouldNeedComponent() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Component must not be null");
+		new ComponentConversionKey(String.class, this.converter, this.context, null);
+	}
+
+	@Test
+	public void shouldBeEqualForSameTypeConverterComponentAndClientId() throws Exception {
+		ComponentConversionKey key1 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		ComponentConversionKey key2 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		assertThat(key1.equals(key2), is(true));
+		assertThat(key1.hashCode(), is(key2.hashCode()));
+	}
+
+	@Test
+	public void shouldNotBeEqualForDifferentType() throws Exception {
+		ComponentConversionKey key1 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		ComponentConversionKey key2 = new ComponentConversionKey(Integer.class, this.converter, this.context,
+				this.component);
+		assertThat(key1.equals(key2), is(false));
+	}
+
+	@Test
+	public void shouldNotBeEqualForDifferentConverter() throws Exception {
+		ComponentConversionKey key1 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		ComponentConversionKey key2 = new ComponentConversionKey(String.class, new Object(), this.context,
+				this.component);
+		assertThat(key1.equals(key2), is(false));
+	}
+
+	@Test
+	public void shouldNotBeEqualForDifferentClientId() throws Exception {
+		ComponentConversionKey key1 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		given(this.component.getClientId(this.context)).willReturn("other");
+		ComponentConversionKey key2 = new ComponentConversionKey(String.class, this.converter, this.context,
+				this.component);
+		assertThat(key1.equals(key2), is(false));
+	}
+}
@@ -16,8 +16,17 @@
 package org.springframework.springfaces.convert;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 
 import javax.faces.component.UIComponent;
 import javax.faces.context.FacesContext;
@@ -77,4 +86,33 @@ public class SpringBeanConverterTest {
 		String actual = this.converter.getAsString(this.facesContext, this.component, value);
 		assertThat(actual, is(string));
 	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldUseBatchConverter() throws Exception {
+		BatchConverter<Object> batchBean = mock(BatchConverter.class);
+		given(this.applicationContext.getBean(this.beanName)).willReturn(batchBean);
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		this.converter = new SpringBeanConverter<Object>(this.facesContext, this.beanName);
+		Object object = new Object();
+		given(batchBean.getAsObjects(this.facesContext, this.component, Collections.singleton("value"))).willReturn(
+				Collections.singletonMap("value", object));
+		assertThat(this.converter.getAsObject(this.facesContext, this.component, "value"), is(object));
+		assertThat(this.converter.getAsObject(this.facesContext, this.component, "value"), is(object));
+		verify(batchBean).getAsObjects(this.facesContext, this.component, Collections.singleton("value"));
+		verify(batchBean, never()).getAsObject(this.facesContext, this.component, "value");
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldNotUseBatchConverterForEmptyValue() throws Exception {
+		BatchConverter<Object> batchBean = mock(BatchConverter.class);
+		given(this.applicationContext.getBean(this.beanName)).willReturn(batchBean);
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		this.converter = new SpringBeanConverter<Object>(this.facesContext, this.beanName);
+		assertThat(this.converter.getAsObject(this.facesContext, this.component, ""), is(nullValue()));
+		verify(batchBean).getAsObject(this.facesContext, this.component, "");
+		verify(batchBean, never()).getAsObjects(any(FacesContext.class), any(UIComponent.class),
+				any(Collection.class));
+	}
 }
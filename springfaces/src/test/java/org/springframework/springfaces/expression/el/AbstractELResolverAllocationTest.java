@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.el.ELContext;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link AbstractELResolver} miss path does not allocate. Allocated bytes are measured using
+ * <tt>com.sun.management.ThreadMXBean</tt>, the tests are skipped when the JVM does not support allocation measurement.
+ * 
+ * @author Phillip Webb
+ */
+public class AbstractELResolverAllocationTest {
+
+	private static final int WARMUP_ITERATIONS = 20000;
+
+	private static final int ITERATIONS = 100000;
+
+	/**
+	 * Allowance for any allocation made by the measurement itself. Allocating on each call would exceed this many times
+	 * over.
+	 */
+	private static final long ALLOWED_BYTES = 1024;
+
+	private com.sun.management.ThreadMXBean threadMXBean;
+
+	private AbstractELResolver resolver = new AbstractELResolver() {
+		@Override
+		protected Object get(String property) {
+			return ("bean".equals(property) ? this : null);
+		}
+	};
+
+	private Object base = new Object();
+
+	@Before
+	public void setup() {
+		java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+		this.threadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+		assumeTrue(this.threadMXBean.isThreadAllocatedMemorySupported());
+		this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+	}
+
+	@Test
+	public void shouldNotAllocateWhenBaseIsNotNull() throws Exception {
+		assertThat(measureAllocatedBytes(this.base, "name"), lessThan(ALLOWED_BYTES));
+	}
+
+	@Test
+	public void shouldNotAllocateWhenPropertyIsNotHandled() throws Exception {
+		assertThat(measureAllocatedBytes(null, "missing"), lessThan(ALLOWED_BYTES));
+	}
+
+	private long measureAllocatedBytes(Object base, Object property) {
+		ELContext context = null;
+		resolve(context, base, property, WARMUP_ITERATIONS);
+		long threadId = Thread.currentThread().getId();
+		long before = this.threadMXBean.getThreadAllocatedBytes(threadId);
+		resolve(context, base, property, ITERATIONS);
+		return this.threadMXBean.getThreadAllocatedBytes(threadId) - before;
+	}
+
+	private void resolve(ELContext context, Object base, Object property, int iterations) {
+		for (int i = 0; i < iterations; i++) {
+			this.resolver.getValue(context, base, property);
+			this.resolver.getType(context, base, property);
+			this.resolver.isReadOnly(context, base, property);
+		}
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
+import javax.el.ELResolver;
+
+import com.sun.faces.el.ELContextImpl;
+
+/**
+ * Simple benchmark comparing the allocation free {@link AbstractELResolver#resolve resolve} path with the deprecated
+ * {@link AbstractELResolver#handle handle} path. Each iteration resolves a top-level name followed by several
+ * properties of a non-<tt>null</tt> base, as happens when an expression such as <tt>#{bean.a.b}</tt> is evaluated. This
+ * class is a manual timing tool that is not run as part of the build, run the {@link #main(String[]) main} method
+ * directly. Allocation on the miss path is asserted by {@link AbstractELResolverAllocationTest}.
+ * 
+ * @author Phillip Webb
+ */
+public class AbstractELResolverBenchmark {
+
+	private static final int ITERATIONS = 2000000;
+
+	private static final String[] PROPERTIES = { "name", "description", "class" };
+
+	public static void main(String[] args) {
+		for (int i = 0; i < 3; i++) {
+			run("Handle", new HandleResolver());
+			run("Resolve", new ResolveResolver());
+		}
+	}
+
+	private static void run(String name, ELResolver springFacesResolver) {
+		CompositeELResolver resolver = new CompositeELResolver();
+		resolver.add(springFacesResolver);
+		resolver.add(new BeanELResolver());
+		ELContext context = new ELContextImpl(resolver);
+		long startTime = System.nanoTime();
+		int hash = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			context.setPropertyResolved(false);
+			Object bean = resolver.getValue(context, null, "bean");
+			for (String property : PROPERTIES) {
+				context.setPropertyResolved(false);
+				hash += resolver.getValue(context, bean, property).hashCode();
+			}
+		}
+		long duration = System.nanoTime() - startTime;
+		System.out.println(name + ": " + (duration / (ITERATIONS / 1000)) + " ns per 1000 expressions (" + hash + ")");
+	}
+
+	private static class ResolveResolver extends AbstractELResolver {
+
+		private final Bean bean = new Bean();
+
+		@Override
+		protected Object get(String property) {
+			return ("bean".equals(property) ? this.bean : null);
+		}
+	}
+
+	@SuppressWarnings("deprecation")
+	private static class HandleResolver extends ResolveResolver {
+
+		@Override
+		public Object getValue(ELContext elContext, Object base, Object property) {
+			return handle(elContext, base, property, new ELOperation<Object>() {
+				public Object execute(String property) {
+					return get(property);
+				}
+			});
+		}
+	}
+
+	public static class Bean {
+
+		public String getName() {
+			return "name";
+		}
+
+		public String getDescription() {
+			return "description";
+		}
+	}
+}
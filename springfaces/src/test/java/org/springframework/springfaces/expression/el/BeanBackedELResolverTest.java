@@ -20,8 +20,13 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 
+import javax.el.ELException;
+import javax.el.PropertyNotFoundException;
+
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 
 /**
  * Tests for {@link BeanBackedELResolver}.
@@ -30,6 +35,9 @@ import org.junit.Test;
  */
 public class BeanBackedELResolverTest {
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	private BeanBackedELResolver resolver;
 	private Object bean;
 
@@ -70,6 +78,29 @@ public class BeanBackedELResolverTest {
 		assertThat(this.resolver.get("missing"), is(nullValue()));
 	}
 
+	@Test
+	public void shouldResolveFromDifferentBeanClasses() throws Exception {
+		assertThat(this.resolver.get("stringValue"), is(equalTo((Object) "string")));
+		this.bean = new ExtendedTestBean();
+		assertThat(this.resolver.get("stringValue"), is(equalTo((Object) "extended")));
+	}
+
+	@Test
+	public void shouldThrowIfPropertyIsNotReadable() throws Exception {
+		this.bean = new Object();
+		this.thrown.expect(PropertyNotFoundException.class);
+		this.thrown.expectMessage("Unable to find readable property 'stringValue' on java.lang.Object");
+		this.resolver.get("stringValue");
+	}
+
+	@Test
+	public void shouldWrapAccessorExceptions() throws Exception {
+		this.bean = new FailingTestBean();
+		this.thrown.expect(ELException.class);
+		this.thrown.expectMessage("failed");
+		this.resolver.get("stringValue");
+	}
+
 	private class TestBeanBackedElResolver extends BeanBackedELResolver {
 
 		public TestBeanBackedElResolver() {
@@ -107,4 +138,17 @@ public class BeanBackedELResolverTest {
 			return this.unmapped;
 		}
 	}
+
+	public static class ExtendedTestBean extends TestBean {
+		@Override
+		public String getStringValue() {
+			return "extended";
+		}
+	}
+
+	public static class FailingTestBean {
+		public String getStringValue() {
+			throw new IllegalStateException("failed");
+		}
+	}
 }
@@ -15,12 +15,15 @@
  */
 package org.springframework.springfaces.expression.el;
 
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 
@@ -31,6 +34,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.beans.factory.config.BeanExpressionContext;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.TypedValue;
 
 /**
  * Tests for {@link ELPropertyAccessor}.
@@ -100,6 +104,93 @@ public class ELPropertyAccessorTest {
 				is(sameInstance(this.value)));
 	}
 
+	@Test
+	public void shouldResolveOnceForCanReadAndRead() throws Exception {
+		willResolve(null, this.name, this.value);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		this.elPropertyAccessor.read(this.context, this.target, this.name);
+		verify(this.elResolver, times(1)).getValue(this.elContext, null, this.name);
+		verify(this.elResolver, times(1)).getType(this.elContext, null, this.name);
+	}
+
+	@Test
+	public void shouldResolveAgainOnSubsequentRead() throws Exception {
+		willResolve(null, this.name, this.value);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		this.elPropertyAccessor.read(this.context, this.target, this.name);
+		this.elPropertyAccessor.read(this.context, this.target, this.name);
+		verify(this.elResolver, times(2)).getValue(this.elContext, null, this.name);
+	}
+
+	@Test
+	public void shouldNotReuseValueForDifferentName() throws Exception {
+		willResolve(null, this.name, this.value);
+		Object other = new Object();
+		willResolve(null, "other", other);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		assertThat(this.elPropertyAccessor.read(this.context, this.target, "other").getValue(),
+				is(sameInstance(other)));
+	}
+
+	@Test
+	public void shouldNotReuseValueForDifferentContext() throws Exception {
+		willResolve(null, this.name, this.value);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		this.elPropertyAccessor.read(mock(EvaluationContext.class), this.target, this.name);
+		verify(this.elResolver, times(2)).getValue(this.elContext, null, this.name);
+	}
+
+	@Test
+	public void shouldNotReuseValueForDifferentTarget() throws Exception {
+		willResolve(null, this.name, this.value);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		this.elPropertyAccessor.read(this.context, new Object(), this.name);
+		verify(this.elResolver, times(2)).getValue(this.elContext, null, this.name);
+	}
+
+	@Test
+	public void shouldClearValueWhenReadFails() throws Exception {
+		willResolve(null, this.name, this.value);
+		this.elPropertyAccessor.canRead(this.context, this.target, this.name);
+		given(this.elResolver.getValue(this.elContext, null, "other")).willThrow(new IllegalStateException());
+		try {
+			this.elPropertyAccessor.read(this.context, this.target, "other");
+		} catch (IllegalStateException e) {
+		}
+		this.elPropertyAccessor.read(this.context, this.target, this.name);
+		verify(this.elResolver, times(2)).getValue(this.elContext, null, this.name);
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void shouldResolveTypeForNullValue() throws Exception {
+		given(this.elResolver.getType(this.elContext, null, this.name)).willReturn((Class) String.class);
+		given(this.elContext.isPropertyResolved()).willReturn(true);
+		TypedValue typedValue = this.elPropertyAccessor.read(this.context, this.target, this.name);
+		assertThat(typedValue.getValue(), is(nullValue()));
+		assertThat(typedValue.getTypeDescriptor().getType(), is(equalTo((Class) String.class)));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void shouldUseResolverTypeForValue() throws Exception {
+		given(this.elResolver.getType(this.elContext, null, this.name)).willReturn((Class) CharSequence.class);
+		given(this.elResolver.getValue(this.elContext, null, this.name)).willReturn("value");
+		given(this.elContext.isPropertyResolved()).willReturn(true);
+		TypedValue typedValue = this.elPropertyAccessor.read(this.context, this.target, this.name);
+		assertThat(typedValue.getValue(), is(equalTo((Object) "value")));
+		assertThat(typedValue.getTypeDescriptor().getType(), is(equalTo((Class) CharSequence.class)));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldUseValueTypeWhenResolverHasNoType() throws Exception {
+		given(this.elResolver.getValue(this.elContext, null, this.name)).willReturn("value");
+		given(this.elContext.isPropertyResolved()).willReturn(true);
+		TypedValue typedValue = this.elPropertyAccessor.read(this.context, this.target, this.name);
+		assertThat(typedValue.getTypeDescriptor().getType(), is(equalTo((Class) String.class)));
+	}
+
 	@Test
 	public void shouldNotWrite() throws Exception {
 		assertThat(this.elPropertyAccessor.canWrite(this.context, this.target, this.name), is(false));
@@ -18,6 +18,7 @@ package org.springframework.springfaces.expression.el;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import java.util.Collection;
@@ -130,6 +131,31 @@ public class ELUtilsTest {
 		assertThat(property, is(nullValue()));
 	}
 
+	@Test
+	public void shouldCacheTypeDescriptor() throws Exception {
+		ValueExpression valueExpression = newValueExpression("setOfLong", Object.class);
+		TypeDescriptor typeDescriptor = ELUtils.getTypeDescriptor(valueExpression, this.context);
+		valueExpression = newValueExpression("setOfLong", Object.class);
+		assertThat(ELUtils.getTypeDescriptor(valueExpression, this.context), is(sameInstance(typeDescriptor)));
+	}
+
+	@Test
+	public void shouldCacheProperty() throws Exception {
+		ValueExpression valueExpression = newValueExpression("integer", Object.class);
+		Property property = ELUtils.getProperty(valueExpression, this.context);
+		assertThat(ELUtils.getProperty(valueExpression, this.context), is(sameInstance(property)));
+	}
+
+	@Test
+	public void shouldNotUseCachedPropertyWhenBaseClassChanges() throws Exception {
+		ValueExpression valueExpression = newValueExpression("integer", Object.class);
+		Property property = ELUtils.getProperty(valueExpression, this.context);
+		assertThat(property.getObjectType(), is(equalTo((Class) Bean.class)));
+		this.bean = new ExtendedBean();
+		property = ELUtils.getProperty(valueExpression, this.context);
+		assertThat(property.getObjectType(), is(equalTo((Class) ExtendedBean.class)));
+	}
+
 	private ValueExpression newValueExpression(String propery, Class<?> expectedType) {
 		return new ExpressionBuilder("#{bean." + propery + "}", this.context).createValueExpression(expectedType);
 	}
@@ -193,6 +219,9 @@ public class ELUtilsTest {
 
 	}
 
+	public static class ExtendedBean extends Bean {
+	}
+
 	public static class NestedBean {
 		private Collection<Integer> collectionOfInteger;
 
@@ -15,6 +15,9 @@
  */
 package org.springframework.springfaces.expression.el;
 
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.isA;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -37,4 +40,13 @@ public class FacesStandardEvaluationContextPostProcessorTest {
 		this.postProcessor.postProcessStandardEvaluationContext(evaluationContext);
 		verify(evaluationContext).addPropertyAccessor(isA(FacesPropertyAccessor.class));
 	}
+
+	@Test
+	public void shouldShareFacesPropertyAccessor() throws Exception {
+		StandardEvaluationContext c1 = new StandardEvaluationContext();
+		StandardEvaluationContext c2 = new StandardEvaluationContext();
+		this.postProcessor.postProcessStandardEvaluationContext(c1);
+		this.postProcessor.postProcessStandardEvaluationContext(c2);
+		assertThat(c1.getPropertyAccessors().get(0), is(sameInstance(c2.getPropertyAccessors().get(0))));
+	}
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.HashMap;
+
+import javax.el.ELContext;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for {@link LocalVariablesELResolver}.
+ * 
+ * @author Phillip Webb
+ */
+public class LocalVariablesELResolverTest {
+
+	private LocalVariablesELResolver resolver = new LocalVariablesELResolver();
+
+	@Mock
+	private FacesContext facesContext;
+
+	@Mock
+	private ExternalContext externalContext;
+
+	@Mock
+	private ELContext elContext;
+
+	private LocalVariables variables;
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		given(this.facesContext.getExternalContext()).willReturn(this.externalContext);
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		given(this.externalContext.getApplicationMap()).willReturn(new HashMap<String, Object>());
+		given(this.elContext.getContext(FacesContext.class)).willReturn(this.facesContext);
+		LocalVariables.enable(this.externalContext);
+		this.variables = LocalVariables.get(this.facesContext);
+		this.variables.push("v", "value");
+	}
+
+	@Test
+	public void shouldGetValue() throws Exception {
+		assertThat(this.resolver.getValue(this.elContext, null, "v"), is((Object) "value"));
+		verify(this.elContext).setPropertyResolved(true);
+	}
+
+	@Test
+	public void shouldGetNullValue() throws Exception {
+		this.variables.push("n", null);
+		assertThat(this.resolver.getValue(this.elContext, null, "n"), is(nullValue()));
+		verify(this.elContext).setPropertyResolved(true);
+	}
+
+	@Test
+	public void shouldNotResolveMissingVariable() throws Exception {
+		assertThat(this.resolver.getValue(this.elContext, null, "missing"), is(nullValue()));
+		verify(this.elContext, never()).setPropertyResolved(anyBoolean());
+	}
+
+	@Test
+	public void shouldNotResolveWithBase() throws Exception {
+		assertThat(this.resolver.getValue(this.elContext, new Object(), "v"), is(nullValue()));
+		verify(this.elContext, never()).setPropertyResolved(anyBoolean());
+	}
+
+	@Test
+	public void shouldNotResolveAfterPop() throws Exception {
+		this.variables.pop();
+		assertThat(this.resolver.getValue(this.elContext, null, "v"), is(nullValue()));
+		verify(this.elContext, never()).setPropertyResolved(anyBoolean());
+	}
+
+	@Test
+	public void shouldNotResolveWithoutFacesContext() throws Exception {
+		ELContext elContext = mock(ELContext.class);
+		assertThat(this.resolver.getValue(elContext, null, "v"), is(nullValue()));
+		verify(elContext, never()).setPropertyResolved(anyBoolean());
+	}
+
+	@Test
+	public void shouldGetType() throws Exception {
+		assertThat(this.resolver.getType(this.elContext, null, "v"), is(equalTo((Object) Object.class)));
+		verify(this.elContext).setPropertyResolved(true);
+	}
+
+	@Test
+	public void shouldSetValue() throws Exception {
+		assertThat(this.resolver.isReadOnly(this.elContext, null, "v"), is(false));
+		this.resolver.setValue(this.elContext, null, "v", "updated");
+		assertThat(this.resolver.getValue(this.elContext, null, "v"), is((Object) "updated"));
+	}
+
+	@Test
+	public void shouldNotResolveRequestScopeVariables() throws Exception {
+		FacesContext facesContext = mock(FacesContext.class);
+		ExternalContext externalContext = mock(ExternalContext.class);
+		given(facesContext.getExternalContext()).willReturn(externalContext);
+		given(facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		given(externalContext.getApplicationMap()).willReturn(new HashMap<String, Object>());
+		given(externalContext.getRequestMap()).willReturn(new HashMap<String, Object>());
+		given(this.elContext.getContext(FacesContext.class)).willReturn(facesContext);
+		LocalVariables.get(facesContext).push("v", "value");
+		assertThat(this.resolver.getValue(this.elContext, null, "v"), is(nullValue()));
+		verify(this.elContext, never()).setPropertyResolved(anyBoolean());
+	}
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.expression.el;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.el.ELContext;
+import javax.faces.context.ExternalContext;
+import javax.faces.context.FacesContext;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests for {@link LocalVariables}.
+ * 
+ * @author Phillip Webb
+ */
+public class LocalVariablesTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	@Mock
+	private FacesContext facesContext;
+
+	@Mock
+	private ExternalContext externalContext;
+
+	@Mock
+	private ELContext elContext;
+
+	private Map<String, Object> applicationMap = new HashMap<String, Object>();
+
+	private Map<String, Object> requestMap = new HashMap<String, Object>();
+
+	@Before
+	public void setup() {
+		MockitoAnnotations.initMocks(this);
+		given(this.facesContext.getExternalContext()).willReturn(this.externalContext);
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		given(this.externalContext.getApplicationMap()).willReturn(this.applicationMap);
+		given(this.externalContext.getRequestMap()).willReturn(this.requestMap);
+		given(this.elContext.getContext(FacesContext.class)).willReturn(this.facesContext);
+	}
+
+	@Test
+	public void shouldReuseVariablesForSameContext() throws Exception {
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		assertThat(LocalVariables.get(this.facesContext), is(sameInstance(variables)));
+		assertThat(LocalVariables.find(this.elContext), is(sameInstance(variables)));
+	}
+
+	@Test
+	public void shouldNotFindVariablesIfNotCreated() throws Exception {
+		assertThat(LocalVariables.find(this.elContext), is(nullValue()));
+	}
+
+	@Test
+	public void shouldUseRequestScopeIfNotEnabled() throws Exception {
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		assertThat(variables.isRequestScope(), is(true));
+		variables.push("v", "value");
+		assertThat(this.requestMap.get("v"), is((Object) "value"));
+		assertThat(variables.indexOf("v"), is(-1));
+		variables.pop();
+		assertThat(this.requestMap.containsKey("v"), is(false));
+	}
+
+	@Test
+	public void shouldRestorePreviousRequestScopeValue() throws Exception {
+		this.requestMap.put("v", "previous");
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		variables.push("v", "value");
+		assertThat(this.requestMap.get("v"), is((Object) "value"));
+		variables.pop();
+		assertThat(this.requestMap.get("v"), is((Object) "previous"));
+	}
+
+	@Test
+	public void shouldUseLocalVariablesIfEnabled() throws Exception {
+		LocalVariables.enable(this.externalContext);
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		assertThat(variables.isRequestScope(), is(false));
+		variables.push("v", "value");
+		assertThat(this.requestMap.containsKey("v"), is(false));
+		assertThat(variables.getValue(variables.indexOf("v")), is((Object) "value"));
+		variables.pop();
+		assertThat(variables.indexOf("v"), is(-1));
+	}
+
+	@Test
+	public void shouldUseRequestScopeIfConfigured() throws Exception {
+		given(this.externalContext.getInitParameter(LocalVariables.REQUEST_SCOPE_VARIABLES_PARAMETER)).willReturn(
+				"true");
+		LocalVariables.enable(this.externalContext);
+		assertThat(LocalVariables.get(this.facesContext).isRequestScope(), is(true));
+	}
+
+	@Test
+	public void shouldHidePreviousVariableWithSameName() throws Exception {
+		LocalVariables.enable(this.externalContext);
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		variables.push("v", "outer");
+		variables.push("other", "other");
+		variables.push("v", "inner");
+		assertThat(variables.getValue(variables.indexOf("v")), is((Object) "inner"));
+		variables.pop();
+		assertThat(variables.getValue(variables.indexOf("v")), is((Object) "outer"));
+	}
+
+	@Test
+	public void shouldSupportNullName() throws Exception {
+		LocalVariables.enable(this.externalContext);
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		variables.push(null, "value");
+		assertThat(variables.indexOf("v"), is(-1));
+		variables.pop();
+	}
+
+	@Test
+	public void shouldGrow() throws Exception {
+		LocalVariables.enable(this.externalContext);
+		LocalVariables variables = LocalVariables.get(this.facesContext);
+		for (int i = 0; i < 100; i++) {
+			variables.push("v" + i, i);
+		}
+		assertThat(variables.getValue(variables.indexOf("v0")), is((Object) 0));
+		assertThat(variables.getValue(variables.indexOf("v99")), is((Object) 99));
+	}
+
+	@Test
+	public void shouldFailIfPopWithoutPush() throws Exception {
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("No local variables to pop");
+		LocalVariables.get(this.facesContext).pop();
+	}
+}
@@ -22,13 +22,17 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
+import java.util.HashMap;
+
 import javax.faces.FacesWrapper;
 import javax.faces.FactoryFinder;
 import javax.faces.application.Application;
 import javax.faces.application.ApplicationFactory;
+import javax.faces.context.FacesContext;
 import javax.faces.event.PostConstructApplicationEvent;
 
 import org.junit.Test;
+import org.springframework.springfaces.expression.el.LocalVariables;
 
 /**
  * Tests for {@link SpringSystemEventListener}.
@@ -58,6 +62,9 @@ public class SpringSystemEventListenerTest extends AbstractFacesWrapperFactoryTe
 			Application actual = applicationFactory.getApplication();
 			assertThat(actual, is(instanceOf(SpringApplication.class)));
 			assertThat(((FacesWrapper<Application>) actual).getWrapped(), is(sameInstance(application)));
+			FacesContext facesContext = FacesContext.getCurrentInstance();
+			given(facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+			assertThat(LocalVariables.get(facesContext).isRequestScope(), is(false));
 		} finally {
 			FactoryFinder.releaseFactories();
 			FactoryFinder.setFactory(FactoryFinder.APPLICATION_FACTORY, null);
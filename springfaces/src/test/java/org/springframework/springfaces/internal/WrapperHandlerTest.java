@@ -28,7 +28,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.withSettings;
 
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -48,6 +47,7 @@ import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.Ordered;
 import org.springframework.springfaces.FacesContextSetter;
 import org.springframework.springfaces.FacesWrapperFactory;
@@ -89,6 +89,8 @@ public class WrapperHandlerTest {
 
 	private WrapperHandler<Object> wrapperHandler;
 
+	private SpringFacesIntegration integration;
+
 	@Before
 	public void setup() {
 		given(this.facesContext.getExternalContext()).willReturn(this.externalContext);
@@ -109,10 +111,10 @@ public class WrapperHandlerTest {
 	}
 
 	private void setupApplicationContext(WebApplicationContext webContext) {
-		SpringFacesIntegration integration = new SpringFacesIntegration();
-		integration.setServletContext(mock(ServletContext.class));
-		integration.setApplicationContext(webContext);
-		this.applicationMap.put(SPRING_FACES_INTEGRATION_ATTRIBUTE, integration);
+		this.integration = new SpringFacesIntegration();
+		this.integration.setServletContext(mock(ServletContext.class));
+		this.integration.setApplicationContext(webContext);
+		this.applicationMap.put(SPRING_FACES_INTEGRATION_ATTRIBUTE, this.integration);
 		this.applicationMap.put(LAST_REFRESHED_DATE_ATTRIBUTE, new Date());
 	}
 
@@ -220,13 +222,29 @@ public class WrapperHandlerTest {
 	public void shouldRewrapIfAppicationContextRefreshed() throws Exception {
 		setupWrapperFactory();
 		this.wrapperHandler.getWrapped();
-		Calendar c = Calendar.getInstance();
-		c.add(Calendar.SECOND, 1);
-		this.applicationMap.put(LAST_REFRESHED_DATE_ATTRIBUTE, c.getTime());
+		this.integration.onApplicationEvent(new ContextRefreshedEvent(this.applicationContext));
 		this.wrapperHandler.getWrapped();
 		verify(this.factory, times(2)).newWrapper(Object.class, this.delegate);
 	}
 
+	@Test
+	public void shouldReturnWrappedWithoutFacesContextOnceWrapped() throws Exception {
+		Object wrapped = setupWrapperFactory();
+		this.wrapperHandler.getWrapped();
+		FacesContextSetter.setCurrentInstance(null);
+		Object actual = this.wrapperHandler.getWrapped();
+		assertThat(actual, is(sameInstance(wrapped)));
+		verify(this.factory).newWrapper(Object.class, this.delegate);
+	}
+
+	@Test
+	public void shouldWrapWhenSpringFacesIsInstalled() throws Exception {
+		FacesContextSetter.setCurrentInstance(this.facesContext);
+		assertThat(this.wrapperHandler.getWrapped(), is(sameInstance(this.delegate)));
+		Object wrapped = setupWrapperFactory();
+		assertThat(this.wrapperHandler.getWrapped(), is(sameInstance(wrapped)));
+	}
+
 	private static class LongFacesWrapperFactory implements FacesWrapperFactory<Long> {
 		public Long newWrapper(Class<?> typeClass, Long delegate) {
 			return delegate + 1;
@@ -59,6 +59,7 @@ public class DefaultObjectMessageSourceTest {
 		addMessageToParent(INNER + "MappedCollection", "collection {collection}");
 		addMessageToParent(INNER + "MappedWithMissingParameters", "mapped {missing}");
 		addMessageToParent(INNER + "MappedWithArguments", "mapped args {1} {0}");
+		addMessageToParent(INNER + "MappedWithMalformedParameters", "{ {name {} {{name}} {name");
 		addMessageToParent("java.lang.Boolean.TRUE", "Yes");
 		addMessageToParent("java.lang.Boolean.FALSE", "No");
 	}
@@ -127,6 +128,26 @@ public class DefaultObjectMessageSourceTest {
 		assertThat(actual, is("mapped {missing}"));
 	}
 
+	@Test
+	public void shouldExpandArgumentsContainingSpecialCharacters() throws Exception {
+		String actual = this.messageSource.getMessage(new MappedArguments("$1\\", NumberEnum.ONE, true), null, LOCALE);
+		assertThat(actual, is("a $1\\ b 1 c Yes"));
+	}
+
+	@Test
+	public void shouldExpandArgumentsForEachObject() throws Exception {
+		String actual1 = this.messageSource.getMessage(new MappedArguments("x", NumberEnum.ONE, true), null, LOCALE);
+		String actual2 = this.messageSource.getMessage(new MappedArguments("y", NumberEnum.ONE, false), null, LOCALE);
+		assertThat(actual1, is("a x b 1 c Yes"));
+		assertThat(actual2, is("a y b 1 c No"));
+	}
+
+	@Test
+	public void shouldOnlyExpandWellFormedParameters() throws Exception {
+		String actual = this.messageSource.getMessage(new MappedWithMalformedParameters("x"), null, LOCALE);
+		assertThat(actual, is("{ {name {} {x} {name"));
+	}
+
 	@Test
 	public void shouldThrowNoSuchObjectExceptionIfNotMapped() throws Exception {
 		this.thrown.expect(NoSuchObjectMessageException.class);
@@ -141,6 +162,34 @@ public class DefaultObjectMessageSourceTest {
 		assertThat(actual, is("mapped args 2 1"));
 	}
 
+	@Test
+	public void shouldFindNullIfNotMapped() throws Exception {
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is(nullValue()));
+	}
+
+	@Test
+	public void shouldRememberMissingMessages() throws Exception {
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is(nullValue()));
+		addMessageToParent(INNER + "NotMapped", "late");
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is(nullValue()));
+		this.messageSource.clearCache();
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is("late"));
+	}
+
+	@Test
+	public void shouldRememberMissingEnumConstantsIndividually() throws Exception {
+		assertThat(this.messageSource.findMessage(NumberEnum.TWO, null, LOCALE), is(nullValue()));
+		assertThat(this.messageSource.findMessage(NumberEnum.ONE, null, LOCALE), is("1"));
+	}
+
+	@Test
+	public void shouldNotRememberMissingMessagesIfCacheDisabled() throws Exception {
+		this.messageSource.setCacheSeconds(0);
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is(nullValue()));
+		addMessageToParent(INNER + "NotMapped", "late");
+		assertThat(this.messageSource.findMessage(new NotMapped(), null, LOCALE), is("late"));
+	}
+
 	static class NotMapped {
 	}
 
@@ -171,6 +220,13 @@ public class DefaultObjectMessageSourceTest {
 		}
 	}
 
+	static class MappedWithMalformedParameters extends MappedArguments {
+
+		public MappedWithMalformedParameters(String name) {
+			super(name, null, null);
+		}
+	}
+
 	static class MappedArray {
 		private int[] numbers;
 
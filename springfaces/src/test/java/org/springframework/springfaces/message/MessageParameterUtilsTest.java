@@ -0,0 +1,52 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.message;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests for {@link MessageParameterUtils}.
+ * 
+ * @author Phillip Webb
+ */
+public class MessageParameterUtilsTest {
+
+	@Test
+	public void shouldFindParameterEnd() throws Exception {
+		assertThat(MessageParameterUtils.findParameterEnd("a {name_1} b", 2), is(9));
+	}
+
+	@Test
+	public void shouldNotFindEndOfEmptyParameter() throws Exception {
+		assertThat(MessageParameterUtils.findParameterEnd("a {} b", 2), is(-1));
+	}
+
+	@Test
+	public void shouldNotFindEndOfInvalidParameter() throws Exception {
+		assertThat(MessageParameterUtils.findParameterEnd("a {0,date} b", 2), is(-1));
+		assertThat(MessageParameterUtils.findParameterEnd("a {name", 2), is(-1));
+	}
+
+	@Test
+	public void shouldCountParameters() throws Exception {
+		assertThat(MessageParameterUtils.countParameters(null), is(0));
+		assertThat(MessageParameterUtils.countParameters("none"), is(0));
+		assertThat(MessageParameterUtils.countParameters("{a} and {{b}} but not {} or {c"), is(2));
+	}
+}
@@ -16,6 +16,7 @@
 package org.springframework.springfaces.message;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
@@ -43,6 +44,7 @@ public class ObjectMessageSourceUtilsTest {
 	private String code = "code";
 	private Object[] args = new Object[] {};
 	private Locale locale = Locale.UK;
+	private Object object = new Object();
 
 	@Test
 	public void shouldNeedMessageSourceOrApplicationContext() throws Exception {
@@ -89,4 +91,28 @@ public class ObjectMessageSourceUtilsTest {
 		verify(applicationContext).getMessage(this.code, this.args, this.locale);
 	}
 
+	@Test
+	public void shouldFindMessageFromObjectMessageSource() throws Exception {
+		ObjectMessageSource messageSource = mock(ObjectMessageSource.class);
+		given(messageSource.getMessage(this.object, this.args, this.locale)).willReturn("message");
+		assertThat(ObjectMessageSourceUtils.findMessage(messageSource, this.object, this.args, this.locale),
+				is("message"));
+	}
+
+	@Test
+	public void shouldFindNullMessageWhenNoSuchObjectMessage() throws Exception {
+		ObjectMessageSource messageSource = mock(ObjectMessageSource.class);
+		given(messageSource.getMessage(this.object, this.args, this.locale)).willThrow(
+				new NoSuchObjectMessageException(this.object, this.locale));
+		assertThat(ObjectMessageSourceUtils.findMessage(messageSource, this.object, this.args, this.locale),
+				is(nullValue()));
+	}
+
+	@Test
+	public void shouldFindMessageFromDefaultObjectMessageSourceWithoutException() throws Exception {
+		DefaultObjectMessageSource messageSource = mock(DefaultObjectMessageSource.class);
+		given(messageSource.findMessage(this.object, this.args, this.locale)).willReturn("message");
+		assertThat(ObjectMessageSourceUtils.findMessage(messageSource, this.object, this.args, this.locale),
+				is("message"));
+	}
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.message;
+
+import java.util.Locale;
+
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+
+/**
+ * Simple benchmark comparing {@link SnapshotObjectMessageSource} with {@link DefaultObjectMessageSource}, both backed
+ * by a {@link ReloadableResourceBundleMessageSource}. Resolves messages in the same way as a
+ * {@link org.springframework.springfaces.message.ui.MessageSourceMap MessageSourceMap} with a prefix. This class is a
+ * manual timing tool that makes no assertions and is not run as part of the build, run the {@link #main(String[]) main}
+ * method directly.
+ * 
+ * @author Phillip Webb
+ */
+public class SnapshotObjectMessageSourceBenchmark {
+
+	private static final String BASENAME = "classpath:org/springframework/springfaces/message/snapshot";
+
+	private static final int ITERATIONS = 1000000;
+
+	private static final MessageSourceResolvable[] RESOLVABLES = {
+			new DefaultMessageSourceResolvable(new String[] { "pages.home.greeting", "greeting" }),
+			new DefaultMessageSourceResolvable(new String[] { "pages.home.title", "title" }),
+			new DefaultMessageSourceResolvable(new String[] { "pages.home.welcome", "welcome" },
+					new Object[] { "a", "b" }) };
+
+	public static void main(String[] args) {
+		ReloadableResourceBundleMessageSource parent = new ReloadableResourceBundleMessageSource();
+		parent.setBasename(BASENAME);
+		DefaultObjectMessageSource defaultMessageSource = new DefaultObjectMessageSource(parent);
+		SnapshotObjectMessageSource snapshotMessageSource = new SnapshotObjectMessageSource(parent);
+		snapshotMessageSource.setBasenames(BASENAME);
+		snapshotMessageSource.setLocales(Locale.ENGLISH);
+		snapshotMessageSource.snapshot();
+		for (int i = 0; i < 3; i++) {
+			run("DefaultObjectMessageSource", defaultMessageSource);
+			run("SnapshotObjectMessageSource", snapshotMessageSource);
+		}
+	}
+
+	private static void run(String name, MessageSource messageSource) {
+		long startTime = System.nanoTime();
+		int length = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			length += messageSource.getMessage(RESOLVABLES[i % RESOLVABLES.length], Locale.ENGLISH).length();
+		}
+		long duration = System.nanoTime() - startTime;
+		System.out.println(name + ": " + (duration / ITERATIONS) + " ns/op (" + length + ")");
+	}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.message;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ReloadableResourceBundleMessageSource;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.context.support.StaticMessageSource;
+
+/**
+ * Tests for {@link SnapshotObjectMessageSource}.
+ * 
+ * @author Phillip Webb
+ */
+public class SnapshotObjectMessageSourceTest {
+
+	private static final String BASENAME = "classpath:org/springframework/springfaces/message/snapshot";
+
+	private static final Locale GERMAN = Locale.GERMAN;
+
+	private static final Locale ENGLISH = Locale.ENGLISH;
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private ReloadableResourceBundleMessageSource parent;
+
+	private SnapshotObjectMessageSource messageSource;
+
+	@Before
+	public void setup() {
+		this.parent = new ReloadableResourceBundleMessageSource();
+		this.parent.setBasename(BASENAME);
+		this.parent.setFallbackToSystemLocale(false);
+		this.messageSource = new SnapshotObjectMessageSource(this.parent);
+		this.messageSource.setBasenames(BASENAME);
+		this.messageSource.setLocales(ENGLISH, GERMAN);
+	}
+
+	@Test
+	public void shouldNeedBasenames() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Basenames must not be null");
+		this.messageSource.setBasenames((String[]) null);
+	}
+
+	@Test
+	public void shouldNeedLocales() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Locales must not be null");
+		this.messageSource.setLocales((Locale[]) null);
+	}
+
+	@Test
+	public void shouldServeMessagesFromSnapshot() throws Exception {
+		this.messageSource.snapshot();
+		this.messageSource.setParentMessageSource(new StaticMessageSource());
+		assertThat(this.messageSource.getMessage("greeting", null, ENGLISH), is("Hello"));
+		assertThat(this.messageSource.getMessage("greeting", null, GERMAN), is("Hallo"));
+	}
+
+	@Test
+	public void shouldUseParentBeforeSnapshot() throws Exception {
+		assertThat(this.messageSource.getMessage("greeting", null, GERMAN), is("Hallo"));
+	}
+
+	@Test
+	public void shouldFallBackToParentForMissingCodes() throws Exception {
+		this.messageSource.snapshot();
+		StaticMessageSource parent = new StaticMessageSource();
+		parent.addMessage("other", ENGLISH, "Other");
+		this.messageSource.setParentMessageSource(parent);
+		assertThat(this.messageSource.getMessage("other", null, ENGLISH), is("Other"));
+		assertThat(this.messageSource.getMessage("missing", null, null, ENGLISH), is(nullValue()));
+	}
+
+	@Test
+	public void shouldFallBackToParentForMissingLocales() throws Exception {
+		this.messageSource.setLocales(ENGLISH);
+		this.messageSource.snapshot();
+		assertThat(this.messageSource.getMessage("greeting", null, GERMAN), is("Hallo"));
+	}
+
+	@Test
+	public void shouldThrowForMissingCodes() throws Exception {
+		this.messageSource.snapshot();
+		this.thrown.expect(NoSuchMessageException.class);
+		this.messageSource.getMessage("missing", null, ENGLISH);
+	}
+
+	@Test
+	public void shouldFormatArguments() throws Exception {
+		this.messageSource.snapshot();
+		assertThat(this.messageSource.getMessage("welcome", new Object[] { "a", "b" }, ENGLISH), is("Welcome a b"));
+		assertThat(this.messageSource.getMessage("quoted", new Object[] { "x" }, ENGLISH), is("It's x"));
+	}
+
+	@Test
+	public void shouldFormatLikeParent() throws Exception {
+		this.messageSource.snapshot();
+		String[] codes = { "greeting", "welcome", "quoted", "title" };
+		Object[][] arguments = { null, {}, { "a", "b" } };
+		for (String code : codes) {
+			for (Object[] args : arguments) {
+				assertThat(this.messageSource.getMessage(code, args, ENGLISH),
+						is(this.parent.getMessage(code, args, ENGLISH)));
+			}
+		}
+	}
+
+	@Test
+	public void shouldResolveCodesInOrder() throws Exception {
+		this.messageSource.snapshot();
+		DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[] {
+				"pages.missing.title", "pages.home.title", "title" });
+		assertThat(this.messageSource.getMessage(resolvable, ENGLISH), is("Home"));
+		resolvable = new DefaultMessageSourceResolvable(new String[] { "pages.missing.title", "title" });
+		assertThat(this.messageSource.getMessage(resolvable, ENGLISH), is("Default Title"));
+	}
+
+	@Test
+	public void shouldResolveEarlierParentCodeBeforeLaterSnapshotCode() throws Exception {
+		this.messageSource.snapshot();
+		StaticMessageSource parent = new StaticMessageSource();
+		parent.addMessage("pages.other.title", ENGLISH, "Other");
+		this.messageSource.setParentMessageSource(parent);
+		DefaultMessageSourceResolvable resolvable = new DefaultMessageSourceResolvable(new String[] {
+				"pages.other.title", "title" });
+		assertThat(this.messageSource.getMessage(resolvable, ENGLISH), is("Other"));
+	}
+
+	@Test
+	public void shouldResolveObjectsFromSnapshot() throws Exception {
+		this.messageSource.snapshot();
+		this.messageSource.setParentMessageSource(new StaticMessageSource());
+		assertThat(this.messageSource.getMessage(Colour.RED, null, ENGLISH), is("Red"));
+		assertThat(this.messageSource.findMessage(Colour.GREEN, null, ENGLISH), is(nullValue()));
+	}
+
+	@Test
+	public void shouldSnapshotOnRefresh() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		this.messageSource.setApplicationContext(applicationContext);
+		this.messageSource.onApplicationEvent(new ContextRefreshedEvent(applicationContext));
+		this.messageSource.setParentMessageSource(new StaticMessageSource());
+		assertThat(this.messageSource.getMessage("greeting", null, ENGLISH), is("Hello"));
+	}
+
+	@Test
+	public void shouldNotSnapshotOnRefreshOfOtherContext() throws Exception {
+		this.messageSource.setApplicationContext(new StaticApplicationContext());
+		this.messageSource.onApplicationEvent(new ContextRefreshedEvent(new StaticApplicationContext()));
+		this.messageSource.setParentMessageSource(new StaticMessageSource());
+		assertThat(this.messageSource.getMessage("greeting", null, null, ENGLISH), is(nullValue()));
+	}
+
+	static enum Colour {
+		RED, GREEN
+	}
+}
@@ -17,14 +17,19 @@ package org.springframework.springfaces.message.ui;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.Arrays;
 import java.util.Locale;
@@ -35,7 +40,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentMatcher;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.springframework.context.MessageSource;
 import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.support.StaticMessageSource;
@@ -245,6 +252,50 @@ public class MessageSourceMapTest {
 		assertThat(value, is(String.class));
 	}
 
+	@Test
+	public void shouldCacheNumberOfPlaceholders() throws Exception {
+		final StaticMessageSource staticMessageSource = new StaticMessageSource();
+		staticMessageSource.addMessage("test", Locale.getDefault(), "test {0} {1} message");
+		MessageSource messageSource = mock(MessageSource.class);
+		given(messageSource.getMessage(any(MessageSourceResolvable.class), any(Locale.class))).willAnswer(
+				new Answer<String>() {
+					public String answer(InvocationOnMock invocation) throws Throwable {
+						return staticMessageSource.getMessage((MessageSourceResolvable) invocation.getArguments()[0],
+								(Locale) invocation.getArguments()[1]);
+					}
+				});
+		TestMessageSourceMap map = new TestMessageSourceMap(messageSource);
+		map.setReturnStringWhenPossible(true);
+		assertThat(map.get("test", "x", "y"), is((Object) "test x y message"));
+		assertThat(map.get("test", "a", "b"), is((Object) "test a b message"));
+		verify(messageSource, times(3)).getMessage(any(MessageSourceResolvable.class), any(Locale.class));
+	}
+
+	@Test
+	public void shouldRecountPlaceholdersWhenNotCached() throws Exception {
+		StaticMessageSource messageSource = new StaticMessageSource();
+		messageSource.addMessage("test", Locale.getDefault(), "test {0} message");
+		TestMessageSourceMap map = new TestMessageSourceMap(messageSource) {
+			@Override
+			protected boolean isPlaceholderCountCached() {
+				return false;
+			}
+		};
+		map.setReturnStringWhenPossible(true);
+		assertThat(map.get("test", "x"), is((Object) "test x message"));
+		messageSource.addMessage("test", Locale.getDefault(), "test {0} {1} message");
+		assertThat(map.get("test", "x"), is(not(instanceOf(String.class))));
+	}
+
+	@Test
+	public void shouldNestMoreThanTwoArguments() throws Exception {
+		StaticMessageSource messageSource = new StaticMessageSource();
+		messageSource.addMessage("test", Locale.getDefault(), "{0}{1}{2}{3}");
+		TestMessageSourceMap map = new TestMessageSourceMap(messageSource);
+		map.setReturnStringWhenPossible(true);
+		assertThat(map.get("test", "a", "b", "c", "d"), is((Object) "abcd"));
+	}
+
 	private Locale nullLocale() {
 		return (Locale) isNull();
 	}
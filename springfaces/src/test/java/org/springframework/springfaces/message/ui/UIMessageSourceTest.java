@@ -19,6 +19,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
@@ -217,6 +218,45 @@ public class UIMessageSourceTest {
 				+ Locale.getDefault().toString() + "'."));
 	}
 
+	@Test
+	public void shouldReuseMessageSourceMapWhenInProduction() throws Exception {
+		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/page.xhtml");
+		given(this.facesContext.isProjectStage(ProjectStage.Production)).willReturn(true);
+		MessageSourceMap messageSourceMap = callSetParent();
+		this.uiMessageSource = new UIMessageSource();
+		this.uiMessageSource.setVar("msg");
+		this.uiMessageSource.setReturnStringsWhenPossible(false);
+		this.uiMessageSource.setPrefixOptional(false);
+		assertThat(callSetParent(), is(sameInstance(messageSourceMap)));
+	}
+
+	@Test
+	public void shouldHoldReusableMessageSourceMapsInApplicationMap() throws Exception {
+		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/page.xhtml");
+		given(this.facesContext.isProjectStage(ProjectStage.Production)).willReturn(true);
+		MessageSourceMap messageSourceMap = callSetParent();
+		Map<String, Object> applicationMap = this.facesContext.getExternalContext().getApplicationMap();
+		assertThat(applicationMap.remove(UIMessageSource.class.getName() + ".CACHES"), is(notNullValue()));
+		assertThat(callSetParent(), is(not(sameInstance(messageSourceMap))));
+	}
+
+	@Test
+	public void shouldNotReuseMessageSourceMapWhenPrefixDiffers() throws Exception {
+		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/page.xhtml");
+		given(this.facesContext.isProjectStage(ProjectStage.Production)).willReturn(true);
+		MessageSourceMap messageSourceMap = callSetParent();
+		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/other.xhtml");
+		assertThat(callSetParent(), is(not(sameInstance(messageSourceMap))));
+	}
+
+	@Test
+	public void shouldNotReuseMessageSourceMapWhenNotInProduction() throws Exception {
+		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/page.xhtml");
+		given(this.facesContext.isProjectStage(ProjectStage.Production)).willReturn(false);
+		MessageSourceMap messageSourceMap = callSetParent();
+		assertThat(callSetParent(), is(not(sameInstance(messageSourceMap))));
+	}
+
 	@Test
 	public void shouldWrapWithDefaultObjectMessageSource() throws Exception {
 		given(this.viewRoot.getViewId()).willReturn("/WEB-INF/pages/example/page.xhtml");
@@ -224,7 +264,7 @@ public class UIMessageSourceTest {
 		Convertable convertable = new Convertable();
 		given(
 				this.applicationContext.getMessage("org.springframework.springfaces.message.ui."
-						+ "UIMessageSourceTest$Convertable", new Object[] {}, null)).willReturn("test");
+						+ "UIMessageSourceTest$Convertable", new Object[] {}, null, null)).willReturn("test");
 		String actual = messageSourceMap.get(convertable).toString();
 		assertThat(actual, is("test"));
 	}
@@ -18,6 +18,7 @@ package org.springframework.springfaces.model;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
@@ -271,6 +272,79 @@ public class LazyDataModelTest {
 		verify(this.loader, times(2)).getRows(this.state);
 	}
 
+	@Test
+	public void shouldReuseRecentlyLoadedRowSets() throws Exception {
+		this.dataModel.setRowIndex(0);
+		assertThat(this.dataModel.getRowData(), is("Data 0"));
+		this.dataModel.setRowIndex(10);
+		assertThat(this.dataModel.getRowData(), is("Data 10"));
+		this.dataModel.setRowIndex(5);
+		assertThat(this.dataModel.getRowData(), is("Data 5"));
+		this.dataModel.setRowIndex(15);
+		assertThat(this.dataModel.getRowData(), is("Data 15"));
+		verify(this.loader, times(2)).getRows(this.state);
+		assertThat(this.dataModel.getSavedLoadCount(), is(2));
+	}
+
+	@Test
+	public void shouldCountSavedLoadsForMostRecentRowSet() throws Exception {
+		this.dataModel.setRowIndex(0);
+		this.dataModel.getRowData();
+		this.dataModel.setRowIndex(1);
+		this.dataModel.getRowData();
+		verify(this.loader, times(1)).getRows(this.state);
+		assertThat(this.dataModel.getSavedLoadCount(), is(0));
+	}
+
+	@Test
+	public void shouldLimitCachedRowSets() throws Exception {
+		this.dataModel.setRowSetCacheSize(1);
+		this.dataModel.setRowIndex(0);
+		this.dataModel.getRowData();
+		this.dataModel.setRowIndex(10);
+		this.dataModel.getRowData();
+		this.dataModel.setRowIndex(5);
+		this.dataModel.getRowData();
+		verify(this.loader, times(3)).getRows(this.state);
+		assertThat(this.dataModel.getSavedLoadCount(), is(0));
+	}
+
+	@Test
+	public void shouldClearCachedRowSetsWhenClearingRowCount() throws Exception {
+		this.dataModel.setRowIndex(0);
+		this.dataModel.getRowData();
+		this.dataModel.clearCachedRowCount();
+		this.dataModel.getRowData();
+		verify(this.loader, times(2)).getRows(this.state);
+	}
+
+	@Test
+	public void shouldNotGetRowDataForKeyWithoutKeyedLoader() throws Exception {
+		assertThat(this.dataModel.getRowDataForKey("1"), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void shouldGetRowDataForKeyFromKeyedLoader() throws Exception {
+		KeyedLazyDataLoader<String, LazyDataModelState> keyedLoader = mock(KeyedLazyDataLoader.class);
+		given(keyedLoader.getRowData("1", this.state)).willReturn("Data 1");
+		LazyDataModel<String, ? extends LazyDataModelState> dataModel = newLazyDataModel(keyedLoader, this.state);
+		assertThat(dataModel.getRowDataForKey("1"), is("Data 1"));
+	}
+
+	@Test
+	public void shouldGetLoadedRowDataWithoutLoading() throws Exception {
+		assertThat(this.dataModel.getLoadedRowData(0, 10).isEmpty(), is(true));
+		this.dataModel.setRowIndex(0);
+		this.dataModel.getRowData();
+		this.dataModel.setRowIndex(-1);
+		List<String> loaded = this.dataModel.getLoadedRowData(5, 10);
+		assertThat(loaded.size(), is(5));
+		assertThat(loaded.get(0), is("Data 5"));
+		assertThat(this.dataModel.getRowIndex(), is(-1));
+		verify(this.loader, times(1)).getRows(this.state);
+	}
+
 	private class MockLoader implements LazyDataLoader<String, LazyDataModelState> {
 		public DataModelRowSet<String> getRows(LazyDataModelState state) {
 			List<String> contents = new ArrayList<String>();
@@ -113,4 +113,38 @@ public class PagedDataModelStateTest {
 		assertThat(this.state.getFilters(), is(equalTo(filters)));
 	}
 
+
+	@Test
+	public void shouldSetKeyset() throws Exception {
+		Object[] first = new Object[] { "a", 1L };
+		Object[] last = new Object[] { "b", 2L };
+		this.state.setKeyset(10, first, last);
+		assertThat(this.state.getKeysetOffset(), is(10));
+		assertThat(this.state.getFirstRowKeyset(), is(first));
+		assertThat(this.state.getLastRowKeyset(), is(last));
+	}
+
+	@Test
+	public void shouldClearKeysetOnSortChange() throws Exception {
+		this.state.setKeyset(10, new Object[] { 1L }, new Object[] { 2L });
+		this.state.setSortColumn("name");
+		assertThat(this.state.getKeysetOffset(), is(-1));
+		assertThat(this.state.getLastRowKeyset(), is(nullValue()));
+	}
+
+	@Test
+	public void shouldClearKeysetOnFilterChange() throws Exception {
+		this.state.setKeyset(10, new Object[] { 1L }, new Object[] { 2L });
+		this.state.setFilters(Collections.singletonMap("a", "b"));
+		assertThat(this.state.getKeysetOffset(), is(-1));
+	}
+
+	@Test
+	public void shouldNotClearKeysetWhenStateIsUnchanged() throws Exception {
+		this.state.setKeyset(10, new Object[] { 1L }, new Object[] { 2L });
+		this.state.setSortColumn(null);
+		this.state.setSortAscending(true);
+		this.state.setPageSize(10);
+		assertThat(this.state.getKeysetOffset(), is(10));
+	}
 }
@@ -18,12 +18,16 @@ package org.springframework.springfaces.page.model;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.springfaces.model.DataModelRowSet;
+import org.springframework.springfaces.model.DefaultDataModelRowSet;
 import org.springframework.springfaces.model.LazyDataLoader;
 import org.springframework.springfaces.model.LazyDataModel;
 import org.springframework.springfaces.model.LazyDataModelState;
@@ -151,4 +155,22 @@ public class PagedDataModelTest extends LazyDataModelTest {
 		assertThat(getDataModel().getRowIndex(), is(-1));
 		assertThat(this.reset, is(true));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void shouldNotReuseCachedRowSetsWhenStateChangesDirectly() throws Exception {
+		final PagedDataModelState state = new PagedDataModelState(10);
+		final List<String> loaded = new ArrayList<String>();
+		PagedDataModel<String> dataModel = new PagedDataModel<String>(new LazyDataLoader<String, PagedDataModelState>() {
+			public DataModelRowSet<String> getRows(PagedDataModelState state) {
+				String row = state.getSortColumn() + " " + state.getRowIndex();
+				loaded.add(row);
+				return new DefaultDataModelRowSet<String>(state.getRowIndex(), Collections.singletonList(row), 1, 100);
+			}
+		}, state);
+		dataModel.setRowIndex(0);
+		assertThat(dataModel.getRowData(), is("null 0"));
+		state.setSortColumn("name");
+		assertThat(dataModel.getRowData(), is("name 0"));
+		assertThat(loaded.size(), is(2));
+	}
+}
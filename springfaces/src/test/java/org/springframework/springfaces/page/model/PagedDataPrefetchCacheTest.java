@@ -0,0 +1,165 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.model;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.springfaces.model.DataModelRowSet;
+import org.springframework.springfaces.model.DefaultDataModelRowSet;
+import org.springframework.springfaces.model.LazyDataLoader;
+
+/**
+ * Tests for {@link PagedDataPrefetchCache}.
+ * 
+ * @author Phillip Webb
+ */
+public class PagedDataPrefetchCacheTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private PagedDataPrefetchCache cache = new PagedDataPrefetchCache();
+
+	private TaskExecutor executor = new SyncTaskExecutor();
+
+	private MockLoader loader = new MockLoader();
+
+	@After
+	public void cleanup() {
+		this.cache.clear();
+		PagedDataPrefetchCache.setGlobalMaxEntries(1000);
+	}
+
+	@Test
+	public void shouldNeedPositiveMaxEntries() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("MaxEntries must be a positive number");
+		new PagedDataPrefetchCache(0, 1000);
+	}
+
+	@Test
+	public void shouldPrefetchNextPage() throws Exception {
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		DataModelRowSet<String> rowSet = this.cache.get("owner", newState(15, 10));
+		assertThat(rowSet.getRowData(10), is("Data 10"));
+		assertThat(this.loader.loadCount, is(1));
+		assertThat(this.cache.getHitCount(), is(1));
+		assertThat(this.cache.getHitRatio(), is(1.0));
+	}
+
+	@Test
+	public void shouldRemoveEntryOnGet() throws Exception {
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		this.cache.get("owner", newState(10, 10));
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+		assertThat(this.cache.getMissCount(), is(1));
+		assertThat(this.cache.getHitRatio(), is(0.5));
+	}
+
+	@Test
+	public void shouldNotShareEntriesBetweenOwners() throws Exception {
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		assertThat(this.cache.get("other", newState(10, 10)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldCancelOnSortChange() throws Exception {
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		PagedDataModelState sorted = newState(0, 10);
+		sorted.setSortColumn("name");
+		this.cache.get("owner", sorted);
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldLimitEntries() throws Exception {
+		this.cache = new PagedDataPrefetchCache(1, 1000);
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		this.cache.prefetch("owner", newState(10, 10), this.loader, this.executor);
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+		assertThat(this.cache.get("owner", newState(20, 10)).getRowData(20), is("Data 20"));
+	}
+
+	@Test
+	public void shouldLimitGlobalEntries() throws Exception {
+		PagedDataPrefetchCache.setGlobalMaxEntries(0);
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		assertThat(this.loader.loadCount, is(0));
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldExpireEntries() throws Exception {
+		this.cache = new PagedDataPrefetchCache(5, 1);
+		this.cache.prefetch("owner", newState(0, 10), this.loader, this.executor);
+		Thread.sleep(10);
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNeedNonNegativeMaxWait() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("MaxWait must not be negative");
+		this.cache.setMaxWait(-1);
+	}
+
+	@Test
+	public void shouldCancelAndMissWhenLoadDoesNotCompleteInTime() throws Exception {
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		TaskExecutor executor = new TaskExecutor() {
+			public void execute(Runnable task) {
+				tasks.add(task);
+			}
+		};
+		this.cache.setMaxWait(1);
+		this.cache.prefetch("owner", newState(0, 10), this.loader, executor);
+		assertThat(this.cache.get("owner", newState(10, 10)), is(nullValue()));
+		assertThat(this.cache.getMissCount(), is(1));
+		tasks.get(0).run();
+		assertThat(this.loader.loadCount, is(0));
+	}
+
+	private PagedDataModelState newState(int rowIndex, int pageSize) {
+		PagedDataModelState state = new PagedDataModelState(pageSize);
+		state.setRowIndex(rowIndex);
+		return state;
+	}
+
+	private static class MockLoader implements LazyDataLoader<String, PagedDataModelState> {
+
+		private int loadCount;
+
+		public DataModelRowSet<String> getRows(PagedDataModelState state) {
+			this.loadCount++;
+			List<String> contents = new ArrayList<String>();
+			for (int i = 0; i < state.getPageSize(); i++) {
+				contents.add("Data " + (state.getRowIndex() + i));
+			}
+			return new DefaultDataModelRowSet<String>(state.getRowIndex(), contents, 1000);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.page.model;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * Test for {@link PagedDataQueryKey}.
+ * 
+ * @author Phillip Webb
+ */
+public class PagedDataQueryKeyTest {
+
+	private PagedDataModelState state = new PagedDataModelState(10);
+
+	@Test
+	public void shouldBeEqualForSameQuery() throws Exception {
+		PagedDataQueryKey key = new PagedDataQueryKey(this.state);
+		this.state.setRowIndex(25);
+		this.state.setKeyset(20, new Object[] { 1 }, new Object[] { 2 });
+		PagedDataQueryKey other = new PagedDataQueryKey(this.state);
+		assertThat(other, is(equalTo(key)));
+		assertThat(other.hashCode(), is(key.hashCode()));
+	}
+
+	@Test
+	public void shouldNotBeEqualForDifferentPageSize() throws Exception {
+		PagedDataQueryKey key = new PagedDataQueryKey(this.state);
+		this.state.setPageSize(20);
+		assertThat(new PagedDataQueryKey(this.state), is(not(equalTo(key))));
+	}
+
+	@Test
+	public void shouldNotBeEqualForDifferentSort() throws Exception {
+		PagedDataQueryKey key = new PagedDataQueryKey(this.state);
+		this.state.setSortColumn("name");
+		PagedDataQueryKey sorted = new PagedDataQueryKey(this.state);
+		assertThat(sorted, is(not(equalTo(key))));
+		this.state.setSortAscending(false);
+		assertThat(new PagedDataQueryKey(this.state), is(not(equalTo(sorted))));
+	}
+
+	@Test
+	public void shouldCopyFilters() throws Exception {
+		Map<String, String> filters = new HashMap<String, String>();
+		this.state.setFilters(filters);
+		PagedDataQueryKey key = new PagedDataQueryKey(this.state);
+		filters.put("name", "value");
+		assertThat(key.isFor(this.state), is(false));
+		assertThat(new PagedDataQueryKey(this.state), is(not(equalTo(key))));
+		this.state.setFilters(Collections.<String, String> emptyMap());
+		assertThat(key.isFor(this.state), is(true));
+	}
+}
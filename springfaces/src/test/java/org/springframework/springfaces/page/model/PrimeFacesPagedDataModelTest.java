@@ -16,16 +16,20 @@
 package org.springframework.springfaces.page.model;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+import javax.faces.model.DataModelEvent;
 import javax.faces.model.DataModelListener;
 
 import org.junit.Before;
@@ -35,6 +39,9 @@ import org.junit.rules.ExpectedException;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.primefaces.model.SortOrder;
+import org.springframework.springfaces.model.DataModelRowSet;
+import org.springframework.springfaces.model.DefaultDataModelRowSet;
+import org.springframework.springfaces.model.KeyedLazyDataLoader;
 
 /**
  * Tests for {@link PrimeFacesPagedDataModel}
@@ -229,4 +236,102 @@ public class PrimeFacesPagedDataModelTest {
 		verify(this.delegate).setFilters(filters);
 		verify(this.delegate).clearCachedRowCount(first);
 	}
+
+	@Test
+	public void shouldGetRowKeyFromIdMethod() throws Exception {
+		assertThat(this.dataModel.getRowKey(new Row(1L)), is((Object) 1L));
+	}
+
+	@Test
+	public void shouldGetRowDataFromLoadedPage() throws Exception {
+		LoadCountingLoader loader = new LoadCountingLoader(100);
+		PrimeFacesPagedDataModel<Object> dataModel = new PrimeFacesPagedDataModel<Object>(new PagedDataModel<Object>(
+				loader, new PagedDataModelState(10)));
+		dataModel.load(20, 10, null, true, null);
+		renderPage(dataModel, 20);
+		DataModelListener listener = mock(DataModelListener.class);
+		dataModel.addDataModelListener(listener);
+		assertThat(((Row) dataModel.getRowData("25")).getId(), is(25L));
+		assertThat(((Row) dataModel.getRowData("29")).getId(), is(29L));
+		assertThat(loader.loadCount, is(1));
+		assertThat(dataModel.getRowIndex(), is(-1));
+		verify(listener, never()).rowSelected(any(DataModelEvent.class));
+	}
+
+	@Test
+	public void shouldNotLoadPageToGetRowData() throws Exception {
+		LoadCountingLoader loader = new LoadCountingLoader(100);
+		PrimeFacesPagedDataModel<Object> dataModel = new PrimeFacesPagedDataModel<Object>(new PagedDataModel<Object>(
+				loader, new PagedDataModelState(10)));
+		dataModel.load(20, 10, null, true, null);
+		assertThat(((Row) dataModel.getRowData("25")).getId(), is(25L));
+		assertThat(loader.loadCount, is(0));
+		assertThat(loader.keyedLoadCount, is(1));
+		renderPage(dataModel, 20);
+		assertThat(((Row) dataModel.getRowData("25")).getId(), is(25L));
+		assertThat(loader.loadCount, is(1));
+		assertThat(loader.keyedLoadCount, is(1));
+	}
+
+	@Test
+	public void shouldUseKeyedLoaderForRowsOutsideLoadedPage() throws Exception {
+		LoadCountingLoader loader = new LoadCountingLoader(100);
+		PrimeFacesPagedDataModel<Object> dataModel = new PrimeFacesPagedDataModel<Object>(new PagedDataModel<Object>(
+				loader, new PagedDataModelState(10)));
+		dataModel.load(0, 10, null, true, null);
+		renderPage(dataModel, 0);
+		assertThat(((Row) dataModel.getRowData("75")).getId(), is(75L));
+		assertThat(dataModel.getRowData("500"), is(nullValue()));
+		assertThat(loader.loadCount, is(1));
+	}
+
+	private void renderPage(PrimeFacesPagedDataModel<Object> dataModel, int first) {
+		for (int i = first; i < first + dataModel.getPageSize(); i++) {
+			dataModel.setRowIndex(i);
+			dataModel.getRowData();
+		}
+		dataModel.setRowIndex(-1);
+	}
+
+	public static class Row {
+
+		private Long id;
+
+		public Row(Long id) {
+			this.id = id;
+		}
+
+		public Long getId() {
+			return this.id;
+		}
+	}
+
+	private static class LoadCountingLoader implements KeyedLazyDataLoader<Object, PagedDataModelState> {
+
+		private int size;
+
+		private int loadCount;
+
+		private int keyedLoadCount;
+
+		public LoadCountingLoader(int size) {
+			this.size = size;
+		}
+
+		public DataModelRowSet<Object> getRows(PagedDataModelState state) {
+			this.loadCount++;
+			int offset = state.getRowIndex() - (state.getRowIndex() % state.getPageSize());
+			List<Object> contents = new ArrayList<Object>();
+			for (int i = offset; i < Math.min(offset + state.getPageSize(), this.size); i++) {
+				contents.add(new Row((long) i));
+			}
+			return new DefaultDataModelRowSet<Object>(offset, contents, state.getPageSize(), this.size);
+		}
+
+		public Object getRowData(String rowKey, PagedDataModelState state) {
+			this.keyedLoadCount++;
+			long id = Long.parseLong(rowKey);
+			return (id < this.size ? new Row(id) : null);
+		}
+	}
 }
@@ -17,6 +17,7 @@ package org.springframework.springfaces.page.ui;
 
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 
 import java.util.Collections;
@@ -92,4 +93,32 @@ public class PageRequestAdapterTest {
 		this.state.setFilters(filters);
 		assertThat(this.adapter.getFilters(), is(equalTo(filters)));
 	}
+
+	@Test
+	public void shouldGetAfterKeysetForNextPage() throws Exception {
+		Object[] first = new Object[] { 1L };
+		Object[] last = new Object[] { 3L };
+		this.state.setKeyset(3, first, last);
+		this.state.setRowIndex(6);
+		assertThat(this.adapter.getAfterKeyset(), is(last));
+		assertThat(this.adapter.getBeforeKeyset(), is(nullValue()));
+	}
+
+	@Test
+	public void shouldGetBeforeKeysetForPreviousPage() throws Exception {
+		Object[] first = new Object[] { 1L };
+		Object[] last = new Object[] { 3L };
+		this.state.setKeyset(3, first, last);
+		this.state.setRowIndex(0);
+		assertThat(this.adapter.getBeforeKeyset(), is(first));
+		assertThat(this.adapter.getAfterKeyset(), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotGetKeysetForOtherPages() throws Exception {
+		this.state.setKeyset(3, new Object[] { 1L }, new Object[] { 3L });
+		this.state.setRowIndex(9);
+		assertThat(this.adapter.getAfterKeyset(), is(nullValue()));
+		assertThat(this.adapter.getBeforeKeyset(), is(nullValue()));
+	}
 }
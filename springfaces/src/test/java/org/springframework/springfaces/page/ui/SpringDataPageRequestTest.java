@@ -19,6 +19,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -115,4 +116,26 @@ public class SpringDataPageRequestTest {
 	public void shouldReturnNullSortForNullSortColumn() throws Exception {
 		assertThat(this.request.getSort(), is(nullValue()));
 	}
+
+	@Test
+	public void shouldDelegateGetAfterKeyset() throws Exception {
+		KeysetPageRequest delegate = mock(KeysetPageRequest.class);
+		Object[] keyset = new Object[] { "a", 1L };
+		given(delegate.getAfterKeyset()).willReturn(keyset);
+		assertThat(new SpringDataPageRequest(delegate).getAfterKeyset(), is(keyset));
+	}
+
+	@Test
+	public void shouldDelegateGetBeforeKeyset() throws Exception {
+		KeysetPageRequest delegate = mock(KeysetPageRequest.class);
+		Object[] keyset = new Object[] { "a", 1L };
+		given(delegate.getBeforeKeyset()).willReturn(keyset);
+		assertThat(new SpringDataPageRequest(delegate).getBeforeKeyset(), is(keyset));
+	}
+
+	@Test
+	public void shouldReturnNullKeysetsForNonKeysetDelegate() throws Exception {
+		assertThat(this.request.getAfterKeyset(), is(nullValue()));
+		assertThat(this.request.getBeforeKeyset(), is(nullValue()));
+	}
 }
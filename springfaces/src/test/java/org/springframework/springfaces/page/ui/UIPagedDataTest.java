@@ -19,6 +19,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
@@ -26,6 +27,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -36,6 +38,7 @@ import javax.el.ELContext;
 import javax.el.ValueExpression;
 import javax.faces.context.ExternalContext;
 import javax.faces.context.FacesContext;
+import javax.servlet.http.HttpSession;
 
 import org.junit.After;
 import org.junit.Before;
@@ -47,6 +50,7 @@ import org.mockito.stubbing.Answer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.springfaces.FacesContextSetter;
+import org.springframework.springfaces.page.model.PagedDataPrefetchCache;
 import org.springframework.springfaces.page.model.PagedDataRows;
 import org.springframework.springfaces.page.model.PrimeFacesPagedDataModel;
 
@@ -66,6 +70,8 @@ public class UIPagedDataTest {
 
 	private Map<String, Object> requestMap = new HashMap<String, Object>();
 
+	private Map<String, Object> sessionMap = new HashMap<String, Object>();
+
 	private PageRequest pageRequest;
 
 	@Before
@@ -74,7 +80,10 @@ public class UIPagedDataTest {
 		ExternalContext externalContext = mock(ExternalContext.class);
 		given(this.context.getExternalContext()).willReturn(externalContext);
 		given(externalContext.getRequestMap()).willReturn(this.requestMap);
+		given(externalContext.getSessionMap()).willReturn(this.sessionMap);
+		given(externalContext.getSession(true)).willReturn(mock(HttpSession.class));
 		FacesContextSetter.setCurrentInstance(this.context);
+		this.uiPagedData.setId("paged");
 	}
 
 	@After
@@ -109,6 +118,14 @@ public class UIPagedDataTest {
 		assertThat(this.uiPagedData.getPageSize(), is(equalTo(12)));
 	}
 
+	@Test
+	public void shouldCreatePrefetchCacheInSession() throws Exception {
+		PagedDataPrefetchCache cache = this.uiPagedData.getPrefetchCache(this.context);
+		assertThat(cache, is(notNullValue()));
+		assertThat(this.sessionMap.values().contains(cache), is(true));
+		assertThat(this.uiPagedData.getPrefetchCache(this.context), is(sameInstance(cache)));
+	}
+
 	@Test
 	public void shouldSetupPageDataOnRestoreState() throws Exception {
 		Object state = this.uiPagedData.saveState(this.context);
@@ -285,6 +302,115 @@ public class UIPagedDataTest {
 		rows.getRowData();
 	}
 
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldReusePagedDataBetweenRestoreStateAndEncodeEnd() throws Exception {
+		this.uiPagedData.setValueExpression("value", mockExpression(Collections.singletonList("a")));
+		Object state = this.uiPagedData.saveState(this.context);
+		this.uiPagedData.restoreState(this.context, state);
+		PagedDataRows restored = (PagedDataRows) this.requestMap.get("pagedData");
+		restored.setRowIndex(0);
+		restored.getRowData();
+		this.uiPagedData.encodeEnd(this.context);
+		PagedDataRows rows = (PagedDataRows) this.requestMap.get("pagedData");
+		assertThat(rows, is(sameInstance(restored)));
+		rows.getRowData();
+		assertThat(this.uiPagedData.getRequestLoadCount(), is(1));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldRecreatePagedDataWhenSortChanges() throws Exception {
+		this.uiPagedData.setValueExpression("value", mockExpression(Collections.singletonList("a")));
+		this.uiPagedData.encodeEnd(this.context);
+		PagedDataRows initial = (PagedDataRows) this.requestMap.get("pagedData");
+		initial.setRowIndex(0);
+		initial.getRowData();
+		initial.setSortColumn("sort");
+		this.uiPagedData.encodeEnd(this.context);
+		PagedDataRows rows = (PagedDataRows) this.requestMap.get("pagedData");
+		assertThat(rows, is(not(sameInstance(initial))));
+		assertThat(rows.getSortColumn(), is(equalTo("sort")));
+		rows.setRowIndex(0);
+		rows.getRowData();
+		assertThat(this.uiPagedData.getRequestLoadCount(), is(2));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldExposeKeysetToNextPageRequest() throws Exception {
+		final List<KeysetRow> valueResult = Arrays.asList(new KeysetRow(1L, "a"), new KeysetRow(2L, "b"));
+		this.uiPagedData.setKeyset(true);
+		this.uiPagedData.setPageSize(2);
+		this.uiPagedData.setSortColumn("name");
+		final List<Object[]> afterKeysets = new ArrayList<Object[]>();
+		ValueExpression binding = mock(ValueExpression.class);
+		given(binding.getValue(any(ELContext.class))).willAnswer(new Answer<Object>() {
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				KeysetPageRequest pageRequest = (KeysetPageRequest) UIPagedDataTest.this.requestMap
+						.get("pageRequest");
+				afterKeysets.add(pageRequest.getAfterKeyset());
+				return valueResult;
+			}
+		});
+		this.uiPagedData.setValueExpression("value", binding);
+		this.uiPagedData.encodeEnd(this.context);
+		PagedDataRows rows = (PagedDataRows) this.requestMap.get("pagedData");
+		rows.setRowIndex(0);
+		rows.getRowData();
+		rows.setRowIndex(2);
+		rows.isRowAvailable();
+		assertThat(afterKeysets.size(), is(2));
+		assertThat(afterKeysets.get(0), is(nullValue()));
+		assertThat(afterKeysets.get(1), is(new Object[] { "b", 2L }));
+	}
+
+	@Test
+	@SuppressWarnings("rawtypes")
+	public void shouldClearKeysetWhenSortColumnCannotBeRead() throws Exception {
+		final List<KeysetRow> valueResult = Arrays.asList(new KeysetRow(1L, "a"), new KeysetRow(2L, "b"));
+		this.uiPagedData.setKeyset(true);
+		this.uiPagedData.setPageSize(2);
+		this.uiPagedData.setSortColumn("missing");
+		final List<Object[]> afterKeysets = new ArrayList<Object[]>();
+		ValueExpression binding = mock(ValueExpression.class);
+		given(binding.getValue(any(ELContext.class))).willAnswer(new Answer<Object>() {
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				KeysetPageRequest pageRequest = (KeysetPageRequest) UIPagedDataTest.this.requestMap
+						.get("pageRequest");
+				afterKeysets.add(pageRequest.getAfterKeyset());
+				return valueResult;
+			}
+		});
+		this.uiPagedData.setValueExpression("value", binding);
+		this.uiPagedData.encodeEnd(this.context);
+		PagedDataRows rows = (PagedDataRows) this.requestMap.get("pagedData");
+		rows.setRowIndex(0);
+		rows.getRowData();
+		rows.setRowIndex(2);
+		rows.isRowAvailable();
+		assertThat(afterKeysets.size(), is(2));
+		assertThat(afterKeysets.get(1), is(nullValue()));
+	}
+
+	@Test
+	public void shouldGetRowDataForKeyUsingExpression() throws Exception {
+		ValueExpression expression = mock(ValueExpression.class);
+		given(expression.getValue(any(ELContext.class))).willAnswer(new Answer<Object>() {
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+				return "row " + UIPagedDataTest.this.requestMap.get("rowKey");
+			}
+		});
+		this.uiPagedData.setValueExpression("rowDataForKey", expression);
+		assertThat(this.uiPagedData.getRowData("1", null), is(equalTo((Object) "row 1")));
+		assertThat(this.requestMap, not(hasKey("rowKey")));
+	}
+
+	@Test
+	public void shouldGetNullRowDataForKeyWithoutExpression() throws Exception {
+		assertThat(this.uiPagedData.getRowData("1", null), is(nullValue()));
+	}
+
 	private ValueExpression mockExpression(final Object result) {
 		ValueExpression binding = mock(ValueExpression.class);
 		given(binding.getValue(any(ELContext.class))).willAnswer(new Answer<Object>() {
@@ -296,4 +422,23 @@ public class UIPagedDataTest {
 		return binding;
 	}
 
+	public static class KeysetRow {
+
+		private Long id;
+
+		private String name;
+
+		public KeysetRow(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Long getId() {
+			return this.id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+	}
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Tests for {@link PageableSelectItemsLoader}.
+ * 
+ * @author Phillip Webb
+ */
+public class PageableSelectItemsLoaderTest {
+
+	@Test
+	public void shouldLoadPage() throws Exception {
+		MockPageableSelectItemsLoader loader = new MockPageableSelectItemsLoader();
+		List<String> actual = loader.load(2, 10);
+		assertThat(loader.pageable.getPageNumber(), is(2));
+		assertThat(loader.pageable.getPageSize(), is(10));
+		assertThat(actual, is(equalTo(Arrays.asList("a", "b"))));
+	}
+
+	@Test
+	public void shouldReturnLastPageWhenNoNextPage() throws Exception {
+		MockPageableSelectItemsLoader loader = new MockPageableSelectItemsLoader();
+		assertThat(loader.load(0, 2), is(instanceOf(LastPage.class)));
+	}
+
+	@Test
+	public void shouldSupportLoadingContentWithoutPage() throws Exception {
+		PageableSelectItemsLoader<String> loader = new PageableSelectItemsLoader<String>() {
+			@Override
+			protected List<String> loadContent(Pageable pageable) {
+				return Arrays.asList("c");
+			}
+
+			@Override
+			protected Page<String> loadPage(Pageable pageable) {
+				throw new AssertionError("Unexpected page load");
+			}
+
+			public String find(String stringValue) {
+				return stringValue;
+			}
+		};
+		assertThat(loader.load(0, 10), is(equalTo(Arrays.asList("c"))));
+	}
+
+	private static class MockPageableSelectItemsLoader extends PageableSelectItemsLoader<String> {
+
+		private Pageable pageable;
+
+		@Override
+		protected Page<String> loadPage(Pageable pageable) {
+			this.pageable = pageable;
+			return new PageImpl<String>(Arrays.asList("a", "b"));
+		}
+
+		public String find(String stringValue) {
+			return stringValue;
+		}
+	}
+}
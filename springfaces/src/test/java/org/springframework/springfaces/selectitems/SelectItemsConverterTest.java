@@ -21,6 +21,7 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 
 import javax.faces.component.UIComponent;
 import javax.faces.component.UISelectItem;
@@ -59,6 +60,7 @@ public class SelectItemsConverterTest {
 		MockitoAnnotations.initMocks(this);
 		this.children = new ArrayList<UIComponent>();
 		given(this.component.getChildren()).willReturn(this.children);
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
 		this.converter = new TestSelectItemsConverter();
 	}
 
@@ -101,6 +103,52 @@ public class SelectItemsConverterTest {
 		assertThat(object, is(nullValue()));
 	}
 
+	@Test
+	public void shouldIndexSelectItemsOncePerRequest() throws Exception {
+		this.children.add(newSelectItem(1));
+		this.children.add(newSelectItem(2));
+		this.children.add(newSelectItem(3));
+		assertThat(this.converter.getAsObject(this.context, this.component, "1"), is((Object) 1));
+		assertThat(this.converter.getAsObject(this.context, this.component, "3"), is((Object) 3));
+		assertThat(this.converter.getAsObject(this.context, this.component, "2"), is((Object) 2));
+		assertThat(this.converter.getAsStringCount, is(3));
+	}
+
+	@Test
+	public void shouldIndexSelectItemsForEachClientId() throws Exception {
+		this.children.add(newSelectItem(1));
+		given(this.component.getClientId(this.context)).willReturn("row1", "row2");
+		this.converter.getAsObject(this.context, this.component, "1");
+		this.converter.getAsObject(this.context, this.component, "1");
+		assertThat(this.converter.getAsStringCount, is(2));
+	}
+
+	@Test
+	public void shouldRebuildIndexIfStringValueIsMissing() throws Exception {
+		this.children.add(newSelectItem(1));
+		this.converter.getAsObject(this.context, this.component, "1");
+		this.children.add(newSelectItem(2));
+		assertThat(this.converter.getAsObject(this.context, this.component, "2"), is((Object) 2));
+	}
+
+	@Test
+	public void shouldFailIfMultipleIndexedSelectItemsHaveSameStringValue() throws Exception {
+		this.children.add(newSelectItem(1));
+		this.children.add(newSelectItem(2));
+		this.children.add(newSelectItem(2));
+		assertThat(this.converter.getAsObject(this.context, this.component, "1"), is((Object) 1));
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("Multiple select items mapped to string value '2'");
+		this.converter.getAsObject(this.context, this.component, "2");
+	}
+
+	@Test
+	public void shouldIndexWithoutContextAttributes() throws Exception {
+		given(this.context.getAttributes()).willReturn(null);
+		this.children.add(newSelectItem(1));
+		assertThat(this.converter.getAsObject(this.context, this.component, "1"), is((Object) 1));
+	}
+
 	private UIComponent newSelectItem(Integer value) {
 		UISelectItem uiSelectItem = new UISelectItem();
 		SelectItem selectItem = new SelectItem(value);
@@ -109,7 +157,11 @@ public class SelectItemsConverterTest {
 	}
 
 	private static class TestSelectItemsConverter extends SelectItemsConverter {
+
+		private int getAsStringCount;
+
 		public String getAsString(FacesContext context, UIComponent component, Object value) {
+			this.getAsStringCount++;
 			return value == null ? "" : value.toString();
 		}
 	}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.el.ArrayELResolver;
+import javax.el.BeanELResolver;
+import javax.el.CompositeELResolver;
+import javax.el.ELContext;
+import javax.el.ListELResolver;
+import javax.el.MapELResolver;
+import javax.el.ResourceBundleELResolver;
+import javax.el.ValueExpression;
+
+import org.springframework.springfaces.expression.el.AbstractELResolver;
+
+import com.sun.el.ExpressionFactoryImpl;
+import com.sun.faces.el.ELContextImpl;
+
+/**
+ * Simple benchmark comparing {@link CompiledItemExpression}s with EL evaluation when reading the label, value and
+ * description of 5,000 items. This class is a manual timing tool that makes no assertions and is not run as part of the
+ * build, run the {@link #main(String[]) main} method directly.
+ * 
+ * @author Phillip Webb
+ */
+public class CompiledItemExpressionBenchmark {
+
+	private static final int ITEMS = 5000;
+
+	private static final int ITERATIONS = 200;
+
+	private static final String[] EXPRESSIONS = { "#{item.id}", "#{item.name}", "#{item.description}" };
+
+	public static void main(String[] args) {
+		List<Item> items = new ArrayList<Item>();
+		for (int i = 0; i < ITEMS; i++) {
+			items.add(new Item(i));
+		}
+		ItemELResolver itemResolver = new ItemELResolver();
+		CompositeELResolver resolver = new CompositeELResolver();
+		resolver.add(itemResolver);
+		resolver.add(new MapELResolver());
+		resolver.add(new ResourceBundleELResolver());
+		resolver.add(new ListELResolver());
+		resolver.add(new ArrayELResolver());
+		resolver.add(new BeanELResolver());
+		ELContext context = new ELContextImpl(resolver);
+		ExpressionFactoryImpl expressionFactory = new ExpressionFactoryImpl();
+		ValueExpression[] valueExpressions = new ValueExpression[EXPRESSIONS.length];
+		for (int i = 0; i < EXPRESSIONS.length; i++) {
+			valueExpressions[i] = expressionFactory.createValueExpression(context, EXPRESSIONS[i], Object.class);
+		}
+		for (int i = 0; i < 3; i++) {
+			runEL(items, itemResolver, context, valueExpressions);
+			runCompiled(items, valueExpressions);
+		}
+	}
+
+	private static void runEL(List<Item> items, ItemELResolver itemResolver, ELContext context,
+			ValueExpression[] valueExpressions) {
+		long startTime = System.nanoTime();
+		int hash = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (Item item : items) {
+				itemResolver.item = item;
+				for (ValueExpression valueExpression : valueExpressions) {
+					hash += valueExpression.getValue(context).hashCode();
+				}
+			}
+		}
+		report("EL", startTime, hash);
+	}
+
+	private static void runCompiled(List<Item> items, ValueExpression[] valueExpressions) {
+		long startTime = System.nanoTime();
+		int hash = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			CompiledItemExpression[] compiled = new CompiledItemExpression[valueExpressions.length];
+			for (int j = 0; j < valueExpressions.length; j++) {
+				compiled[j] = CompiledItemExpression.compile(valueExpressions[j], "item");
+			}
+			for (Item item : items) {
+				for (CompiledItemExpression compiledExpression : compiled) {
+					hash += compiledExpression.getValue(item).hashCode();
+				}
+			}
+		}
+		report("Compiled", startTime, hash);
+	}
+
+	private static void report(String name, long startTime, int hash) {
+		long duration = System.nanoTime() - startTime;
+		System.out.println(name + ": " + (duration / ITERATIONS / 1000) + " us per " + ITEMS + " items (" + hash + ")");
+	}
+
+	private static class ItemELResolver extends AbstractELResolver {
+
+		private Item item;
+
+		@Override
+		protected Object get(String property) {
+			return ("item".equals(property) ? this.item : null);
+		}
+	}
+
+	public static class Item {
+
+		private final Long id;
+
+		private final String name;
+
+		private final String description;
+
+		public Item(long id) {
+			this.id = id;
+			this.name = "Item " + id;
+			this.description = "Description of item " + id;
+		}
+
+		public Long getId() {
+			return this.id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public String getDescription() {
+			return this.description;
+		}
+	}
+}
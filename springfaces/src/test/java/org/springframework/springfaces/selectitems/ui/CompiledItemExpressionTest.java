@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.selectitems.ui;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+
+import javax.el.ELException;
+import javax.el.ValueExpression;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for {@link CompiledItemExpression}.
+ * 
+ * @author Phillip Webb
+ */
+public class CompiledItemExpressionTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private Item item = new Item("a", new Item("b", null));
+
+	@Test
+	public void shouldCompileVar() throws Exception {
+		Object value = compile("#{item}").getValue(this.item);
+		assertThat(value, is(sameInstance((Object) this.item)));
+	}
+
+	@Test
+	public void shouldCompileProperty() throws Exception {
+		assertThat(compile("#{item.name}").getValue(this.item), is((Object) "a"));
+		assertThat(compile("${ item.name }").getValue(this.item), is((Object) "a"));
+	}
+
+	@Test
+	public void shouldCompilePropertyPath() throws Exception {
+		assertThat(compile("#{item.child.name}").getValue(this.item), is((Object) "b"));
+	}
+
+	@Test
+	public void shouldReturnNullForNullPath() throws Exception {
+		assertThat(compile("#{item.child.child.name}").getValue(this.item), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotCompileComplexExpressions() throws Exception {
+		assertThat(compile("#{item.name}x"), is(nullValue()));
+		assertThat(compile("#{item.name + 1}"), is(nullValue()));
+		assertThat(compile("#{item['name']}"), is(nullValue()));
+		assertThat(compile("#{bean.name}"), is(nullValue()));
+		assertThat(compile("#{item.name()}"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotCompileImplicitObjects() throws Exception {
+		assertThat(CompiledItemExpression.compile(mockValueExpression("#{request.name}"), "request"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotCompileLiteral() throws Exception {
+		ValueExpression valueExpression = mockValueExpression("name");
+		given(valueExpression.isLiteralText()).willReturn(true);
+		assertThat(CompiledItemExpression.compile(valueExpression, "item"), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void shouldNotCompileWithExpectedType() throws Exception {
+		ValueExpression valueExpression = mockValueExpression("#{item.name}");
+		given(valueExpression.getExpectedType()).willReturn((Class) String.class);
+		assertThat(CompiledItemExpression.compile(valueExpression, "item"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotResolveMissingProperty() throws Exception {
+		assertThat(compile("#{item.missing}").getValue(this.item), is(sameInstance(CompiledItemExpression.UNRESOLVED)));
+	}
+
+	@Test
+	public void shouldNotResolveMaps() throws Exception {
+		Object value = compile("#{item.name}").getValue(Collections.singletonMap("name", "a"));
+		assertThat(value, is(sameInstance(CompiledItemExpression.UNRESOLVED)));
+	}
+
+	@Test
+	public void shouldResolveDifferentItemClasses() throws Exception {
+		CompiledItemExpression compiled = compile("#{item.name}");
+		assertThat(compiled.getValue(this.item), is((Object) "a"));
+		assertThat(compiled.getValue(new OtherItem()), is((Object) "other"));
+	}
+
+	@Test
+	public void shouldWrapExceptions() throws Exception {
+		this.thrown.expect(ELException.class);
+		this.thrown.expectMessage("broken");
+		compile("#{item.broken}").getValue(this.item);
+	}
+
+	@Test
+	public void shouldCacheCompiledExpressions() throws Exception {
+		CompiledItemExpression compiled = compile("#{item.name}");
+		assertThat(compiled, is(notNullValue()));
+		assertThat(compile("#{item.name}"), is(sameInstance(compiled)));
+	}
+
+	private CompiledItemExpression compile(String expressionString) {
+		return CompiledItemExpression.compile(mockValueExpression(expressionString), "item");
+	}
+
+	private ValueExpression mockValueExpression(String expressionString) {
+		ValueExpression valueExpression = mock(ValueExpression.class);
+		given(valueExpression.getExpressionString()).willReturn(expressionString);
+		return valueExpression;
+	}
+
+	public static class Item {
+
+		private String name;
+
+		private Item child;
+
+		public Item(String name, Item child) {
+			this.name = name;
+			this.child = child;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public Item getChild() {
+			return this.child;
+		}
+
+		public String getBroken() {
+			throw new IllegalStateException("broken");
+		}
+	}
+
+	public static class OtherItem {
+
+		public String getName() {
+			return "other";
+		}
+	}
+}
@@ -19,12 +19,25 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.persistence.Entity;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.Id;
 
 import org.junit.After;
 import org.junit.Test;
+import org.springframework.context.support.StaticApplicationContext;
 
 /**
  * Tests for {@link SelectItemsJpaSupport}.
@@ -74,6 +87,81 @@ public class SelectItemsJpaSupportTest {
 		assertThat(entityId, is(nullValue()));
 	}
 
+	@Test
+	public void shouldUsePersistenceUnitUtilIfAvailable() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getBeanFactory().registerSingleton("entityManagerFactory",
+				mock(JpaTwoEntityManagerFactory.class, CALLS_REAL_METHODS));
+		Object value = new EntityWithIdField();
+		Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(applicationContext, value);
+		assertThat(entityId, is(equalTo((Object) "unit")));
+	}
+
+	@Test
+	public void shouldFallBackIfPersistenceUnitUtilRejectsEntity() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getBeanFactory().registerSingleton("entityManagerFactory",
+				mock(JpaTwoEntityManagerFactory.class, CALLS_REAL_METHODS));
+		Object value = new EntityWithIdMethod();
+		Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(applicationContext, value);
+		assertThat(entityId, is(equalTo((Object) 100)));
+	}
+
+	@Test
+	public void shouldNotUsePersistenceUnitUtilIfNotEntity() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getBeanFactory().registerSingleton("entityManagerFactory",
+				mock(JpaTwoEntityManagerFactory.class, CALLS_REAL_METHODS));
+		Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(applicationContext, new NotEntity());
+		assertThat(entityId, is(nullValue()));
+	}
+
+	@Test
+	public void shouldNotUsePersistenceUnitUtilIfMultipleEntityManagerFactories() throws Exception {
+		StaticApplicationContext applicationContext = new StaticApplicationContext();
+		applicationContext.getBeanFactory().registerSingleton("entityManagerFactory1",
+				mock(JpaTwoEntityManagerFactory.class, CALLS_REAL_METHODS));
+		applicationContext.getBeanFactory().registerSingleton("entityManagerFactory2",
+				mock(JpaTwoEntityManagerFactory.class, CALLS_REAL_METHODS));
+		Object entityId = SelectItemsJpaSupport.getInstance().getEntityId(applicationContext, new EntityWithIdField());
+		assertThat(entityId, is(equalTo((Object) 100L)));
+	}
+
+	@Test
+	public void shouldGetEntityIdsFromMultipleThreads() throws Exception {
+		SelectItemsJpaSupport.setHasJpa(true);
+		final SelectItemsJpaSupport support = SelectItemsJpaSupport.getInstance();
+		final Object[] values = { new NotEntity(), new EntityWithoutId(), new EntityWithIdField(),
+				new EntityWithIdMethod() };
+		final Object[] expected = { null, null, 100L, 100 };
+		int threads = 8;
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+			for (int thread = 0; thread < threads; thread++) {
+				results.add(executor.submit(new Callable<Integer>() {
+					public Integer call() throws Exception {
+						start.await();
+						int count = 0;
+						for (int i = 0; i < 10000; i++) {
+							int index = i % values.length;
+							assertThat(support.getEntityId(values[index]), is(equalTo(expected[index])));
+							count++;
+						}
+						return count;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<Integer> result : results) {
+				assertThat(result.get(30, TimeUnit.SECONDS), is(10000));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
 	static class NotEntity {
 	}
 
@@ -88,6 +176,21 @@ public class SelectItemsJpaSupportTest {
 		private Long id = 100L;
 	}
 
+	public static abstract class JpaTwoEntityManagerFactory implements EntityManagerFactory {
+		public Object getPersistenceUnitUtil() {
+			return new PersistenceUnitUtil();
+		}
+	}
+
+	public static class PersistenceUnitUtil {
+		public Object getIdentifier(Object entity) {
+			if (entity instanceof EntityWithIdField) {
+				return "unit";
+			}
+			throw new IllegalArgumentException("Not an entity");
+		}
+	}
+
 	@Entity
 	static class EntityWithIdMethod {
 		@Id
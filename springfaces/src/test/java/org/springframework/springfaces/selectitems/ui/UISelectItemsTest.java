@@ -17,7 +17,10 @@ package org.springframework.springfaces.selectitems.ui;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
@@ -28,6 +31,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,12 +43,15 @@ import java.util.Set;
 
 import javax.el.ELContext;
 import javax.el.ValueExpression;
+import javax.faces.application.Application;
+import javax.faces.application.StateManager;
 import javax.faces.component.UIComponent;
 import javax.faces.component.UISelectMany;
 import javax.faces.component.UISelectOne;
 import javax.faces.component.UIViewRoot;
 import javax.faces.context.FacesContext;
 import javax.faces.convert.Converter;
+import javax.faces.event.PhaseId;
 import javax.faces.model.ArrayDataModel;
 import javax.faces.model.DataModel;
 import javax.faces.model.SelectItem;
@@ -53,7 +60,9 @@ import javax.persistence.Id;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
@@ -67,6 +76,9 @@ import org.springframework.springfaces.FacesContextSetter;
 import org.springframework.springfaces.SpringFacesMocks;
 import org.springframework.springfaces.message.NoSuchObjectMessageException;
 import org.springframework.springfaces.message.ObjectMessageSource;
+import org.springframework.springfaces.selectitems.BatchSelectItemsLoader;
+import org.springframework.springfaces.selectitems.LastPage;
+import org.springframework.springfaces.selectitems.SelectItemsLoader;
 import org.springframework.springfaces.selectitems.ui.UISelectItems.ExposedUISelectItems;
 import org.springframework.springfaces.selectitems.ui.UISelectItems.UISelectItemsConverter;
 
@@ -78,6 +90,9 @@ import org.springframework.springfaces.selectitems.ui.UISelectItems.UISelectItem
  */
 public class UISelectItemsTest {
 
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
 	private UISelectItems selectItems;
 
 	@Captor
@@ -89,14 +104,42 @@ public class UISelectItemsTest {
 	@Mock
 	private ApplicationContext applicationContext;
 
+	@Mock
+	private StateManager stateManager;
+
 	private TypeDescriptor typeDescriptor;
 
+	private static final RunnableAsserts NO_ASSERTS = new RunnableAsserts() {
+		public void run() throws Exception {
+		}
+	};
+
 	private Locale locale = Locale.GERMANY;
 
+	private int deduceValuesCount;
+
 	@Before
 	public void setup() {
 		MockitoAnnotations.initMocks(this);
-		this.selectItems = new UISelectItems() {
+		this.selectItems = newSelectItems();
+		FacesContextSetter.setCurrentInstance(this.facesContext);
+		SpringFacesMocks.setupSpringFacesIntegration(this.facesContext, this.applicationContext);
+		Map<String, Object> requestMap = new HashMap<String, Object>();
+		UIViewRoot viewRoot = mock(UIViewRoot.class);
+		given(this.facesContext.getExternalContext().getRequestMap()).willReturn(requestMap);
+		given(this.facesContext.getViewRoot()).willReturn(viewRoot);
+		Application application = mock(Application.class);
+		given(this.facesContext.getApplication()).willReturn(application);
+		given(application.getStateManager()).willReturn(this.stateManager);
+		given(viewRoot.getLocale()).willAnswer(new Answer<Locale>() {
+			public Locale answer(InvocationOnMock invocation) throws Throwable {
+				return UISelectItemsTest.this.locale;
+			}
+		});
+	}
+
+	private UISelectItems newSelectItems() {
+		return new UISelectItems() {
 			@Override
 			public void setParent(UIComponent parent) {
 				if (getParent() != null) {
@@ -112,14 +155,13 @@ public class UISelectItemsTest {
 			protected TypeDescriptor getTypeDescriptor(ValueExpression valueExpression, ELContext elContext) {
 				return UISelectItemsTest.this.typeDescriptor;
 			}
+
+			@Override
+			protected Object deduceValuesForType(TypeDescriptor type) {
+				UISelectItemsTest.this.deduceValuesCount++;
+				return super.deduceValuesForType(type);
+			}
 		};
-		FacesContextSetter.setCurrentInstance(this.facesContext);
-		SpringFacesMocks.setupSpringFacesIntegration(this.facesContext, this.applicationContext);
-		Map<String, Object> requestMap = new HashMap<String, Object>();
-		UIViewRoot viewRoot = mock(UIViewRoot.class);
-		given(this.facesContext.getExternalContext().getRequestMap()).willReturn(requestMap);
-		given(this.facesContext.getViewRoot()).willReturn(viewRoot);
-		given(viewRoot.getLocale()).willReturn(this.locale);
 	}
 
 	@After
@@ -284,6 +326,385 @@ public class UISelectItemsTest {
 		assertThat(actual.get(2).getValue(), is((Object) SampleEnum.THREE));
 	}
 
+	@Test
+	public void shouldShareDeducedSelectItems() throws Exception {
+		deduceSelectItems(this.selectItems);
+		List<SelectItem> second = deduceSelectItems(newSelectItems());
+		assertThat(second.size(), is(3));
+		assertThat(this.deduceValuesCount, is(1));
+	}
+
+	@Test
+	public void shouldHoldDeducedSelectItemsInApplicationMap() throws Exception {
+		deduceSelectItems(this.selectItems);
+		Map<String, Object> applicationMap = this.facesContext.getExternalContext().getApplicationMap();
+		assertThat(applicationMap.remove(UISelectItems.class.getName() + ".DEDUCED_SELECT_ITEMS_CACHE"),
+				is(notNullValue()));
+		deduceSelectItems(newSelectItems());
+		assertThat(this.deduceValuesCount, is(2));
+	}
+
+	@Test
+	public void shouldNotShareDeducedSelectItemInstances() throws Exception {
+		List<SelectItem> first = deduceSelectItems(this.selectItems);
+		first.get(0).setLabel("changed");
+		List<SelectItem> second = deduceSelectItems(newSelectItems());
+		List<SelectItem> third = deduceSelectItems(newSelectItems());
+		assertThat(second.get(0).getLabel(), is(not("changed")));
+		second.get(0).setLabel("changed");
+		assertThat(third.get(0).getLabel(), is(not("changed")));
+		assertThat(this.deduceValuesCount, is(1));
+	}
+
+	@Test
+	public void shouldNotShareDeducedSelectItemsBetweenLocales() throws Exception {
+		deduceSelectItems(this.selectItems);
+		this.locale = Locale.UK;
+		deduceSelectItems(newSelectItems());
+		assertThat(this.deduceValuesCount, is(2));
+	}
+
+	@Test
+	public void shouldNotShareDeducedSelectItemsWithItemExpressions() throws Exception {
+		UISelectItems other = newSelectItems();
+		this.selectItems.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "label"));
+		other.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "label"));
+		deduceSelectItems(this.selectItems);
+		List<SelectItem> second = deduceSelectItems(other);
+		assertThat(second.get(0).getLabel(), is("label"));
+		assertThat(this.deduceValuesCount, is(2));
+	}
+
+	@Test
+	public void shouldShareDeducedSelectItemsWithItemExpressionsWhenEnabled() throws Exception {
+		UISelectItems other = newSelectItems();
+		this.selectItems.setCacheDeducedItems(true);
+		this.selectItems.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "label", "#{item.label}"));
+		other.setCacheDeducedItems(true);
+		other.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "other", "#{item.label}"));
+		deduceSelectItems(this.selectItems);
+		List<SelectItem> second = deduceSelectItems(other);
+		assertThat(second.get(0).getLabel(), is("label"));
+		assertThat(this.deduceValuesCount, is(1));
+	}
+
+	@Test
+	public void shouldNotShareDeducedSelectItemsWithDifferentItemExpressions() throws Exception {
+		UISelectItems other = newSelectItems();
+		this.selectItems.setCacheDeducedItems(true);
+		this.selectItems.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "label", "#{item.label}"));
+		other.setCacheDeducedItems(true);
+		other.setValueExpression("itemLabel", mockValueExpression(NO_ASSERTS, "other", "#{item.other}"));
+		deduceSelectItems(this.selectItems);
+		List<SelectItem> second = deduceSelectItems(other);
+		assertThat(second.get(0).getLabel(), is("other"));
+	}
+
+	@Test
+	public void shouldNotShareDeducedSelectItemsWhenDisabled() throws Exception {
+		UISelectItems other = newSelectItems();
+		other.setCacheDeducedItems(false);
+		deduceSelectItems(this.selectItems);
+		deduceSelectItems(other);
+		assertThat(this.deduceValuesCount, is(2));
+	}
+
+	@Test
+	public void shouldNotShareNoSelectionOption() throws Exception {
+		UISelectItems other = newSelectItems();
+		other.setIncludeNoSelectionOption(true);
+		deduceSelectItems(this.selectItems);
+		List<SelectItem> second = deduceSelectItems(other);
+		assertThat(second.size(), is(4));
+		assertThat(second.get(0).isNoSelectionOption(), is(true));
+		assertThat(second.get(1).getValue(), is((Object) SampleEnum.ONE));
+	}
+
+	private List<SelectItem> deduceSelectItems(UISelectItems selectItems) {
+		UIComponent parent = mockParent(UISelectMany.class);
+		ValueExpression valueExpression = mock(ValueExpression.class);
+		given(parent.getValueExpression("value")).willReturn(valueExpression);
+		this.typeDescriptor = TypeDescriptor.valueOf(SampleEnum.class);
+		selectItems.setParent(parent);
+		return selectItems.getSelectItems();
+	}
+
+	@Test
+	public void shouldLoadSelectItemsAsIterated() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(5);
+		this.selectItems.setValue(loader);
+		this.selectItems.setPageSize(2);
+		Iterator<SelectItem> iterator = getExposedSelectItems(parent).iterator();
+		assertThat(iterator.next().getValue(), is((Object) "v0"));
+		assertThat(loader.loadCount, is(1));
+		List<Object> values = new ArrayList<Object>();
+		while (iterator.hasNext()) {
+			values.add(iterator.next().getValue());
+		}
+		assertThat(values, is(equalTo((List<Object>) Arrays.<Object> asList("v1", "v2", "v3", "v4"))));
+		assertThat(loader.loadCount, is(3));
+	}
+
+	@Test
+	public void shouldNotLoadAfterLastPage() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(4) {
+			@Override
+			public List<String> load(int pageNumber, int pageSize) {
+				List<String> values = super.load(pageNumber, pageSize);
+				boolean last = (pageNumber + 1) * pageSize >= this.values.size();
+				return (last ? new LastPage<String>(values) : values);
+			}
+		};
+		this.selectItems.setValue(loader);
+		this.selectItems.setPageSize(2);
+		int count = 0;
+		for (Iterator<SelectItem> iterator = getExposedSelectItems(parent).iterator(); iterator.hasNext(); iterator
+				.next()) {
+			count++;
+		}
+		assertThat(count, is(4));
+		assertThat(loader.loadCount, is(2));
+	}
+
+	@Test
+	public void shouldLoadRemainingPagesForSizeOfLoadedItems() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(5);
+		this.selectItems.setValue(loader);
+		this.selectItems.setPageSize(2);
+		Collection<SelectItem> exposed = getExposedSelectItems(parent);
+		assertThat(exposed.isEmpty(), is(false));
+		assertThat(loader.loadCount, is(1));
+		assertThat(exposed.size(), is(5));
+		int loadCount = loader.loadCount;
+		assertThat(exposed.size(), is(5));
+		assertThat(loader.loadCount, is(loadCount));
+	}
+
+	@Test
+	public void shouldReuseLoadedItemsDuringRequest() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(5));
+		Collection<SelectItem> exposed = getExposedSelectItems(parent);
+		assertThat(getExposedSelectItems(parent), is(sameInstance(exposed)));
+		this.selectItems.setValue(new MockSelectItemsLoader(5));
+		assertThat(getExposedSelectItems(parent), is(not(sameInstance(exposed))));
+	}
+
+	@Test
+	public void shouldIncludeNoSelectionOptionWhenLoading() throws Exception {
+		UIComponent parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(2));
+		Iterator<SelectItem> iterator = getExposedSelectItems(parent).iterator();
+		assertThat(iterator.next().isNoSelectionOption(), is(true));
+		assertThat(iterator.next().getValue(), is((Object) "v0"));
+		assertThat(iterator.next().getValue(), is((Object) "v1"));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	public void shouldGetAllSelectItemsFromLoader() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(4);
+		this.selectItems.setValue(loader);
+		this.selectItems.setPageSize(2);
+		assertThat(this.selectItems.getSelectItems().size(), is(4));
+		assertThat(loader.loadCount, is(3));
+	}
+
+	@Test
+	public void shouldConvertUsingLoader() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(5);
+		this.selectItems.setValue(loader);
+		verify(parent).setConverter(this.converterCaptor.capture());
+		Object actual = this.converterCaptor.getValue().getAsObject(this.facesContext, parent, "v3");
+		assertThat(actual, is((Object) "v3"));
+		assertThat(loader.loadCount, is(0));
+	}
+
+	@Test
+	public void shouldConvertNoSelectionOptionUsingLoader() throws Exception {
+		UISelectOne parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(5));
+		verify(parent).setConverter(this.converterCaptor.capture());
+		Object actual = this.converterCaptor.getValue().getAsObject(this.facesContext, parent, "");
+		assertThat(actual, is(nullValue()));
+	}
+
+	@Test
+	public void shouldFailToConvertIfLoaderCannotFindValue() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(5));
+		verify(parent).setConverter(this.converterCaptor.capture());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("No select item mapped to string value 'missing'");
+		this.converterCaptor.getValue().getAsObject(this.facesContext, parent, "missing");
+	}
+
+	@Test
+	public void shouldConvertAllSubmittedValuesUsingBatchLoader() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		given(parent.getSubmittedValue()).willReturn(new String[] { "v1", "v3" });
+		given(this.facesContext.getAttributes()).willReturn(new HashMap<Object, Object>());
+		this.selectItems.setParent(parent);
+		MockBatchSelectItemsLoader loader = new MockBatchSelectItemsLoader(5);
+		this.selectItems.setValue(loader);
+		verify(parent).setConverter(this.converterCaptor.capture());
+		Converter converter = this.converterCaptor.getValue();
+		assertThat(converter.getAsObject(this.facesContext, parent, "v1"), is((Object) "v1"));
+		assertThat(converter.getAsObject(this.facesContext, parent, "v3"), is((Object) "v3"));
+		assertThat(loader.findAllCount, is(1));
+		assertThat(loader.findCount, is(0));
+	}
+
+	@Test
+	public void shouldFailToConvertIfBatchLoaderCannotFindValue() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		given(parent.getSubmittedValue()).willReturn(new String[] { "v1", "missing" });
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockBatchSelectItemsLoader(5));
+		verify(parent).setConverter(this.converterCaptor.capture());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("No select item mapped to string value 'missing'");
+		this.converterCaptor.getValue().getAsObject(this.facesContext, parent, "v1");
+	}
+
+	@Test
+	public void shouldUseSavedItemIndexOnPostback() throws Exception {
+		UISelectOne parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(5);
+		this.selectItems.setValue(loader);
+		this.selectItems.setPageSize(2);
+		this.selectItems.setSaveItemIndex(true);
+		renderExposedSelectItems(parent);
+		int loadCount = loader.loadCount;
+		given(this.facesContext.getCurrentPhaseId()).willReturn(PhaseId.PROCESS_VALIDATIONS);
+		given(parent.getSubmittedValue()).willReturn("v3");
+		Collection<SelectItem> submitted = getExposedSelectItems(parent);
+		assertThat(submitted.size(), is(1));
+		assertThat(submitted.iterator().next().getValue(), is((Object) "v3"));
+		verify(parent).setConverter(this.converterCaptor.capture());
+		Converter converter = this.converterCaptor.getValue();
+		assertThat(converter.getAsObject(this.facesContext, parent, "v3"), is((Object) "v3"));
+		assertThat(converter.getAsObject(this.facesContext, parent, ""), is(nullValue()));
+		assertThat(loader.loadCount, is(loadCount));
+		assertThat(loader.findCount, is(0));
+	}
+
+	@Test
+	public void shouldNotExposeSubmittedValuesMissingFromSavedItemIndex() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(2));
+		this.selectItems.setSaveItemIndex(true);
+		renderExposedSelectItems(parent);
+		given(this.facesContext.getCurrentPhaseId()).willReturn(PhaseId.PROCESS_VALIDATIONS);
+		given(parent.getSubmittedValue()).willReturn(new String[] { "v1", "v4" });
+		Collection<SelectItem> submitted = getExposedSelectItems(parent);
+		assertThat(submitted.size(), is(1));
+		verify(parent).setConverter(this.converterCaptor.capture());
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("No select item mapped to string value 'v4'");
+		this.converterCaptor.getValue().getAsObject(this.facesContext, parent, "v4");
+	}
+
+	@Test
+	public void shouldNotSaveItemIndexIfValuesCannotBeLoaded() throws Exception {
+		UISelectMany parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(Arrays.asList(new SampleBean("a", false), new SampleBean("b", false)));
+		this.selectItems.setSaveItemIndex(true);
+		renderExposedSelectItems(parent);
+		given(this.facesContext.getCurrentPhaseId()).willReturn(PhaseId.PROCESS_VALIDATIONS);
+		assertThat(getExposedSelectItems(parent).size(), is(2));
+	}
+
+	@Test
+	public void shouldNotUseSavedItemIndexWhenSavingStateInClient() throws Exception {
+		given(this.stateManager.isSavingStateInClient(this.facesContext)).willReturn(true);
+		UISelectOne parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		MockSelectItemsLoader loader = new MockSelectItemsLoader(2);
+		this.selectItems.setValue(loader);
+		this.selectItems.setSaveItemIndex(true);
+		renderExposedSelectItems(parent);
+		int loadCount = loader.loadCount;
+		given(parent.getSubmittedValue()).willReturn("v1");
+		renderExposedSelectItems(parent, PhaseId.PROCESS_VALIDATIONS);
+		assertThat(loader.loadCount, is(not(loadCount)));
+	}
+
+	@Test
+	public void shouldEvaluateValueWhenSubmittedValueHasBeenCleared() throws Exception {
+		UISelectOne parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(new MockSelectItemsLoader(2));
+		this.selectItems.setSaveItemIndex(true);
+		renderExposedSelectItems(parent);
+		given(this.facesContext.getCurrentPhaseId()).willReturn(PhaseId.INVOKE_APPLICATION);
+		given(parent.getSubmittedValue()).willReturn(null);
+		int count = 0;
+		for (Iterator<SelectItem> iterator = getExposedSelectItems(parent).iterator(); iterator.hasNext();) {
+			iterator.next();
+			count++;
+		}
+		assertThat(count, is(3));
+	}
+
+	@Test
+	public void shouldSaveItemIndexForEachRow() throws Exception {
+		UISelectOne parent = mockParent(UISelectOne.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setSaveItemIndex(true);
+		this.selectItems.setId("row0");
+		this.selectItems.setValue(new MockSelectItemsLoader(2));
+		renderExposedSelectItems(parent);
+		MockSelectItemsLoader otherLoader = new MockSelectItemsLoader(0);
+		otherLoader.values.add("x");
+		this.selectItems.setId("row1");
+		this.selectItems.setValue(otherLoader);
+		renderExposedSelectItems(parent);
+		given(this.facesContext.getCurrentPhaseId()).willReturn(PhaseId.PROCESS_VALIDATIONS);
+		verify(parent).setConverter(this.converterCaptor.capture());
+		Converter converter = this.converterCaptor.getValue();
+		this.selectItems.setId("row0");
+		assertThat(converter.getAsObject(this.facesContext, parent, "v0"), is((Object) "v0"));
+		this.selectItems.setId("row1");
+		assertThat(converter.getAsObject(this.facesContext, parent, "x"), is((Object) "x"));
+		this.thrown.expect(IllegalStateException.class);
+		this.thrown.expectMessage("No select item mapped to string value 'v0'");
+		converter.getAsObject(this.facesContext, parent, "v0");
+	}
+
+	private void renderExposedSelectItems(UIComponent parent) {
+		renderExposedSelectItems(parent, PhaseId.RENDER_RESPONSE);
+	}
+
+	private void renderExposedSelectItems(UIComponent parent, PhaseId phaseId) {
+		given(this.facesContext.getCurrentPhaseId()).willReturn(phaseId);
+		for (Iterator<SelectItem> iterator = getExposedSelectItems(parent).iterator(); iterator.hasNext();) {
+			iterator.next();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Collection<SelectItem> getExposedSelectItems(UIComponent parent) {
+		return (Collection<SelectItem>) ((ExposedUISelectItems) parent.getChildren().get(0)).getValue();
+	}
+
 	@Test
 	public void shouldUseSensibleDefaultWhenNoAttributes() throws Exception {
 		UIComponent parent = mockParent(UISelectMany.class);
@@ -319,6 +740,34 @@ public class UISelectItemsTest {
 		assertThat(actual.isNoSelectionOption(), is(true));
 	}
 
+	@Test
+	public void shouldReadSimpleItemExpressionsWithoutEL() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		this.selectItems.setValue(Collections.singleton(new SampleBean("label", true)));
+		ValueExpression itemLabel = mockValueExpression(NO_ASSERTS, "el", "#{item.label}");
+		ValueExpression itemDisabled = mockValueExpression(NO_ASSERTS, false, "#{item.disabled}");
+		this.selectItems.setValueExpression("itemLabel", itemLabel);
+		this.selectItems.setValueExpression("itemDisabled", itemDisabled);
+		SelectItem actual = this.selectItems.getSelectItems().get(0);
+		assertThat(actual.getLabel(), is("label"));
+		assertThat(actual.isDisabled(), is(true));
+		verify(itemLabel, never()).getValue(any(ELContext.class));
+		verify(itemDisabled, never()).getValue(any(ELContext.class));
+	}
+
+	@Test
+	public void shouldFallBackToELForUnresolvedItemExpressions() throws Exception {
+		UIComponent parent = mockParent(UISelectMany.class);
+		this.selectItems.setParent(parent);
+		SampleBean bean = new SampleBean("label", true);
+		this.selectItems.setValue(Collections.singleton(bean));
+		RunnableAsserts assertItemIsSet = assertTheItemVarIsSet("item", bean);
+		this.selectItems.setValueExpression("itemLabel", mockValueExpression(assertItemIsSet, "el", "#{item.missing}"));
+		SelectItem actual = this.selectItems.getSelectItems().get(0);
+		assertThat(actual.getLabel(), is("el"));
+	}
+
 	@Test
 	public void shouldUseItemConverterStringValueAttribute() throws Exception {
 		UISelectMany parent = mockParent(UISelectMany.class);
@@ -374,7 +823,7 @@ public class UISelectItemsTest {
 	}
 
 	@Test
-	public void shouldIgnoreNoSuchObjectMessageException() throws Exception {
+	public void shouldUseToStringIfNoObjectMessage() throws Exception {
 		ObjectMessageSource messageSource = mock(ObjectMessageSource.class);
 		given(messageSource.getMessage(SampleEnum.ONE, null, this.locale)).willThrow(
 				new NoSuchObjectMessageException(SampleEnum.ONE, this.locale));
@@ -495,6 +944,12 @@ public class UISelectItemsTest {
 		assertThat(actual.get(0).getLabel(), is(label));
 	}
 
+	private ValueExpression mockValueExpression(RunnableAsserts runnable, Object value, String expressionString) {
+		ValueExpression valueExpression = mockValueExpression(runnable, value);
+		given(valueExpression.getExpressionString()).willReturn(expressionString);
+		return valueExpression;
+	}
+
 	private ValueExpression mockValueExpression(final RunnableAsserts runnable, final Object value) {
 		ValueExpression valueExpression = mock(ValueExpression.class);
 		given(valueExpression.getValue(any(ELContext.class))).willAnswer(new Answer<Object>() {
@@ -524,6 +979,73 @@ public class UISelectItemsTest {
 		return assertItemIsSet;
 	}
 
+	private static class MockSelectItemsLoader implements SelectItemsLoader<String> {
+
+		protected final List<String> values = new ArrayList<String>();
+
+		protected int loadCount;
+
+		protected int findCount;
+
+		public MockSelectItemsLoader(int size) {
+			for (int i = 0; i < size; i++) {
+				this.values.add("v" + i);
+			}
+		}
+
+		public List<String> load(int pageNumber, int pageSize) {
+			this.loadCount++;
+			int start = Math.min(pageNumber * pageSize, this.values.size());
+			return this.values.subList(start, Math.min(start + pageSize, this.values.size()));
+		}
+
+		public String find(String stringValue) {
+			this.findCount++;
+			return (this.values.contains(stringValue) ? stringValue : null);
+		}
+	}
+
+	private static class MockBatchSelectItemsLoader extends MockSelectItemsLoader implements
+			BatchSelectItemsLoader<String> {
+
+		private int findAllCount;
+
+		public MockBatchSelectItemsLoader(int size) {
+			super(size);
+		}
+
+		public Map<String, String> findAll(Collection<String> stringValues) {
+			this.findAllCount++;
+			Map<String, String> found = new HashMap<String, String>();
+			for (String stringValue : stringValues) {
+				if (this.values.contains(stringValue)) {
+					found.put(stringValue, stringValue);
+				}
+			}
+			return found;
+		}
+	}
+
+	public static class SampleBean {
+
+		private String label;
+
+		private boolean disabled;
+
+		public SampleBean(String label, boolean disabled) {
+			this.label = label;
+			this.disabled = disabled;
+		}
+
+		public String getLabel() {
+			return this.label;
+		}
+
+		public boolean isDisabled() {
+			return this.disabled;
+		}
+	}
+
 	enum SampleEnum {
 		ONE, TWO, THREE
 	}
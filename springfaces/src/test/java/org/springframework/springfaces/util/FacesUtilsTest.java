@@ -48,6 +48,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.springframework.springfaces.expression.el.LocalVariables;
 
 import com.sun.faces.facelets.component.UIRepeat;
 
@@ -190,6 +191,19 @@ public class FacesUtilsTest {
 		assertThat("value not cleared", callable.requestMapAtTimeOfCall.get("v"), is(nullValue()));
 	}
 
+	@Test
+	public void shouldDoWithLocalVariableWhenEnabled() throws Exception {
+		ExternalContext externalContext = this.context.getExternalContext();
+		given(externalContext.getApplicationMap()).willReturn(new HashMap<String, Object>());
+		given(this.context.getAttributes()).willReturn(new HashMap<Object, Object>());
+		LocalVariables.enable(externalContext);
+		MockCallable<String> callable = new MockCallable<String>("result");
+		FacesUtils.doWithRequestScopeVariable(this.context, "v", "value", callable);
+		callable.assertCalled();
+		assertThat("request map used", callable.requestMapAtTimeOfCall.containsKey("v"), is(false));
+		assertThat(LocalVariables.get(this.context).isRequestScope(), is(false));
+	}
+
 	@Test
 	public void shouldNeedRunnableForDoWithRequestScopeVariable() throws Exception {
 		this.thrown.expect(IllegalArgumentException.class);
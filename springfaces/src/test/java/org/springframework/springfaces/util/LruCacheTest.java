@@ -0,0 +1,107 @@
+/*
+ * Copyright 2010-2012 the original author or authors.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.springfaces.util;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+/**
+ * Tests for {@link LruCache}.
+ * 
+ * @author Phillip Webb
+ */
+public class LruCacheTest {
+
+	@Rule
+	public ExpectedException thrown = ExpectedException.none();
+
+	private LruCache<String, String> cache = new LruCache<String, String>(2);
+
+	@Test
+	public void shouldNeedPositiveCapacity() throws Exception {
+		this.thrown.expect(IllegalArgumentException.class);
+		this.thrown.expectMessage("Capacity must be greater than zero");
+		new LruCache<String, String>(0);
+	}
+
+	@Test
+	public void shouldGetAndPut() throws Exception {
+		assertThat(this.cache.get("a"), is(nullValue()));
+		this.cache.put("a", "1");
+		assertThat(this.cache.get("a"), is(equalTo("1")));
+	}
+
+	@Test
+	public void shouldEvictLeastRecentlyUsed() throws Exception {
+		this.cache.put("a", "1");
+		this.cache.put("b", "2");
+		this.cache.get("a");
+		this.cache.put("c", "3");
+		assertThat(this.cache.size(), is(2));
+		assertThat(this.cache.get("a"), is(equalTo("1")));
+		assertThat(this.cache.get("b"), is(nullValue()));
+		assertThat(this.cache.get("c"), is(equalTo("3")));
+	}
+
+	@Test
+	public void shouldRemainBoundedUnderConcurrentWrites() throws Exception {
+		final LruCache<Integer, Integer> cache = new LruCache<Integer, Integer>(10);
+		Thread[] threads = new Thread[4];
+		for (int i = 0; i < threads.length; i++) {
+			final int offset = i * 1000;
+			threads[i] = new Thread() {
+				@Override
+				public void run() {
+					for (int j = 0; j < 1000; j++) {
+						cache.put(offset + j, j);
+						cache.get(offset + j);
+					}
+				}
+			};
+			threads[i].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertThat(cache.size() <= 10, is(true));
+	}
+
+	@Test
+	public void shouldRemove() throws Exception {
+		this.cache.put("a", "1");
+		this.cache.remove("a");
+		assertThat(this.cache.get("a"), is(nullValue()));
+	}
+
+	@Test
+	public void shouldClear() throws Exception {
+		this.cache.put("a", "1");
+		this.cache.put("b", "2");
+		this.cache.clear();
+		assertThat(this.cache.size(), is(0));
+	}
+
+	@Test
+	public void shouldGetCapacity() throws Exception {
+		assertThat(this.cache.getCapacity(), is(2));
+	}
+}